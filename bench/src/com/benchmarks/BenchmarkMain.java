@@ -0,0 +1,235 @@
+package com.benchmarks;
+
+import com.beust.jcommander.JCommander;
+import com.beust.jcommander.Parameter;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Runs the JMH benchmarks with the GC profiler and compares the results to the recorded baseline.
+ *      Time per operation and allocation per operation (gc.alloc.rate.norm) are both compared, so a change that
+ *      only adds garbage is caught as well. Exits with 1 if anything regressed by more than its tolerance and
+ *      beyond the noise of both runs: a result only counts as a regression when its confidence interval
+ *      (score +- scoreError) does not overlap the baseline's.
+ *      Run with '-record' to replace the baseline with the new results (after an intended change, or on a new
+ *      reference machine). See README upkeep note 9.
+ */
+public class BenchmarkMain {
+    private static final Logger logger = LoggerFactory.getLogger(BenchmarkMain.class);
+
+    /**
+     * Appended to the JVM arguments of every fork, to keep request logging out of the measurements.
+     */
+    static final String FORK_LOG_LEVEL = "-Dorg.slf4j.simpleLogger.defaultLogLevel=warn";
+
+    /**
+     * Allocation differences up to this many bytes per operation are never reported, whatever the tolerance.
+     */
+    private static final double ALLOCATION_SLACK_BYTES = 64;
+
+    private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+
+    /**
+     * JCommander arguments of the benchmark runner.
+     */
+    private static class BenchArgs {
+        @Parameter(names = {"--help", "-h"}, help = true)
+        private boolean help = false;
+
+        @Parameter(names = "-include", description = "Regular expression of the benchmarks to run")
+        private String include = "com\\.benchmarks\\..*";
+
+        @Parameter(names = "-baseline", description = "JMH JSON results to compare against")
+        private String baseline = "bench/baselines/baseline.json";
+
+        @Parameter(names = "-results", description = "File the JMH JSON results of this run are written to")
+        private String results = "bench/results/latest.json";
+
+        @Parameter(names = "-record", description = "Replace the baseline with the results of this run")
+        private boolean record = false;
+
+        @Parameter(names = "-tolerance", description = "Allowed increase in time per operation (0.15 = 15%)")
+        private double tolerance = 0.15;
+
+        @Parameter(names = "-allocTolerance", description = "Allowed increase in bytes allocated per operation")
+        private double allocationTolerance = 0.10;
+
+        @Parameter(names = "-quick",
+                description = "One short warmup and measurement iteration. Reports, but never fails")
+        private boolean quick = false;
+    }
+
+    public static void main(String[] argv) throws IOException, RunnerException {
+        BenchArgs args = new BenchArgs();
+        JCommander jct = JCommander.newBuilder()
+                .addObject(args)
+                .build();
+        jct.parse(argv);
+        if (args.help) {
+            jct.usage();
+            return;
+        }
+
+        Path results = Paths.get(args.results);
+        if (results.getParent() != null) {
+            Files.createDirectories(results.getParent());
+        }
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .include(args.include)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(results.toString());
+        if (args.quick) {
+            options.warmupIterations(1)
+                    .warmupTime(TimeValue.milliseconds(500))
+                    .measurementIterations(1)
+                    .measurementTime(TimeValue.milliseconds(500));
+        }
+        new Runner(options.build()).run();
+
+        Path baseline = Paths.get(args.baseline);
+        if (args.record) {
+            if (baseline.getParent() != null) {
+                Files.createDirectories(baseline.getParent());
+            }
+            Files.copy(results, baseline, StandardCopyOption.REPLACE_EXISTING);
+            logger.info("Recorded baseline: " + baseline);
+        } else if (!Files.exists(baseline)) {
+            logger.warn("No baseline at " + baseline + ". Run with -record to create one.");
+        } else {
+            // A -quick run is not warmed up: neither its timings nor its allocations (before escape analysis)
+            // are comparable, so they are only reported.
+            double tolerance = args.quick ? Double.POSITIVE_INFINITY : args.tolerance;
+            double allocationTolerance = args.quick ? Double.POSITIVE_INFINITY : args.allocationTolerance;
+            if (compare(read(baseline), read(results), tolerance, allocationTolerance) > 0) {
+                System.exit(1);
+            }
+        }
+    }
+
+    /**
+     * Log every benchmark of a run next to its baseline.
+     * @return Number of regressions beyond the tolerances.
+     */
+    private static int compare(Map<String, JsonObject> baseline, Map<String, JsonObject> results,
+                               double tolerance, double allocationTolerance) {
+        int regressions = 0;
+        for (Map.Entry<String, JsonObject> entry : results.entrySet()) {
+            JsonObject before = baseline.get(entry.getKey());
+            if (before == null) {
+                logger.info(String.format("%-80s new, not in baseline", entry.getKey()));
+                continue;
+            }
+            JsonObject after = entry.getValue();
+            boolean higherIsBetter = "thrpt".equals(after.get("mode").getAsString());
+            JsonObject timeBefore = before.getAsJsonObject("primaryMetric");
+            JsonObject timeAfter = after.getAsJsonObject("primaryMetric");
+            double scoreBefore = score(timeBefore);
+            double scoreAfter = score(timeAfter);
+            double change = (scoreAfter - scoreBefore) / scoreBefore;
+            boolean slower = (higherIsBetter ? -change : change) > tolerance
+                    && (higherIsBetter ? separated(timeAfter, timeBefore) : separated(timeBefore, timeAfter));
+
+            JsonObject allocationBefore = allocation(before);
+            JsonObject allocationAfter = allocation(after);
+            double bytesBefore = allocationBefore == null ? 0 : score(allocationBefore);
+            double bytesAfter = allocationAfter == null ? 0 : score(allocationAfter);
+            boolean allocates = bytesAfter - bytesBefore > ALLOCATION_SLACK_BYTES
+                    && bytesAfter > bytesBefore * (1 + allocationTolerance)
+                    && (allocationBefore == null || separated(allocationBefore, allocationAfter));
+
+            String line = String.format("%-80s %12.3f -> %12.3f +-%9.3f %s (%+6.1f%%)  %10.0f -> %10.0f B/op",
+                    entry.getKey(), scoreBefore, scoreAfter, error(timeAfter),
+                    timeAfter.get("scoreUnit").getAsString(), change * 100, bytesBefore, bytesAfter);
+            if (slower || allocates) {
+                regressions++;
+                logger.warn(line + "  REGRESSION" + (slower ? " (time)" : "") + (allocates ? " (allocation)" : ""));
+            } else {
+                logger.info(line);
+            }
+        }
+        if (regressions > 0) {
+            logger.warn(regressions + " benchmark(s) regressed beyond the tolerance. " +
+                    "If intended, re-record the baseline with -record.");
+        }
+        return regressions;
+    }
+
+    /**
+     * @return JMH JSON results by benchmark name and parameters.
+     */
+    private static Map<String, JsonObject> read(Path path) throws IOException {
+        Map<String, JsonObject> runs = new LinkedHashMap<>();
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            JsonArray array = new JsonParser().parse(reader).getAsJsonArray();
+            for (JsonElement element : array) {
+                JsonObject run = element.getAsJsonObject();
+                String key = run.get("benchmark").getAsString();
+                if (run.has("params")) {
+                    Map<String, String> params = new TreeMap<>();
+                    run.getAsJsonObject("params").entrySet()
+                            .forEach(param -> params.put(param.getKey(), param.getValue().getAsString()));
+                    key += " " + params;
+                }
+                runs.put(key, run);
+            }
+        }
+        return runs;
+    }
+
+    private static double score(JsonObject metric) {
+        return metric.get("score").getAsDouble();
+    }
+
+    /**
+     * @return Half-width of the metric's 99.9% confidence interval, or 0 if JMH could not compute one (a single
+     *         iteration).
+     */
+    private static double error(JsonObject metric) {
+        JsonElement error = metric.get("scoreError");
+        if (error == null || !error.isJsonPrimitive() || !error.getAsJsonPrimitive().isNumber()) {
+            return 0; // JMH writes "NaN" as a string.
+        }
+        double value = error.getAsDouble();
+        return Double.isNaN(value) ? 0 : value;
+    }
+
+    /**
+     * @return Whether the confidence interval of 'higher' lies entirely above that of 'lower', so the difference
+     *         between the two is more than the noise of either run.
+     */
+    private static boolean separated(JsonObject lower, JsonObject higher) {
+        return score(higher) - error(higher) > score(lower) + error(lower);
+    }
+
+    /**
+     * @return Allocation per operation metric of the run, or null if the run was not profiled.
+     */
+    private static JsonObject allocation(JsonObject run) {
+        JsonObject secondary = run.getAsJsonObject("secondaryMetrics");
+        return secondary != null && secondary.has(ALLOCATION_METRIC)
+                ? secondary.getAsJsonObject(ALLOCATION_METRIC) : null;
+    }
+}
@@ -0,0 +1,79 @@
+package com.benchmarks;
+
+import com.Utility.JsonToObject;
+import com.dataObjects.Category;
+import com.dataObjects.IGCItemList;
+import com.dataObjects.Term;
+import com.google.gson.stream.JsonReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON to POJO decoding (JsonToObject), on bodies captured from the mock IGC server.
+ * toIGCItemList() and readIGCItemList() are the String and the streaming path of the same page.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = BenchmarkMain.FORK_LOG_LEVEL)
+public class DecodeBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Resources {
+        String term;
+        String category;
+
+        @Setup
+        public void capture() throws IOException {
+            SampleBodies bodies = SampleBodies.capture(1);
+            term = bodies.term;
+            category = bodies.category;
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Page {
+        @Param({"10", "1000"})
+        int pageSize;
+        String itemList;
+
+        @Setup
+        public void capture() throws IOException {
+            itemList = SampleBodies.capture(pageSize).itemList;
+        }
+    }
+
+    @Benchmark
+    public Term toTerm(Resources resources) {
+        return JsonToObject.toTerm(resources.term);
+    }
+
+    @Benchmark
+    public Category toCategory(Resources resources) {
+        return JsonToObject.toCategory(resources.category);
+    }
+
+    @Benchmark
+    public IGCItemList toIGCItemList(Page page) {
+        return JsonToObject.toIGCItemList(page.itemList);
+    }
+
+    @Benchmark
+    public IGCItemList readIGCItemList(Page page) throws IOException {
+        return JsonToObject.readIGCItemList(new JsonReader(new StringReader(page.itemList)));
+    }
+}
@@ -0,0 +1,87 @@
+package com.benchmarks;
+
+import com.common.URLConnection;
+import com.common.mock.MockIGCServer;
+import com.common.transport.HttpURLConnectionTransport;
+import com.dataObjects.IGCItem;
+import com.dataObjects.IGCItemList;
+import com.dataObjects.IGCResource;
+import com.dataObjects.Term;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * URLConnection calls against a MockIGCServer on localhost, through the full transport stack
+ * (ResilientTransport, session cookie, decoding). No ResourceCache, so every call reaches the server.
+ * 'transport' compares the pooled HttpClientTransport with one HttpURLConnection per request (-legacyHttp).
+ * Sockets, the server's threads and the shared executors make these far noisier than the in-memory benchmarks, so
+ * they get more warmup, more iterations and three forks to narrow their confidence intervals.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 3, jvmArgsAppend = BenchmarkMain.FORK_LOG_LEVEL)
+@State(Scope.Benchmark)
+public class EndToEndBenchmark {
+    @Param({"httpClient", "legacy"})
+    private String transport;
+
+    private MockIGCServer server;
+    private URLConnection connection;
+    private String termId;
+    private List<String> batchIds;
+
+    @Setup
+    public void setUp() throws IOException {
+        server = new MockIGCServer(SampleBodies.GLOSSARY_TERMS);
+        server.start();
+        connection = new URLConnection(server.getBaseUrl(), false, "bench", "bench",
+                "legacy".equals(transport) ? new HttpURLConnectionTransport() : null);
+        batchIds = connection.getIGCTermList(100).getItems().stream()
+                .map(IGCItem::get_id)
+                .collect(Collectors.toList());
+        termId = batchIds.get(0);
+    }
+
+    @TearDown
+    public void tearDown() {
+        server.close();
+    }
+
+    @Benchmark
+    public Term getIGCTermById() throws IOException {
+        return connection.getIGCTermById(termId);
+    }
+
+    @Benchmark
+    public IGCItemList getIGCTermList() throws IOException {
+        return connection.getIGCTermList(100);
+    }
+
+    @Benchmark
+    public IGCItemList searchIGCResourceName() throws IOException {
+        return connection.searchIGCResourceName("Fouls");
+    }
+
+    @Benchmark
+    public Map<String, IGCResource> getIGCResourcesByIds() throws IOException {
+        return connection.getIGCResourcesByIds(batchIds);
+    }
+}
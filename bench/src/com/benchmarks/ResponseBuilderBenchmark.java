@@ -0,0 +1,162 @@
+package com.benchmarks;
+
+import com.Utility.JsonResponseBuilder;
+import com.Utility.JsonToObject;
+import com.Utility.ResponseDecoder;
+import com.dataObjects.requests.Response;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * JsonResponseBuilder.getResponseObject() on an in-memory HttpURLConnection: header handling, (gzip) decoding
+ * and the ResponseDecoder, without any I/O.
+ *  - resource: an 'assets/{id}' term, decoded by JsonToObject.readIGCResource().
+ *  - itemList: a 1000 item search page, decoded by JsonToObject.readIGCItemList().
+ *  - message: the same page read into the message String (no decoder), as the deprecated get() does.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = BenchmarkMain.FORK_LOG_LEVEL)
+@State(Scope.Benchmark)
+public class ResponseBuilderBenchmark {
+    @Param({"resource", "itemList", "message"})
+    private String body;
+
+    @Param({"identity", "gzip"})
+    private String encoding;
+
+    private URL url;
+    private byte[] bytes;
+    private ResponseDecoder<?> decoder;
+
+    @Setup
+    public void setUp() throws IOException {
+        SampleBodies bodies = SampleBodies.capture(1000);
+        url = new URL("http://localhost/ibm/iis/igc-rest/v1/search");
+        String json;
+        switch (body) {
+            case "resource":
+                json = bodies.term;
+                decoder = JsonToObject::readIGCResource;
+                break;
+            case "itemList":
+                json = bodies.itemList;
+                decoder = JsonToObject::readIGCItemList;
+                break;
+            default:
+                json = bodies.itemList;
+                decoder = null;
+        }
+        bytes = json.getBytes(StandardCharsets.UTF_8);
+        if ("gzip".equals(encoding)) {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                gzip.write(bytes);
+            }
+            bytes = compressed.toByteArray();
+        }
+    }
+
+    @Benchmark
+    public Response getResponseObject() throws IOException {
+        return JsonResponseBuilder.getResponseObject(
+                new InMemoryConnection(url, bytes, "gzip".equals(encoding) ? "gzip" : null), decoder);
+    }
+
+    /**
+     * HttpURLConnection answering 200 with a fixed body, in place of a connected one.
+     */
+    private static final class InMemoryConnection extends HttpURLConnection {
+        private final byte[] body;
+        private final Map<String, List<String>> headers = new HashMap<>();
+
+        private InMemoryConnection(URL url, byte[] body, String contentEncoding) {
+            super(url);
+            this.body = body;
+            this.responseCode = HTTP_OK;
+            this.responseMessage = "OK";
+            headers.put("Content-Type", Collections.singletonList("application/json;charset=utf-8"));
+            headers.put("Content-Length", Collections.singletonList(String.valueOf(body.length)));
+            headers.put("ETag", Collections.singletonList("\"1554912000000\""));
+            if (contentEncoding != null) {
+                headers.put("Content-Encoding", Collections.singletonList(contentEncoding));
+            }
+        }
+
+        @Override
+        public void connect() {
+            connected = true;
+        }
+
+        @Override
+        public void disconnect() {
+            connected = false;
+        }
+
+        @Override
+        public boolean usingProxy() {
+            return false;
+        }
+
+        @Override
+        public int getResponseCode() {
+            return responseCode;
+        }
+
+        @Override
+        public String getResponseMessage() {
+            return responseMessage;
+        }
+
+        @Override
+        public InputStream getInputStream() {
+            return new ByteArrayInputStream(body);
+        }
+
+        @Override
+        public InputStream getErrorStream() {
+            return null;
+        }
+
+        @Override
+        public Map<String, List<String>> getHeaderFields() {
+            return headers;
+        }
+
+        @Override
+        public String getHeaderField(String name) {
+            List<String> values = headers.get(name);
+            return values == null ? null : values.get(0);
+        }
+
+        @Override
+        public String getContentEncoding() {
+            return getHeaderField("Content-Encoding");
+        }
+    }
+}
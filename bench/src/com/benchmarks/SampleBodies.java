@@ -0,0 +1,67 @@
+package com.benchmarks;
+
+import com.common.URLConnection;
+import com.common.mock.MockIGCServer;
+import com.common.mock.SyntheticGlossary;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Comparator;
+
+/**
+ * Response bodies captured from a MockIGCServer, so the decoding and response-building benchmarks read the same
+ * JSON a live IGC would send, without a network round trip per operation.
+ */
+final class SampleBodies {
+    /**
+     * Number of generated terms in the glossary the bodies are captured from.
+     */
+    static final int GLOSSARY_TERMS = 2000;
+
+    /**
+     * Body of 'assets/{id}' for a term.
+     */
+    final String term;
+    /**
+     * Body of 'assets/{id}' for a category.
+     */
+    final String category;
+    /**
+     * Body of a 'search' page of terms.
+     */
+    final String itemList;
+
+    private SampleBodies(String term, String category, String itemList) {
+        this.term = term;
+        this.category = category;
+        this.itemList = itemList;
+    }
+
+    /**
+     * Start a mock server, GET one term, one category and one page of terms, and stop it again.
+     * @param pageSize Number of items in the captured page (at most GLOSSARY_TERMS).
+     * @return The captured bodies.
+     * @throws IOException: Thrown if the mock server cannot be started or a request fails.
+     */
+    @SuppressWarnings("deprecation")
+    static SampleBodies capture(int pageSize) throws IOException {
+        try (MockIGCServer server = new MockIGCServer(GLOSSARY_TERMS)) {
+            server.start();
+            URLConnection connection = new URLConnection(server.getBaseUrl(), false, "bench", "bench");
+            return new SampleBodies(
+                    connection.get("assets/" + mostCompleteId(server.getGlossary(), "term"), true),
+                    connection.get("assets/" + mostCompleteId(server.getGlossary(), "category"), true),
+                    connection.get("search?types=term&pageSize=" + pageSize, true));
+        }
+    }
+
+    /**
+     * @return ID of the resource of a type with the most properties, so no optional field goes unread.
+     */
+    private static String mostCompleteId(SyntheticGlossary glossary, String type) {
+        return glossary.find(Collections.singleton(type), resource -> true).stream()
+                .max(Comparator.comparingInt(resource -> resource.entrySet().size()))
+                .orElseThrow(() -> new IllegalStateException("No " + type + " in the mock glossary."))
+                .get("_id").getAsString();
+    }
+}
@@ -0,0 +1,70 @@
+package com.benchmarks;
+
+import com.Utility.JsonToObject;
+import com.Utility.codec.Codecs;
+import com.dataObjects.Term;
+import com.dataObjects.requests.PostCondition;
+import com.dataObjects.requests.PostSearchBody;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * POJO to JSON: the request bodies sent for PUT / POST (Codecs.toJsonBytes(), see RequestBodies) and the
+ * pretty printed toString() used in logging.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = BenchmarkMain.FORK_LOG_LEVEL)
+@State(Scope.Benchmark)
+public class SerializeBenchmark {
+    private Term term;
+    private PostSearchBody searchBody;
+
+    @Setup
+    public void setUp() throws IOException {
+        term = JsonToObject.toTerm(SampleBodies.capture(1).term);
+        // Same shape as the bodies built by URLConnection.searchIGC().
+        searchBody = new PostSearchBody(
+                Arrays.asList("name", "modified_on", "parent_category"),
+                Arrays.asList("category", "term"),
+                Arrays.asList(
+                        new PostCondition("name", "like %{0}%", "Foul"),
+                        new PostCondition("modified_on", "between", null, false, 0L, Long.MAX_VALUE),
+                        new PostCondition("short_description", "isNull", null, true, 0L, 0L)),
+                "and");
+    }
+
+    @Benchmark
+    public byte[] termBody() {
+        return Codecs.toJsonBytes(term);
+    }
+
+    @Benchmark
+    public String termToString() {
+        return term.toString();
+    }
+
+    @Benchmark
+    public byte[] postSearchBody() {
+        return Codecs.toJsonBytes(searchBody);
+    }
+
+    @Benchmark
+    public String postSearchBodyToString() {
+        return searchBody.toString();
+    }
+}
@@ -0,0 +1,79 @@
+package com.Utility;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * InputStream wrapper that counts the bytes read through it, and the time spent waiting in its reads.
+ * Used to record the size of response bodies that are decoded as they are read, and how long was spent on the
+ * network rather than decoding.
+ */
+public class CountingInputStream extends FilterInputStream {
+    /**
+     * Number of bytes read so far.
+     */
+    private long count;
+    /**
+     * Nanoseconds spent in reads of the wrapped stream so far.
+     */
+    private long readNanos;
+
+    /**
+     * Create a new CountingInputStream.
+     * @param in InputStream to count bytes of.
+     */
+    public CountingInputStream(InputStream in) {
+        super(in);
+    }
+
+    @Override
+    public int read() throws IOException {
+        long start = System.nanoTime();
+        int b = super.read();
+        readNanos += System.nanoTime() - start;
+        if (b >= 0) {
+            count++;
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        long start = System.nanoTime();
+        int read = super.read(b, off, len);
+        readNanos += System.nanoTime() - start;
+        if (read > 0) {
+            count += read;
+        }
+        return read;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long start = System.nanoTime();
+        long skipped = super.skip(n);
+        readNanos += System.nanoTime() - start;
+        count += skipped;
+        return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false; // A reset would make the count wrong.
+    }
+
+    /**
+     * @return Number of bytes read so far.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return Nanoseconds spent in reads so far: waiting for the network, when wrapping a response body.
+     */
+    public long getReadNanos() {
+        return readNanos;
+    }
+}
@@ -0,0 +1,128 @@
+package com.Utility;
+
+import com.Utility.codec.FieldTypeAdapter;
+import com.dataObjects.Category;
+import com.dataObjects.IGCResource;
+import com.dataObjects.Term;
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Gson TypeAdapterFactory that decodes the abstract IGCResource to the POJO matching its '_type'.
+ * The JSON is read once, as a stream: properties are buffered only until '_type' is found, then the matching
+ * POJO is created, the buffered properties are applied to it, and the rest of the object is read straight into
+ * it by the POJO's FieldTypeAdapter (see Codecs). When '_type' comes first nothing is buffered.
+ * POJOs without a FieldTypeAdapter fall back to buffering the whole object.
+ * TODO *** New cases will need to be added to 'resourceTypes' as new IGC POJO class types are created ***
+ */
+public class IGCResourceTypeAdapterFactory implements TypeAdapterFactory {
+    /**
+     * POJO class for each IGC '_type'.
+     */
+    private final Map<String, Class<? extends IGCResource>> resourceTypes = new HashMap<>();
+
+    /**
+     * Create a new IGCResourceTypeAdapterFactory for every IGCResource POJO.
+     */
+    public IGCResourceTypeAdapterFactory() {
+        resourceTypes.put("term", Term.class);
+        resourceTypes.put("category", Category.class);
+    }
+
+    /**
+     * @param resourceType An IGC '_type'.
+     * @return Whether there is a POJO for the type.
+     */
+    public boolean hasResourceType(String resourceType) {
+        return resourceTypes.containsKey(resourceType);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        if (type.getRawType() != IGCResource.class) {
+            return null;
+        }
+        TypeAdapter<JsonElement> elementAdapter = gson.getAdapter(JsonElement.class);
+        Map<String, TypeAdapter<? extends IGCResource>> adapters = new HashMap<>();
+        for (Map.Entry<String, Class<? extends IGCResource>> entry : resourceTypes.entrySet()) {
+            adapters.put(entry.getKey(), gson.getAdapter(entry.getValue()));
+        }
+
+        return (TypeAdapter<T>) new TypeAdapter<IGCResource>() {
+            @Override
+            public void write(JsonWriter out, IGCResource value) throws IOException {
+                if (value == null) {
+                    out.nullValue();
+                    return;
+                }
+                ((TypeAdapter<IGCResource>) gson.getAdapter(value.getClass())).write(out, value);
+            }
+
+            @Override
+            public IGCResource read(JsonReader in) throws IOException {
+                if (in.peek() == JsonToken.NULL) {
+                    in.nextNull();
+                    return null;
+                }
+                JsonObject buffered = new JsonObject(); // Properties read before '_type'.
+                in.beginObject();
+                while (in.hasNext()) {
+                    String name = in.nextName();
+                    if (name.equals("_type") && in.peek() == JsonToken.STRING) {
+                        String resourceType = in.nextString();
+                        TypeAdapter<? extends IGCResource> adapter = adapters.get(resourceType);
+                        if (adapter == null) {
+                            throw new JsonParseException("No Java Object for IGC type: " + resourceType);
+                        }
+                        IGCResource resource = adapter instanceof FieldTypeAdapter
+                                ? readRest((FieldTypeAdapter<? extends IGCResource>) adapter, buffered, in)
+                                : readRestAsTree(adapter, buffered, in);
+                        resource.set_type(resourceType);
+                        in.endObject();
+                        return resource;
+                    }
+                    buffered.add(name, elementAdapter.read(in));
+                }
+                in.endObject();
+                throw new JsonParseException("No Java Object for IGC type: ");
+            }
+
+            /**
+             * Create the POJO, apply the buffered properties, then stream the remaining ones into it.
+             */
+            private <R extends IGCResource> R readRest(FieldTypeAdapter<R> adapter, JsonObject buffered,
+                                                       JsonReader in) throws IOException {
+                R resource = adapter.newInstance();
+                if (!buffered.entrySet().isEmpty()) {
+                    adapter.readInto(buffered, resource);
+                }
+                adapter.readFields(in, resource);
+                return resource;
+            }
+
+            /**
+             * Buffer the remaining properties, then decode the whole object.
+             */
+            private IGCResource readRestAsTree(TypeAdapter<? extends IGCResource> adapter, JsonObject buffered,
+                                               JsonReader in) throws IOException {
+                while (in.hasNext()) {
+                    buffered.add(in.nextName(), elementAdapter.read(in));
+                }
+                return adapter.fromJsonTree(buffered);
+            }
+        };
+    }
+}
@@ -2,6 +2,7 @@
 
 package com.Utility;
 
+import com.dataObjects.requests.RequestTimings;
 import com.dataObjects.requests.Response;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
@@ -10,13 +11,23 @@ import com.google.gson.JsonParser;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.BufferedReader;
+import com.google.gson.stream.JsonReader;
+
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PushbackInputStream;
 import java.io.Reader;
 import java.net.HttpURLConnection;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
 
 /**
  * A utility class for getting / building a response from an established
@@ -26,6 +37,12 @@ public class JsonResponseBuilder {
 
     private static final Logger logger = LoggerFactory.getLogger(JsonResponseBuilder.class);
 
+    /**
+     * Value of the 'Accept-Encoding' header sent with every request. Compressed bodies are decompressed as they
+     * are read, see readResponse().
+     */
+    public static final String ACCEPT_ENCODING = "gzip, deflate";
+
 
     /**
      * TO BE USED WHEN POSTING / CREATING NEW RESOURCES.
@@ -39,6 +56,39 @@ public class JsonResponseBuilder {
      * @throws IOException:
      */
     public static Response getResponseObject(HttpURLConnection connection) throws IOException, IllegalArgumentException{
+        return getResponseObject(connection, null);
+    }
+
+    /**
+     * Returns a Response object for an HttpURLConnection, decoding a successful body as it is read.
+     *      See getResponseObject(HttpURLConnection connection).
+     *
+     * @param connection: HttpURLConnection object to receive a response for.
+     * @param decoder: Decodes the body of a successful response straight from the connection (see
+     *                 Response.getBody()). If null, or the request failed, the body is read as the message String.
+     * @return Returns a Response object containing the response body and new resource location.
+     * @throws IOException:
+     * @throws IllegalArgumentException: Thrown by the decoder, or if a Response cannot be built.
+     */
+    public static Response getResponseObject(HttpURLConnection connection, ResponseDecoder<?> decoder)
+            throws IOException, IllegalArgumentException {
+        return getResponseObject(connection, decoder, new RequestTimings());
+    }
+
+    /**
+     * Returns a Response object for an HttpURLConnection, decoding a successful body as it is read, and
+     *      recording the download and parse phases of the body.
+     *      See getResponseObject(HttpURLConnection connection, ResponseDecoder decoder).
+     *
+     * @param connection: HttpURLConnection object to receive a response for.
+     * @param decoder: Decodes the body of a successful response. May be null.
+     * @param timings: Timings of the request so far. Completed and attached to the Response (getTimings()).
+     * @return Returns a Response object containing the response body and new resource location.
+     * @throws IOException:
+     * @throws IllegalArgumentException: Thrown by the decoder, or if a Response cannot be built.
+     */
+    public static Response getResponseObject(HttpURLConnection connection, ResponseDecoder<?> decoder,
+                                             RequestTimings timings) throws IOException, IllegalArgumentException {
         StringBuilder responseBuilder = new StringBuilder();
 
         try {
@@ -69,31 +119,30 @@ public class JsonResponseBuilder {
             String id = segments[segments.length - 1];
 
             // Get Message //
-            Reader streamReader = null;
+            InputStream stream;
 
             // Get error stream if response code 300 or higher.
             if (connection.getResponseCode() > 299) {
-                logger.warn("Attempting to build response with code: " + connection.getResponseCode() +
-                        " - " + connection.getResponseMessage());
-                streamReader = new InputStreamReader(connection.getErrorStream());
+                if (connection.getResponseCode() != HttpURLConnection.HTTP_NOT_MODIFIED) {
+                        logger.warn("Attempting to build response with code: " + connection.getResponseCode() +
+                            " - " + connection.getResponseMessage());
+                }
+                stream = connection.getErrorStream();
             } else {
-                streamReader = new InputStreamReader(connection.getInputStream());
-            }
-
-            BufferedReader in = new BufferedReader(streamReader);
-            String inputLine;
-            StringBuilder content = new StringBuilder();
-            while ((inputLine = in.readLine()) != null) {
-                content.append(inputLine);
+                stream = connection.getInputStream();
             }
 
-            in.close();
-
-            return new Response(content.toString(), id, connection.getResponseCode(), connection.getResponseMessage());
+            Response response = readResponse(stream, connection.getContentEncoding(), decoder, id,
+                    connection.getResponseCode(), connection.getResponseMessage(), timings);
+            response.setEtag(connection.getHeaderField("ETag"));
+            response.setLastModified(connection.getHeaderField("Last-Modified"));
+            return response;
         } catch (IOException e) {
             logger.error("IOException in getResponseObject(), caused when accessing httpUrlConnection " +
                     "or BufferedReader objects");
             throw e;
+        } catch (IllegalArgumentException e) {
+            throw e; // Thrown by the decoder. Already logged by JsonToObject.
         } catch (Exception e) {
             // Catches an Exceptions (other than IOExceptions) that could result.
             // This will likely be triggered if a bad call is made to the API.
@@ -103,6 +152,188 @@ public class JsonResponseBuilder {
     }
 
 
+    /**
+     * Builds a Response object from a java.net.http.HttpResponse whose body has not been read yet.
+     *      Counterpart of getResponseObject(HttpURLConnection, ResponseDecoder) for the HttpClient transport.
+     *      The ID of any newly created resource is taken from the last segment of the 'Location' header.
+     *
+     * @param httpResponse: HttpResponse with an unread InputStream body. The stream is closed.
+     * @param decoder: Decodes the body of a successful response straight from the connection (see
+     *                 Response.getBody()). If null, or the request failed, the body is read as the message String.
+     * @return Returns a Response object containing the response body and new resource location.
+     * @throws IOException: Thrown while reading the body.
+     * @throws IllegalArgumentException: Thrown by the decoder.
+     */
+    public static Response getResponseObject(HttpResponse<InputStream> httpResponse, ResponseDecoder<?> decoder)
+            throws IOException, IllegalArgumentException {
+        return getResponseObject(httpResponse, decoder, new RequestTimings());
+    }
+
+    /**
+     * Builds a Response object from a java.net.http.HttpResponse whose body has not been read yet, recording the
+     *      download and parse phases of the body.
+     *      See getResponseObject(HttpResponse, ResponseDecoder).
+     *
+     * @param httpResponse: HttpResponse with an unread InputStream body. The stream is closed.
+     * @param decoder: Decodes the body of a successful response. May be null.
+     * @param timings: Timings of the request so far. Completed and attached to the Response (getTimings()).
+     * @return Returns a Response object containing the response body and new resource location.
+     * @throws IOException: Thrown while reading the body.
+     * @throws IllegalArgumentException: Thrown by the decoder.
+     */
+    public static Response getResponseObject(HttpResponse<InputStream> httpResponse, ResponseDecoder<?> decoder,
+                                             RequestTimings timings) throws IOException, IllegalArgumentException {
+        // GET ID from Location URL //
+        String id = httpResponse.headers().firstValue("Location")
+                .map(location -> location.substring(location.lastIndexOf('/') + 1))
+                .orElse("");
+
+        int status = httpResponse.statusCode();
+        if (status > 299 && status != HttpURLConnection.HTTP_NOT_MODIFIED) {
+            logger.warn("Attempting to build response with code: " + status + " - " + getReasonPhrase(status));
+        }
+        String contentEncoding = httpResponse.headers().firstValue("Content-Encoding").orElse(null);
+        Response response =
+                readResponse(httpResponse.body(), contentEncoding, decoder, id, status, getReasonPhrase(status),
+                        timings);
+        response.setEtag(httpResponse.headers().firstValue("ETag").orElse(null));
+        response.setLastModified(httpResponse.headers().firstValue("Last-Modified").orElse(null));
+        return response;
+    }
+
+    /**
+     * Read a response body into a Response, then close the stream.
+     *      Successful bodies are handed straight to the decoder, so are never copied into a String. Otherwise
+     *      the body is read into the message String.
+     *      A gzip or deflate body is decompressed as the decoder reads it. Both the bytes received on the wire and
+     *      the decompressed bytes are counted (Response.getWireLength(), Response.getContentLength()).
+     *      Time spent waiting for the body to arrive is recorded as the DOWNLOAD phase of the timings, the rest of
+     *      the time spent reading it (decompression, decoding) as the PARSE phase.
+     *
+     * @param stream: Body of the response. May be null if there is no body.
+     * @param contentEncoding: Value of the 'Content-Encoding' header. May be null.
+     * @param decoder: Decoder for a successful body. May be null.
+     * @param id: ID of any newly created resource.
+     * @param status: HTTP status code.
+     * @param codeMessage: Reason phrase of the status code.
+     * @param timings: Timings of the request, attached to the Response.
+     * @return Response object containing the decoded body or the message.
+     * @throws IOException: Thrown while reading the body, or if its Content-Encoding is not supported.
+     */
+    private static Response readResponse(InputStream stream, String contentEncoding, ResponseDecoder<?> decoder,
+                                         String id, int status, String codeMessage, RequestTimings timings)
+            throws IOException {
+        if (stream == null) {
+            Response response = new Response("", id, status, codeMessage);
+            response.setWireLength(0);
+            response.setTimings(timings);
+            return response;
+        }
+        long start = System.nanoTime();
+        CountingInputStream wire = new CountingInputStream(stream);
+        try (CountingInputStream counted = new CountingInputStream(decompress(wire, contentEncoding))) {
+            Reader reader = new InputStreamReader(counted, StandardCharsets.UTF_8);
+            Response response;
+            if (decoder != null && status < 300) {
+                Object body = decoder.decode(new JsonReader(reader));
+                // Drain whatever the decoder left unread, so the connection can be re-used.
+                counted.transferTo(OutputStream.nullOutputStream());
+                response = new Response(body, id, status, codeMessage, counted.getCount());
+            } else {
+                StringBuilder content = new StringBuilder();
+                char[] buffer = new char[8192];
+                int read;
+                while ((read = reader.read(buffer)) != -1) {
+                    content.append(buffer, 0, read);
+                }
+                response = new Response(content.toString(), id, status, codeMessage);
+            }
+            wire.transferTo(OutputStream.nullOutputStream()); // Anything after the compressed data.
+            response.setWireLength(wire.getCount());
+            timings.add(RequestTimings.Phase.DOWNLOAD, wire.getReadNanos());
+            timings.add(RequestTimings.Phase.PARSE, System.nanoTime() - start - wire.getReadNanos());
+            response.setTimings(timings);
+            return response;
+        } finally {
+            wire.close();
+        }
+    }
+
+    /**
+     * Wrap a response body in the decompressor matching its Content-Encoding.
+     *
+     * @param stream: Body as received on the wire.
+     * @param contentEncoding: Value of the 'Content-Encoding' header. Null or 'identity' if not compressed.
+     * @return Stream of the decompressed body.
+     * @throws IOException: Thrown if the gzip header cannot be read, or the encoding is not supported.
+     */
+    private static InputStream decompress(InputStream stream, String contentEncoding) throws IOException {
+        String encoding = contentEncoding == null ? "" : contentEncoding.trim().toLowerCase(Locale.ROOT);
+        if (encoding.isEmpty() || encoding.equals("identity")) {
+            return stream;
+        }
+        if (!encoding.equals("gzip") && !encoding.equals("x-gzip") && !encoding.equals("deflate")) {
+            throw new IOException("Unsupported Content-Encoding in response: " + contentEncoding);
+        }
+        // An empty body (204, HEAD...) is sent without any compression header.
+        PushbackInputStream body = new PushbackInputStream(stream, 2);
+        int first = body.read();
+        if (first == -1) {
+            return body;
+        }
+        int second = body.read();
+        if (second != -1) {
+            body.unread(second);
+        }
+        body.unread(first);
+        if (!encoding.equals("deflate")) {
+            return new GZIPInputStream(body, 8192);
+        }
+        // 'deflate' should be zlib-wrapped, but some servers send raw deflate data. Check for a zlib header.
+        boolean zlib = (first & 0x0F) == 8 && second != -1 && ((first << 8) | second) % 31 == 0;
+        Inflater inflater = new Inflater(!zlib);
+        return new InflaterInputStream(body, inflater, 8192) {
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    inflater.end();
+                }
+            }
+        };
+    }
+
+    /**
+     * HttpClient does not expose the server's reason phrase, so map the codes IGC is known to return.
+     * @param status HTTP status code.
+     * @return Standard reason phrase for the code, or an empty String if unknown.
+     */
+    public static String getReasonPhrase(int status) {
+        switch (status) {
+            case 200: return "OK";
+            case 201: return "Created";
+            case 202: return "Accepted";
+            case 204: return "No Content";
+            case 301: return "Moved Permanently";
+            case 302: return "Found";
+            case 304: return "Not Modified";
+            case 400: return "Bad Request";
+            case 401: return "Unauthorized";
+            case 403: return "Forbidden";
+            case 404: return "Not Found";
+            case 405: return "Method Not Allowed";
+            case 409: return "Conflict";
+            case 429: return "Too Many Requests";
+            case 500: return "Internal Server Error";
+            case 502: return "Bad Gateway";
+            case 503: return "Service Unavailable";
+            case 504: return "Gateway Timeout";
+            default: return "";
+        }
+    }
+
+
 //    /**
 //     * Returns a FULL response String for an HttpURLConnection object that is ready to make a request.
 //     *      This method will return a String including ALL parts of the response, including any and all
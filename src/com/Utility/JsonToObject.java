@@ -1,11 +1,23 @@
 package com.Utility;
 
+import com.Utility.codec.Codecs;
 import com.dataObjects.*;
 import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
 import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.MalformedJsonException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * A utility class containing various methods for converting JSON to specific
  * IGC objects.
@@ -17,6 +29,11 @@ public class JsonToObject {
      */
     private static final Logger logger = LoggerFactory.getLogger(JsonToObject.class);
 
+    /**
+     * Shared Gson from the codec registry. Gson is thread-safe.
+     */
+    private static final Gson gson = Codecs.gson();
+
     /**
      * Converts a JSON String to an IGC Term object using the GSON library.
      *
@@ -26,8 +43,6 @@ public class JsonToObject {
      */
     public static Term toTerm(String jsonString) throws IllegalArgumentException {
 
-        Gson gson = new Gson();
-
         try {
             logger.debug("Converting json String to Term object...");
             return gson.fromJson(jsonString, Term.class);
@@ -51,8 +66,6 @@ public class JsonToObject {
      */
     public static Category toCategory(String jsonString) throws IllegalArgumentException {
 
-        Gson gson = new Gson();
-
         try {
             logger.debug("Converting json String to Category object...");
             return gson.fromJson(jsonString, Category.class);
@@ -76,8 +89,6 @@ public class JsonToObject {
      */
     public static TypeContainer toTypeContainer(String jsonString) throws IllegalArgumentException {
 
-        Gson gson = new Gson();
-
         try {
             logger.debug("Converting json String to TypeContainer object...");
             return gson.fromJson(jsonString, TypeContainer.class);
@@ -92,6 +103,50 @@ public class JsonToObject {
         }
     }
 
+    /**
+     * Converts a JSON String to the IGCResource POJO (Term, Category, etc...) matching its '_type', in a single
+     * pass over the JSON. See IGCResourceTypeAdapterFactory.
+     *
+     * @param jsonString A JSON String to convert (must be correctly formatted).
+     * @return An IGCResource object containing the properties of the input JSON.
+     * @throws IllegalArgumentException: JSON is not valid representation of an IGCResource, or its '_type' has no
+     *                                   Java Object.
+     */
+    public static IGCResource toIGCResource(String jsonString) throws IllegalArgumentException {
+
+        try {
+            logger.debug("Converting json String to IGCResource object...");
+            return gson.fromJson(jsonString, IGCResource.class);
+        } catch (JsonParseException e) {
+            e.printStackTrace();
+            logger.error("JsonParseException in JsonToObject.toIGCResource().\n");
+            throw new IllegalArgumentException("JsonParseException thrown by JsonToObject.toIGCResource(): " +
+                    e.getMessage());
+        } catch (Exception e) {
+            e.printStackTrace();
+            logger.error("Unexpected Exception in JsonToObject.toIGCResource()");
+            throw e;
+        }
+    }
+
+    /**
+     * Reads only the top level '_type' property of a JSON object, without decoding the rest.
+     * Reading stops as soon as '_type' is found, so it is much cheaper than toTypeContainer() on large resources.
+     *
+     * @param jsonString A JSON String of an object (must be correctly formatted).
+     * @return The '_type' of the object, or an empty String if it has none.
+     * @throws IllegalArgumentException: JSON is not an object.
+     */
+    public static String peekType(String jsonString) throws IllegalArgumentException {
+
+        try (JsonReader reader = new JsonReader(new StringReader(jsonString))) {
+            return readType(reader);
+        } catch (IOException e) {
+            logger.error("Exception in JsonToObject.peekType().\n");
+            throw new IllegalArgumentException("Could not read '_type' in JsonToObject.peekType()", e);
+        }
+    }
+
     /**
      * Converts a JSON String to a IGCItemList object using the GSON library.
      *
@@ -101,8 +156,6 @@ public class JsonToObject {
      */
     public static IGCItemList toIGCItemList(String jsonString) throws IllegalArgumentException {
 
-        Gson gson = new Gson();
-
         try {
             logger.debug("Converting json String to IGCItemList object...");
             return gson.fromJson(jsonString, IGCItemList.class);
@@ -116,4 +169,185 @@ public class JsonToObject {
             throw e;
         }
     }
+
+    /**
+     * Converts the JSON String of a search response to a List of full IGCResources (Term, Category, etc...).
+     * Unlike toIGCItemList(), each item is decoded to the POJO matching its '_type', so any properties
+     * requested in the search body are kept. Items of a type with no Java Object are skipped.
+     * TODO *** New cases will need to be made as new IGC POJO class types are created ***
+     *
+     * @param jsonString A JSON String of a search response (must be correctly formatted).
+     * @return A List of IGCResources, one per recognized item in the response.
+     * @throws IllegalArgumentException: JSON is not valid representation of a search response.
+     */
+    public static List<IGCResource> toIGCResourceList(String jsonString) throws IllegalArgumentException {
+
+        try (JsonReader reader = new JsonReader(new StringReader(jsonString))) {
+            return readIGCResourceList(reader);
+        } catch (IOException e) {
+            logger.error("IOException in JsonToObject.toIGCResourceList().\n");
+            throw new IllegalArgumentException("Could not read JSON in JsonToObject.toIGCResourceList()", e);
+        }
+    }
+
+    //// STREAM READERS ////
+    // Decode straight from a JsonReader, so a response body never has to be held as a String.
+    // Each can be passed to HttpTransport.execute() as a ResponseDecoder.
+
+    /**
+     * Reads an IGCResource POJO (Term, Category, etc...) matching its '_type'. Stream version of toIGCResource().
+     *
+     * @param reader JsonReader positioned at the start of the resource.
+     * @return An IGCResource object containing the properties of the JSON.
+     * @throws IOException: Thrown if the JSON cannot be read from the underlying stream.
+     * @throws IllegalArgumentException: JSON is not valid representation of an IGCResource, or its '_type' has no
+     *                                   Java Object.
+     */
+    public static IGCResource readIGCResource(JsonReader reader) throws IOException, IllegalArgumentException {
+
+        try {
+            logger.debug("Reading IGCResource object from stream...");
+            return gson.getAdapter(IGCResource.class).read(reader);
+        } catch (JsonParseException | IllegalStateException | MalformedJsonException e) {
+            logger.error("JsonParseException in JsonToObject.readIGCResource().\n");
+            throw new IllegalArgumentException("JsonParseException thrown by JsonToObject.readIGCResource(): " +
+                    e.getMessage());
+        }
+    }
+
+    /**
+     * Reads an IGCResource, unless it has the same 'modified_on' as a copy already held.
+     * Properties are read into a JSON tree until 'modified_on' is found. If it matches the held copy, reading
+     * stops and the held copy is returned, so an unchanged resource is never decoded into a new POJO.
+     * Otherwise the rest of the object is read and decoded as by readIGCResource().
+     *
+     * @param reader JsonReader positioned at the start of the object.
+     * @param held Copy of the resource already held. Returned as is if unchanged.
+     * @return The held copy if 'modified_on' matches, else the newly decoded IGCResource.
+     * @throws IOException: Thrown if the JSON cannot be read from the underlying stream.
+     * @throws IllegalArgumentException: JSON is not valid representation of an IGCResource.
+     */
+    public static IGCResource readIGCResourceIfModified(JsonReader reader, IGCResource held)
+            throws IOException, IllegalArgumentException {
+        String heldModifiedOn = held.getModified_on();
+        if (heldModifiedOn == null || heldModifiedOn.isEmpty()) {
+            return readIGCResource(reader);
+        }
+
+        try {
+            TypeAdapter<JsonElement> elementAdapter = gson.getAdapter(JsonElement.class);
+            JsonObject read = new JsonObject();
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if (name.equals("modified_on")
+                        && (reader.peek() == JsonToken.STRING || reader.peek() == JsonToken.NUMBER)) {
+                    String modifiedOn = reader.nextString();
+                    if (modifiedOn.equals(heldModifiedOn)) {
+                        logger.debug("IGCResource unchanged since " + modifiedOn + ", keeping the held copy.");
+                        return held; // The rest of the body is left unread.
+                    }
+                    read.addProperty(name, modifiedOn);
+                } else {
+                    read.add(name, elementAdapter.read(reader));
+                }
+            }
+            reader.endObject();
+            return gson.getAdapter(IGCResource.class).fromJsonTree(read);
+        } catch (JsonParseException | IllegalStateException | MalformedJsonException e) {
+            logger.error("JsonParseException in JsonToObject.readIGCResourceIfModified().\n");
+            throw new IllegalArgumentException(
+                    "JsonParseException thrown by JsonToObject.readIGCResourceIfModified(): " + e.getMessage());
+        }
+    }
+
+    /**
+     * Reads an IGCItemList. Stream version of toIGCItemList().
+     *
+     * @param reader JsonReader positioned at the start of the item list.
+     * @return A IGCItemList object containing the properties of the JSON.
+     * @throws IOException: Thrown if the JSON cannot be read from the underlying stream.
+     * @throws IllegalArgumentException: JSON is not valid representation of a IGCItemList object.
+     */
+    public static IGCItemList readIGCItemList(JsonReader reader) throws IOException, IllegalArgumentException {
+
+        try {
+            logger.debug("Reading IGCItemList object from stream...");
+            return gson.getAdapter(IGCItemList.class).read(reader);
+        } catch (JsonParseException | IllegalStateException | MalformedJsonException e) {
+            logger.error("JsonParseException in JsonToObject.readIGCItemList().\n");
+            throw new IllegalArgumentException("JsonParseException thrown by JsonToObject.readIGCItemList()");
+        }
+    }
+
+    /**
+     * Reads only the top level '_type' property of a JSON object. Stream version of peekType().
+     * Reading stops as soon as '_type' is found, the rest of the object is left unread.
+     *
+     * @param reader JsonReader positioned at the start of the object.
+     * @return The '_type' of the object, or an empty String if it has none.
+     * @throws IOException: Thrown if the JSON cannot be read from the underlying stream.
+     * @throws IllegalArgumentException: JSON is not an object.
+     */
+    public static String readType(JsonReader reader) throws IOException, IllegalArgumentException {
+
+        try {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if (reader.nextName().equals("_type") && reader.peek() == JsonToken.STRING) {
+                    return reader.nextString();
+                }
+                reader.skipValue();
+            }
+            return "";
+        } catch (IllegalStateException | MalformedJsonException e) {
+            logger.error("Exception in JsonToObject.readType().\n");
+            throw new IllegalArgumentException("Could not read '_type' in JsonToObject.readType()", e);
+        }
+    }
+
+    /**
+     * Reads a search response as a List of full IGCResources (Term, Category, etc...).
+     * Stream version of toIGCResourceList(). Items are read one at a time, so only a single item is buffered.
+     * TODO *** New IGC POJO class types will need to be added to IGCResourceTypeAdapterFactory ***
+     *
+     * @param reader JsonReader positioned at the start of the search response.
+     * @return A List of IGCResources, one per recognized item in the response.
+     * @throws IOException: Thrown if the JSON cannot be read from the underlying stream.
+     * @throws IllegalArgumentException: JSON is not valid representation of a search response.
+     */
+    public static List<IGCResource> readIGCResourceList(JsonReader reader)
+            throws IOException, IllegalArgumentException {
+
+        try {
+            logger.debug("Reading List of IGCResource objects from stream...");
+            TypeAdapter<JsonElement> elementAdapter = gson.getAdapter(JsonElement.class);
+            TypeAdapter<IGCResource> resourceAdapter = gson.getAdapter(IGCResource.class);
+            List<IGCResource> resources = new ArrayList<>();
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if (!reader.nextName().equals("items") || reader.peek() != JsonToken.BEGIN_ARRAY) {
+                    reader.skipValue();
+                    continue;
+                }
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    JsonObject item = elementAdapter.read(reader).getAsJsonObject();
+                    JsonElement type = item.get("_type");
+                    String typeString = type == null ? "" : type.getAsString();
+                    if (Codecs.isResourceType(typeString)) {
+                        resources.add(resourceAdapter.fromJsonTree(item));
+                    } else {
+                        logger.debug("Skipping search result with no Java Object for type: " + typeString);
+                    }
+                }
+                reader.endArray();
+            }
+            reader.endObject();
+            return resources;
+        } catch (JsonParseException | IllegalStateException | MalformedJsonException e) {
+            logger.error("JsonParseException in JsonToObject.readIGCResourceList().\n");
+            throw new IllegalArgumentException("JsonParseException thrown by JsonToObject.readIGCResourceList()");
+        }
+    }
 }
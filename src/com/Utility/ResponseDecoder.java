@@ -0,0 +1,25 @@
+package com.Utility;
+
+import com.google.gson.stream.JsonReader;
+
+import java.io.IOException;
+
+/**
+ * Decodes the JSON body of a successful HTTP response as it is read from the connection.
+ * Passed to HttpTransport.execute() by methods that only need the decoded object (Term, IGCItemList, ...),
+ * so the body is never held as a String. See JsonToObject.readIGCResource(), readIGCItemList(), etc...
+ *
+ * @param <T> Type of the decoded body.
+ */
+@FunctionalInterface
+public interface ResponseDecoder<T> {
+
+    /**
+     * Decode a response body.
+     * @param reader JsonReader positioned at the start of the body. Does not need to be read to the end.
+     * @return The decoded body.
+     * @throws IOException: Thrown if the body cannot be read from the connection.
+     * @throws IllegalArgumentException: Thrown if the body is not valid JSON for the type.
+     */
+    T decode(JsonReader reader) throws IOException, IllegalArgumentException;
+}
@@ -2,16 +2,25 @@
 
 package com.Utility;
 
+import com.google.gson.annotations.SerializedName;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.net.ssl.*;
 import java.io.UnsupportedEncodingException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 import java.net.Authenticator;
 import java.net.PasswordAuthentication;
 import java.net.URLEncoder;
 import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * A utility class containing various static methods.
@@ -48,26 +57,14 @@ public class Utility {
 
     /**
      * Disables SSL Verification for HttpsURLConnection.
+     * Also disables hostname verification for java.net.http.HttpClient instances created after this call.
      * @throws IllegalStateException:
      */
     public static void disableSslVerification() throws IllegalStateException {
         try
         {
-            // Create a trust manager that does not validate certificate chains
-            TrustManager[] trustAllCerts = new TrustManager[] {new X509TrustManager() {
-                public java.security.cert.X509Certificate[] getAcceptedIssuers() {
-                    return null;
-                }
-                public void checkClientTrusted(X509Certificate[] certs, String authType) {
-                }
-                public void checkServerTrusted(X509Certificate[] certs, String authType) {
-                }
-            }
-            };
-
             // Install the all-trusting trust manager
-            SSLContext sc = SSLContext.getInstance("SSL");
-            sc.init(null, trustAllCerts, new java.security.SecureRandom());
+            SSLContext sc = getTrustAllSslContext();
             HttpsURLConnection.setDefaultSSLSocketFactory(sc.getSocketFactory());
 
             // Create all-trusting host name verifier
@@ -80,6 +77,8 @@ public class Utility {
             // Install the all-trusting host verifier
             logger.info("Disabling SSL Verification...");
             HttpsURLConnection.setDefaultHostnameVerifier(allHostsValid);
+            // HttpClient has no HostnameVerifier hook. This property is read once, when the first client is built.
+            System.setProperty("jdk.internal.httpclient.disableHostnameVerification", "true");
         } catch (Exception e) {
             // Shouldnt even happen, just being safe.
             e.printStackTrace();
@@ -87,8 +86,39 @@ public class Utility {
         }
     }
 
+    /**
+     * Build an SSLContext that trusts every certificate chain.
+     * Used by the HttpClient transport, which does not read the HttpsURLConnection defaults.
+     * @return An initialized all-trusting SSLContext.
+     * @throws IllegalStateException: Thrown if the SSLContext cannot be created.
+     */
+    public static SSLContext getTrustAllSslContext() throws IllegalStateException {
+        try {
+            // Create a trust manager that does not validate certificate chains
+            TrustManager[] trustAllCerts = new TrustManager[] {new X509TrustManager() {
+                public java.security.cert.X509Certificate[] getAcceptedIssuers() {
+                    return new X509Certificate[0];
+                }
+                public void checkClientTrusted(X509Certificate[] certs, String authType) {
+                }
+                public void checkServerTrusted(X509Certificate[] certs, String authType) {
+                }
+            }
+            };
+
+            SSLContext sc = SSLContext.getInstance("TLS");
+            sc.init(null, trustAllCerts, new java.security.SecureRandom());
+            return sc;
+        } catch (Exception e) {
+            e.printStackTrace();
+            throw new IllegalStateException("Could not create all-trusting SSLContext.");
+        }
+    }
+
     /**
      * Set the default username and password for HTTP requests.
+     * Installs a JVM-wide Authenticator, which only answers 401 challenges (one extra round trip per request).
+     * URLConnection no longer uses this. It sends credentials preemptively through an IGCSession instead.
      * @param username username.
      * @param password password.
      */
@@ -100,4 +130,51 @@ public class Utility {
             }
         });
     }
+
+    /**
+     * Create an executor that runs each submitted task on its own thread.
+     * On JDK 21+ this is a virtual-thread-per-task executor, so tasks blocked on IGC requests do not hold a
+     * platform thread. On older JDKs falls back to a cached pool of daemon platform threads.
+     * @param threadNamePrefix Prefix for the names of the platform threads used by the fallback pool.
+     * @return A new ExecutorService. The caller is responsible for shutting it down.
+     */
+    public static ExecutorService newTaskExecutor(String threadNamePrefix) {
+        try {
+            // Looked up reflectively so the project still compiles and runs on JDK 11.
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            logger.debug("Virtual threads not available. Using a cached platform thread pool.");
+            AtomicInteger threadCount = new AtomicInteger();
+            ThreadFactory threadFactory = runnable -> {
+                Thread thread = new Thread(runnable, threadNamePrefix + "-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            };
+            return Executors.newCachedThreadPool(threadFactory);
+        }
+    }
+
+    /**
+     * List the IGC property names held by a POJO, for use as the 'properties' of a POST search.
+     * Uses the '@SerializedName' value where a field has one (see Category.custom_Contains_PII).
+     * Fields starting with '_' are skipped, as IGC always returns those.
+     * @param pojoClass POJO class (Term, Category, etc...).
+     * @return List of IGC property names.
+     */
+    public static List<String> getPropertyNames(Class<?> pojoClass) {
+        List<String> properties = new ArrayList<>();
+        for (Class<?> c = pojoClass; c != null && c != Object.class; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) || Modifier.isTransient(field.getModifiers())) {
+                    continue;
+                }
+                SerializedName serializedName = field.getAnnotation(SerializedName.class);
+                String name = serializedName == null ? field.getName() : serializedName.value();
+                if (!name.startsWith("_")) {
+                    properties.add(name);
+                }
+            }
+        }
+        return properties;
+    }
 }
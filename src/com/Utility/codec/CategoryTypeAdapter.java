@@ -0,0 +1,80 @@
+package com.Utility.codec;
+
+import com.dataObjects.Category;
+import com.dataObjects.IGCItem;
+import com.dataObjects.IGCItemList;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Hand-written TypeAdapter for Category. See FieldTypeAdapter.
+ * TODO *** New custom fields added to Category will need to be added here too, under their IGC name ***
+ */
+class CategoryTypeAdapter extends FieldTypeAdapter<Category> {
+    private final FieldTypeAdapter<IGCItem> itemAdapter;
+    private final FieldTypeAdapter<IGCItemList> itemListAdapter;
+
+    CategoryTypeAdapter(FieldTypeAdapter<IGCItem> itemAdapter, FieldTypeAdapter<IGCItemList> itemListAdapter) {
+        this.itemAdapter = itemAdapter;
+        this.itemListAdapter = itemListAdapter;
+    }
+
+    @Override
+    public Category newInstance() {
+        return new Category();
+    }
+
+    @Override
+    protected boolean readField(JsonReader in, String name, Category target) throws IOException {
+        switch (name) {
+            case "_type": target.set_type(readString(in)); return true;
+            case "name": target.setName(readString(in)); return true;
+            case "short_description": target.setShort_description(readString(in)); return true;
+            case "long_description": target.setLong_description(readString(in)); return true;
+            case "parent_category": target.setParent_category(itemAdapter.read(in)); return true;
+            case "modified_on": target.setModified_on(readString(in)); return true;
+            case "_name": target.set_name(readString(in)); return true;
+            case "created_by": target.setCreated_by(readString(in)); return true;
+            case "terms": target.setTerms(itemListAdapter.read(in)); return true;
+            case "created_on": target.setCreated_on(readString(in)); return true;
+            case "_context": target.set_context(readList(in, itemAdapter)); return true;
+            case "category_path": target.setCategory_path(itemListAdapter.read(in)); return true;
+            case "modified_by": target.setModified_by(readString(in)); return true;
+            case "_id": target.set_id(readString(in)); return true;
+            case "_url": target.set_url(readString(in)); return true;
+            case "custom_Contains PII": target.setCustom_Contains_PII(readString(in)); return true;
+            case "custom_Owner": target.setCustom_Owner(readString(in)); return true;
+            case "custom_Organization": target.setCustom_Organization(readStringList(in)); return true;
+            default: return false;
+        }
+    }
+
+    @Override
+    protected void writeFields(JsonWriter out, Category value) throws IOException {
+        out.name("_type").value(value.get_type());
+        out.name("name").value(value.getName());
+        out.name("short_description").value(value.getShort_description());
+        out.name("long_description").value(value.getLong_description());
+        out.name("parent_category");
+        itemAdapter.write(out, value.getParent_category());
+        out.name("modified_on").value(value.getModified_on());
+        out.name("_name").value(value.get_name());
+        out.name("created_by").value(value.getCreated_by());
+        out.name("terms");
+        itemListAdapter.write(out, value.getTerms());
+        out.name("created_on").value(value.getCreated_on());
+        out.name("_context");
+        writeList(out, value.get_context(), itemAdapter);
+        out.name("category_path");
+        itemListAdapter.write(out, value.getCategory_path());
+        out.name("modified_by").value(value.getModified_by());
+        out.name("_id").value(value.get_id());
+        out.name("_url").value(value.get_url());
+        out.name("custom_Contains PII").value(value.getCustom_Contains_PII());
+        out.name("custom_Owner").value(value.getCustom_Owner());
+        out.name("custom_Organization");
+        writeStringList(out, value.getCustom_Organization());
+    }
+}
@@ -0,0 +1,167 @@
+package com.Utility.codec;
+
+import com.Utility.IGCResourceTypeAdapterFactory;
+import com.dataObjects.Category;
+import com.dataObjects.IGCItem;
+import com.dataObjects.IGCItemList;
+import com.dataObjects.IGCPaging;
+import com.dataObjects.IGCResource;
+import com.dataObjects.Term;
+import com.dataObjects.TypeContainer;
+import com.dataObjects.requests.PostCondition;
+import com.dataObjects.requests.PostSearchBody;
+import com.dataObjects.requests.PostWhere;
+import com.dataObjects.requests.Response;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonIOException;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Shared registry of the Gson instances used to encode and decode every IGC POJO.
+ *
+ * Gson is thread-safe and caches the TypeAdapter of each type it has seen, so a single instance is kept for
+ * the life of the program instead of building a new Gson (and looking up / reflecting every adapter again) on
+ * each call. The POJOs use the hand-written FieldTypeAdapters in this package, which read and write fields
+ * through getters and setters rather than reflection. Adapters are looked up as soon as this class is loaded,
+ * see warmUp().
+ * TODO *** New IGC POJO classes will need a FieldTypeAdapter registered in register() ***
+ */
+public final class Codecs {
+
+    //// Stateless adapters, shared by both Gson instances ////
+    private static final IGCPagingTypeAdapter PAGING_ADAPTER = new IGCPagingTypeAdapter();
+    private static final IGCItemTypeAdapter ITEM_ADAPTER = new IGCItemTypeAdapter();
+    private static final IGCItemListTypeAdapter ITEM_LIST_ADAPTER =
+            new IGCItemListTypeAdapter(PAGING_ADAPTER, ITEM_ADAPTER);
+    private static final TermTypeAdapter TERM_ADAPTER = new TermTypeAdapter(ITEM_ADAPTER, ITEM_LIST_ADAPTER);
+    private static final CategoryTypeAdapter CATEGORY_ADAPTER =
+            new CategoryTypeAdapter(ITEM_ADAPTER, ITEM_LIST_ADAPTER);
+    private static final PostConditionTypeAdapter CONDITION_ADAPTER = new PostConditionTypeAdapter();
+    private static final PostWhereTypeAdapter WHERE_ADAPTER = new PostWhereTypeAdapter(CONDITION_ADAPTER);
+    private static final PostSearchBodyTypeAdapter SEARCH_BODY_ADAPTER = new PostSearchBodyTypeAdapter(WHERE_ADAPTER);
+    private static final ResponseTypeAdapter RESPONSE_ADAPTER = new ResponseTypeAdapter();
+    /**
+     * Decodes the abstract IGCResource to the POJO matching its '_type'.
+     */
+    private static final IGCResourceTypeAdapterFactory RESOURCE_FACTORY = new IGCResourceTypeAdapterFactory();
+
+    /**
+     * Every class with an adapter in the registry. Looked up when the class is loaded.
+     */
+    private static final Class<?>[] CODEC_CLASSES = {IGCPaging.class, IGCItem.class, IGCItemList.class, Term.class,
+            Category.class, IGCResource.class, PostCondition.class, PostWhere.class, PostSearchBody.class,
+            Response.class, TypeContainer.class, JsonElement.class};
+
+    /**
+     * Compact Gson, used for decoding and for request bodies.
+     */
+    private static final Gson GSON = register(new GsonBuilder()).create();
+    /**
+     * Pretty printing Gson, used by the POJOs' toString().
+     */
+    private static final Gson PRETTY_GSON = register(new GsonBuilder()).setPrettyPrinting().create();
+
+    static {
+        for (Class<?> codecClass : CODEC_CLASSES) {
+            GSON.getAdapter(codecClass);
+            PRETTY_GSON.getAdapter(codecClass);
+        }
+    }
+
+    private Codecs() {
+    }
+
+    /**
+     * Register every adapter with a GsonBuilder.
+     * @param builder GsonBuilder to register with.
+     * @return The same GsonBuilder.
+     */
+    private static GsonBuilder register(GsonBuilder builder) {
+        return builder
+                .registerTypeAdapter(IGCPaging.class, PAGING_ADAPTER)
+                .registerTypeAdapter(IGCItem.class, ITEM_ADAPTER)
+                .registerTypeAdapter(IGCItemList.class, ITEM_LIST_ADAPTER)
+                .registerTypeAdapter(Term.class, TERM_ADAPTER)
+                .registerTypeAdapter(Category.class, CATEGORY_ADAPTER)
+                .registerTypeAdapter(PostCondition.class, CONDITION_ADAPTER)
+                .registerTypeAdapter(PostWhere.class, WHERE_ADAPTER)
+                .registerTypeAdapter(PostSearchBody.class, SEARCH_BODY_ADAPTER)
+                .registerTypeAdapter(Response.class, RESPONSE_ADAPTER)
+                .registerTypeAdapterFactory(RESOURCE_FACTORY);
+    }
+
+    /**
+     * @return The shared, compact Gson.
+     */
+    public static Gson gson() {
+        return GSON;
+    }
+
+    /**
+     * @return The shared, pretty printing Gson.
+     */
+    public static Gson prettyGson() {
+        return PRETTY_GSON;
+    }
+
+    /**
+     * Encode an object as compact JSON.
+     * @param value Object to encode.
+     * @return JSON String of the object.
+     */
+    public static String toJson(Object value) {
+        return GSON.toJson(value);
+    }
+
+    /**
+     * Encode an object as compact UTF-8 JSON, written straight into a byte array without building a String.
+     * Used for request bodies.
+     * @param value Object to encode. Not null.
+     * @return UTF-8 bytes of the JSON.
+     */
+    public static byte[] toJsonBytes(Object value) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(512);
+        try (JsonWriter writer = GSON.newJsonWriter(new OutputStreamWriter(bytes, StandardCharsets.UTF_8))) {
+            GSON.toJson(value, value.getClass(), writer);
+        } catch (IOException e) {
+            throw new JsonIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Encode an object as pretty printed JSON. Used by the POJOs' toString().
+     * @param value Object to encode.
+     * @return Pretty printed JSON String of the object.
+     */
+    public static String toPrettyJson(Object value) {
+        return PRETTY_GSON.toJson(value);
+    }
+
+    /**
+     * @param resourceType An IGC '_type'.
+     * @return Whether there is a POJO for the type.
+     */
+    public static boolean isResourceType(String resourceType) {
+        return RESOURCE_FACTORY.hasResourceType(resourceType);
+    }
+
+    /**
+     * Load the registry and run a Term and a search body through it, so the first real request does not pay
+     * for class loading and adapter lookup. Cheap to call more than once.
+     */
+    public static void warmUp() {
+        Term term = new Term("warm up", "", "", "", "");
+        GSON.fromJson(GSON.toJson(term), IGCResource.class);
+        GSON.toJson(new Category(true));
+        GSON.toJson(new IGCItemList(true));
+        GSON.toJson(new PostSearchBody(null, null, null, "or"));
+    }
+}
@@ -0,0 +1,220 @@
+package com.Utility.codec;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Base class of the hand-written TypeAdapters for the IGC POJOs (see Codecs).
+ * Subclasses read and write each field by name with the POJO's getters and setters, so no reflection is used.
+ *
+ * Matches the output of Gson's reflective adapters:
+ *  - Fields are written in the order they are declared in the POJO.
+ *  - Null fields are left out (Gson drops a name followed by a null value unless serializeNulls is set).
+ *  - Unknown properties are skipped when reading.
+ *
+ * @param <T> POJO type.
+ */
+public abstract class FieldTypeAdapter<T> extends TypeAdapter<T> {
+
+    /**
+     * @return A new, empty POJO to read fields into.
+     */
+    public abstract T newInstance();
+
+    /**
+     * Read the value of a single property into the POJO.
+     * @param in JsonReader positioned at the value of the property.
+     * @param name Name of the property.
+     * @param target POJO to set the field of.
+     * @return False if the POJO has no field for the property. The value is then left unread.
+     * @throws IOException: Thrown by the JsonReader.
+     */
+    protected abstract boolean readField(JsonReader in, String name, T target) throws IOException;
+
+    /**
+     * Write every field of the POJO as a name and value.
+     * @param out JsonWriter, inside the POJO's object.
+     * @param value POJO to write.
+     * @throws IOException: Thrown by the JsonWriter.
+     */
+    protected abstract void writeFields(JsonWriter out, T value) throws IOException;
+
+    @Override
+    public T read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        T target = newInstance();
+        in.beginObject();
+        readFields(in, target);
+        in.endObject();
+        return target;
+    }
+
+    @Override
+    public void write(JsonWriter out, T value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        writeFields(out, value);
+        out.endObject();
+    }
+
+    /**
+     * Read the remaining properties of an object that has already been begun.
+     * @param in JsonReader inside an object. Left before the end of the object.
+     * @param target POJO to set the fields of.
+     * @throws IOException: Thrown by the JsonReader.
+     */
+    public void readFields(JsonReader in, T target) throws IOException {
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (!readField(in, name, target)) {
+                in.skipValue();
+            }
+        }
+    }
+
+    /**
+     * Read the properties of an already parsed JSON object into an existing POJO.
+     * @param object JSON object to read.
+     * @param target POJO to set the fields of.
+     */
+    public void readInto(JsonElement object, T target) {
+        new TypeAdapter<T>() {
+            @Override
+            public void write(JsonWriter out, T value) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public T read(JsonReader in) throws IOException {
+                in.beginObject();
+                readFields(in, target);
+                in.endObject();
+                return target;
+            }
+        }.fromJsonTree(object);
+    }
+
+    //// FIELD HELPERS - Same conversions as Gson's built in adapters ////
+
+    protected static String readString(JsonReader in) throws IOException {
+        JsonToken token = in.peek();
+        if (token == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        } else if (token == JsonToken.BOOLEAN) {
+            return Boolean.toString(in.nextBoolean());
+        }
+        return in.nextString();
+    }
+
+    /**
+     * @return The int value, or the fallback if the value is null (primitive fields keep their value).
+     */
+    protected static int readInt(JsonReader in, int fallback) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return fallback;
+        }
+        try {
+            return in.nextInt();
+        } catch (NumberFormatException e) {
+            throw new JsonSyntaxException(e);
+        }
+    }
+
+    /**
+     * @return The long value, or the fallback if the value is null (primitive fields keep their value).
+     */
+    protected static long readLong(JsonReader in, long fallback) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return fallback;
+        }
+        try {
+            return in.nextLong();
+        } catch (NumberFormatException e) {
+            throw new JsonSyntaxException(e);
+        }
+    }
+
+    /**
+     * @return The boolean value, or the fallback if the value is null (primitive fields keep their value).
+     */
+    protected static boolean readBoolean(JsonReader in, boolean fallback) throws IOException {
+        JsonToken token = in.peek();
+        if (token == JsonToken.NULL) {
+            in.nextNull();
+            return fallback;
+        } else if (token == JsonToken.STRING) {
+            return Boolean.parseBoolean(in.nextString());
+        }
+        return in.nextBoolean();
+    }
+
+    protected static ArrayList<String> readStringList(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        ArrayList<String> values = new ArrayList<>();
+        in.beginArray();
+        while (in.hasNext()) {
+            values.add(readString(in));
+        }
+        in.endArray();
+        return values;
+    }
+
+    protected static <E> ArrayList<E> readList(JsonReader in, TypeAdapter<E> elementAdapter) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        ArrayList<E> values = new ArrayList<>();
+        in.beginArray();
+        while (in.hasNext()) {
+            values.add(elementAdapter.read(in));
+        }
+        in.endArray();
+        return values;
+    }
+
+    protected static void writeStringList(JsonWriter out, List<String> values) throws IOException {
+        if (values == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginArray();
+        for (String value : values) {
+            out.value(value);
+        }
+        out.endArray();
+    }
+
+    protected static <E> void writeList(JsonWriter out, List<E> values, TypeAdapter<E> elementAdapter)
+            throws IOException {
+        if (values == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginArray();
+        for (E value : values) {
+            elementAdapter.write(out, value);
+        }
+        out.endArray();
+    }
+}
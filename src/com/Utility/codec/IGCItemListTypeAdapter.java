@@ -0,0 +1,57 @@
+package com.Utility.codec;
+
+import com.dataObjects.IGCItem;
+import com.dataObjects.IGCItemList;
+import com.dataObjects.IGCPaging;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Hand-written TypeAdapter for IGCItemList. See FieldTypeAdapter.
+ */
+class IGCItemListTypeAdapter extends FieldTypeAdapter<IGCItemList> {
+    private final FieldTypeAdapter<IGCPaging> pagingAdapter;
+    private final FieldTypeAdapter<IGCItem> itemAdapter;
+
+    IGCItemListTypeAdapter(FieldTypeAdapter<IGCPaging> pagingAdapter, FieldTypeAdapter<IGCItem> itemAdapter) {
+        this.pagingAdapter = pagingAdapter;
+        this.itemAdapter = itemAdapter;
+    }
+
+    @Override
+    public IGCItemList newInstance() {
+        return new IGCItemList(null, null);
+    }
+
+    @Override
+    protected boolean readField(JsonReader in, String name, IGCItemList target) throws IOException {
+        switch (name) {
+            case "paging":
+                boolean failed = target.isFailedResponse(); // Setters clear failedResponse.
+                target.setPaging(pagingAdapter.read(in));
+                target.setFailedResponse(failed);
+                return true;
+            case "items":
+                failed = target.isFailedResponse();
+                target.setItems(readList(in, itemAdapter));
+                target.setFailedResponse(failed);
+                return true;
+            case "failedResponse":
+                target.setFailedResponse(readBoolean(in, target.isFailedResponse()));
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    @Override
+    protected void writeFields(JsonWriter out, IGCItemList value) throws IOException {
+        out.name("paging");
+        pagingAdapter.write(out, value.getPaging());
+        out.name("items");
+        writeList(out, value.getItems(), itemAdapter);
+        out.name("failedResponse").value(value.isFailedResponse());
+    }
+}
@@ -0,0 +1,44 @@
+package com.Utility.codec;
+
+import com.dataObjects.IGCItem;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Hand-written TypeAdapter for IGCItem. See FieldTypeAdapter.
+ */
+class IGCItemTypeAdapter extends FieldTypeAdapter<IGCItem> {
+
+    @Override
+    public IGCItem newInstance() {
+        return new IGCItem();
+    }
+
+    @Override
+    protected boolean readField(JsonReader in, String name, IGCItem target) throws IOException {
+        switch (name) {
+            case "_name": target.set_name(readString(in)); return true;
+            case "_context": target.set_context(readList(in, this)); return true;
+            case "_type": target.set_type(readString(in)); return true;
+            case "_id": target.set_id(readString(in)); return true;
+            case "_url": target.set_url(readString(in)); return true;
+            case "modified_on": target.setModified_on(readString(in)); return true;
+            case "short_description": target.setShort_description(readString(in)); return true;
+            default: return false;
+        }
+    }
+
+    @Override
+    protected void writeFields(JsonWriter out, IGCItem value) throws IOException {
+        out.name("_name").value(value.get_name());
+        out.name("_context");
+        writeList(out, value.get_context(), this);
+        out.name("_type").value(value.get_type());
+        out.name("_id").value(value.get_id());
+        out.name("_url").value(value.get_url());
+        out.name("modified_on").value(value.getModified_on());
+        out.name("short_description").value(value.getShort_description());
+    }
+}
@@ -0,0 +1,39 @@
+package com.Utility.codec;
+
+import com.dataObjects.IGCPaging;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Hand-written TypeAdapter for IGCPaging. See FieldTypeAdapter.
+ */
+class IGCPagingTypeAdapter extends FieldTypeAdapter<IGCPaging> {
+
+    @Override
+    public IGCPaging newInstance() {
+        return new IGCPaging();
+    }
+
+    @Override
+    protected boolean readField(JsonReader in, String name, IGCPaging target) throws IOException {
+        switch (name) {
+            case "numTotal": target.setNumTotal(readInt(in, target.getNumTotal())); return true;
+            case "next": target.setNext(readString(in)); return true;
+            case "pageSize": target.setPageSize(readInt(in, target.getPageSize())); return true;
+            case "end": target.setEnd(readInt(in, target.getEnd())); return true;
+            case "begin": target.setBegin(readInt(in, target.getBegin())); return true;
+            default: return false;
+        }
+    }
+
+    @Override
+    protected void writeFields(JsonWriter out, IGCPaging value) throws IOException {
+        out.name("numTotal").value(value.getNumTotal());
+        out.name("next").value(value.getNext());
+        out.name("pageSize").value(value.getPageSize());
+        out.name("end").value(value.getEnd());
+        out.name("begin").value(value.getBegin());
+    }
+}
@@ -0,0 +1,41 @@
+package com.Utility.codec;
+
+import com.dataObjects.requests.PostCondition;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Hand-written TypeAdapter for PostCondition. See FieldTypeAdapter.
+ */
+class PostConditionTypeAdapter extends FieldTypeAdapter<PostCondition> {
+
+    @Override
+    public PostCondition newInstance() {
+        return new PostCondition();
+    }
+
+    @Override
+    protected boolean readField(JsonReader in, String name, PostCondition target) throws IOException {
+        switch (name) {
+            case "property": target.setProperty(readString(in)); return true;
+            case "operator": target.setOperator(readString(in)); return true;
+            case "value": target.setValue(readString(in)); return true;
+            case "negated": target.setNegated(readBoolean(in, target.isNegated())); return true;
+            case "min": target.setMin(readLong(in, target.getMin())); return true;
+            case "max": target.setMax(readLong(in, target.getMax())); return true;
+            default: return false;
+        }
+    }
+
+    @Override
+    protected void writeFields(JsonWriter out, PostCondition value) throws IOException {
+        out.name("property").value(value.getProperty());
+        out.name("operator").value(value.getOperator());
+        out.name("value").value(value.getValue());
+        out.name("negated").value(value.isNegated());
+        out.name("min").value(value.getMin());
+        out.name("max").value(value.getMax());
+    }
+}
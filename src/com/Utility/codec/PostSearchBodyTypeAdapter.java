@@ -0,0 +1,48 @@
+package com.Utility.codec;
+
+import com.dataObjects.requests.PostSearchBody;
+import com.dataObjects.requests.PostWhere;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Hand-written TypeAdapter for PostSearchBody. See FieldTypeAdapter.
+ */
+class PostSearchBodyTypeAdapter extends FieldTypeAdapter<PostSearchBody> {
+    private final FieldTypeAdapter<PostWhere> whereAdapter;
+
+    PostSearchBodyTypeAdapter(FieldTypeAdapter<PostWhere> whereAdapter) {
+        this.whereAdapter = whereAdapter;
+    }
+
+    @Override
+    public PostSearchBody newInstance() {
+        PostSearchBody body = new PostSearchBody(null, null, null, null, 0);
+        body.setWhere(null);
+        return body;
+    }
+
+    @Override
+    protected boolean readField(JsonReader in, String name, PostSearchBody target) throws IOException {
+        switch (name) {
+            case "properties": target.setProperties(readStringList(in)); return true;
+            case "types": target.setTypes(readStringList(in)); return true;
+            case "where": target.setWhere(whereAdapter.read(in)); return true;
+            case "pageSize": target.setPageSize(readInt(in, target.getPageSize())); return true;
+            default: return false;
+        }
+    }
+
+    @Override
+    protected void writeFields(JsonWriter out, PostSearchBody value) throws IOException {
+        out.name("properties");
+        writeStringList(out, value.getProperties());
+        out.name("types");
+        writeStringList(out, value.getTypes());
+        out.name("where");
+        whereAdapter.write(out, value.getWhere());
+        out.name("pageSize").value(value.getPageSize());
+    }
+}
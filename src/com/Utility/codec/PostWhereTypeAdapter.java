@@ -0,0 +1,40 @@
+package com.Utility.codec;
+
+import com.dataObjects.requests.PostCondition;
+import com.dataObjects.requests.PostWhere;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Hand-written TypeAdapter for PostWhere. See FieldTypeAdapter.
+ */
+class PostWhereTypeAdapter extends FieldTypeAdapter<PostWhere> {
+    private final FieldTypeAdapter<PostCondition> conditionAdapter;
+
+    PostWhereTypeAdapter(FieldTypeAdapter<PostCondition> conditionAdapter) {
+        this.conditionAdapter = conditionAdapter;
+    }
+
+    @Override
+    public PostWhere newInstance() {
+        return new PostWhere();
+    }
+
+    @Override
+    protected boolean readField(JsonReader in, String name, PostWhere target) throws IOException {
+        switch (name) {
+            case "conditions": target.setConditions(readList(in, conditionAdapter)); return true;
+            case "operator": target.setOperator(readString(in)); return true;
+            default: return false;
+        }
+    }
+
+    @Override
+    protected void writeFields(JsonWriter out, PostWhere value) throws IOException {
+        out.name("conditions");
+        writeList(out, value.getConditions(), conditionAdapter);
+        out.name("operator").value(value.getOperator());
+    }
+}
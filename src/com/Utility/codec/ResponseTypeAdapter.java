@@ -0,0 +1,38 @@
+package com.Utility.codec;
+
+import com.dataObjects.requests.Response;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Hand-written TypeAdapter for Response. See FieldTypeAdapter.
+ * The decoded body and content length are not written, only the message.
+ */
+class ResponseTypeAdapter extends FieldTypeAdapter<Response> {
+
+    @Override
+    public Response newInstance() {
+        return new Response(null, null, 0, null);
+    }
+
+    @Override
+    protected boolean readField(JsonReader in, String name, Response target) throws IOException {
+        switch (name) {
+            case "message": target.setMessage(readString(in)); return true;
+            case "_id": target.set_id(readString(in)); return true;
+            case "responseCode": target.setResponseCode(readInt(in, target.getResponseCode())); return true;
+            case "codeMessage": target.setCodeMessage(readString(in)); return true;
+            default: return false;
+        }
+    }
+
+    @Override
+    protected void writeFields(JsonWriter out, Response value) throws IOException {
+        out.name("message").value(value.getMessage()); // Builds the message of a decoded body.
+        out.name("_id").value(value.get_id());
+        out.name("responseCode").value(value.getResponseCode());
+        out.name("codeMessage").value(value.getCodeMessage());
+    }
+}
@@ -0,0 +1,103 @@
+package com.Utility.codec;
+
+import com.dataObjects.IGCItem;
+import com.dataObjects.IGCItemList;
+import com.dataObjects.Term;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Hand-written TypeAdapter for Term. See FieldTypeAdapter.
+ * TODO *** New custom fields added to Term will need to be added here too ***
+ */
+class TermTypeAdapter extends FieldTypeAdapter<Term> {
+    private final FieldTypeAdapter<IGCItem> itemAdapter;
+    private final FieldTypeAdapter<IGCItemList> itemListAdapter;
+
+    TermTypeAdapter(FieldTypeAdapter<IGCItem> itemAdapter, FieldTypeAdapter<IGCItemList> itemListAdapter) {
+        this.itemAdapter = itemAdapter;
+        this.itemListAdapter = itemListAdapter;
+    }
+
+    @Override
+    public Term newInstance() {
+        return new Term();
+    }
+
+    @Override
+    protected boolean readField(JsonReader in, String name, Term target) throws IOException {
+        switch (name) {
+            case "_type": target.set_type(readString(in)); return true;
+            case "name": target.setName(readString(in)); return true;
+            case "short_description": target.setShort_description(readString(in)); return true;
+            case "long_description": target.setLong_description(readString(in)); return true;
+            case "parent_category": target.setParent_category(itemAdapter.read(in)); return true;
+            case "status": target.setStatus(readString(in)); return true;
+            case "abbreviation": target.setAbbreviation(readString(in)); return true;
+            case "additional_abbreviation": target.setAdditional_abbreviation(readString(in)); return true;
+            case "example": target.setExample(readString(in)); return true;
+            case "stewards": target.setStewards(itemListAdapter.read(in)); return true;
+            case "usage": target.setUsage(readString(in)); return true;
+            case "has_types": target.setHas_types(itemListAdapter.read(in)); return true;
+            case "is_a_type_of": target.setIs_a_type_of(itemListAdapter.read(in)); return true;
+            case "custom_Owner": target.setCustom_Owner(readString(in)); return true;
+            case "custom_Organization": target.setCustom_Organization(readStringList(in)); return true;
+            case "custom_Database_Name": target.setCustom_Database_Name(readString(in)); return true;
+            case "custom_Business_Types": target.setCustom_Business_Types(readStringList(in)); return true;
+            case "type": target.setType(readString(in)); return true;
+            case "is_modifier": target.setIs_modifier(readString(in)); return true;
+            case "modified_on": target.setModified_on(readString(in)); return true;
+            case "_name": target.set_name(readString(in)); return true;
+            case "created_by": target.setCreated_by(readString(in)); return true;
+            case "created_on": target.setCreated_on(readString(in)); return true;
+            case "_context": target.set_context(readList(in, itemAdapter)); return true;
+            case "category_path": target.setCategory_path(itemListAdapter.read(in)); return true;
+            case "modified_by": target.setModified_by(readString(in)); return true;
+            case "_id": target.set_id(readString(in)); return true;
+            case "_url": target.set_url(readString(in)); return true;
+            default: return false;
+        }
+    }
+
+    @Override
+    protected void writeFields(JsonWriter out, Term value) throws IOException {
+        out.name("_type").value(value.get_type());
+        out.name("name").value(value.getName());
+        out.name("short_description").value(value.getShort_description());
+        out.name("long_description").value(value.getLong_description());
+        out.name("parent_category");
+        itemAdapter.write(out, value.getParent_category());
+        out.name("status").value(value.getStatus());
+        out.name("abbreviation").value(value.getAbbreviation());
+        out.name("additional_abbreviation").value(value.getAdditional_abbreviation());
+        out.name("example").value(value.getExample());
+        out.name("stewards");
+        itemListAdapter.write(out, value.getStewards());
+        out.name("usage").value(value.getUsage());
+        out.name("has_types");
+        itemListAdapter.write(out, value.getHas_types());
+        out.name("is_a_type_of");
+        itemListAdapter.write(out, value.getIs_a_type_of());
+        out.name("custom_Owner").value(value.getCustom_Owner());
+        out.name("custom_Organization");
+        writeStringList(out, value.getCustom_Organization());
+        out.name("custom_Database_Name").value(value.getCustom_Database_Name());
+        out.name("custom_Business_Types");
+        writeStringList(out, value.getCustom_Business_Types());
+        out.name("type").value(value.getType());
+        out.name("is_modifier").value(value.getIs_modifier());
+        out.name("modified_on").value(value.getModified_on());
+        out.name("_name").value(value.get_name());
+        out.name("created_by").value(value.getCreated_by());
+        out.name("created_on").value(value.getCreated_on());
+        out.name("_context");
+        writeList(out, value.get_context(), itemAdapter);
+        out.name("category_path");
+        itemListAdapter.write(out, value.getCategory_path());
+        out.name("modified_by").value(value.getModified_by());
+        out.name("_id").value(value.get_id());
+        out.name("_url").value(value.get_url());
+    }
+}
@@ -24,6 +24,42 @@ public class Args {
     @Parameter(names = {"-pw", "-password"}, description = "Password for all HTTP requests", password = true, order=3)
     private String password;
 
+    @Parameter(names = "-legacyHttp", description = "Use one HttpURLConnection per request instead of the pooled HttpClient", order=4)
+    private boolean legacyHttp = false;
+
+    @Parameter(names = "-mock", description = "Run against an embedded mock IGC server with this many generated terms, instead of -url", order=5)
+    private int mockTerms = -1;
+
+    @Parameter(names = "-mockLatency", description = "Mock server: milliseconds added to every response (plus up to half as much jitter)", order=6)
+    private long mockLatency = 0;
+
+    @Parameter(names = "-mockErrorRate", description = "Mock server: fraction of requests answered with 503 (0 to 1)", order=7)
+    private double mockErrorRate = 0;
+
+    @Parameter(names = "-mockBandwidth", description = "Mock server: bytes per second of each response, 0 for unlimited", order=8)
+    private long mockBandwidth = 0;
+
+    @Parameter(names = "-slowMillis", description = "Log requests taking at least this many milliseconds, with their phase timings. 0 to log none", order=9)
+    private long slowMillis = 0;
+
+    @Parameter(names = "-import", description = "Create the terms and categories of a CSV or JSONL file (see BulkImporter) instead of running the tests", order=10)
+    private String importFile;
+
+    @Parameter(names = "-importWorkers", description = "Import: number of concurrent creates", order=11)
+    private int importWorkers = 8;
+
+    @Parameter(names = "-importRate", description = "Import: maximum creates per second, 0 for unlimited", order=12)
+    private double importRate = 0;
+
+    @Parameter(names = "-importCheckpoint", description = "Import: file recording created rows, to resume from. Default is the import file + '.checkpoint'", order=13)
+    private String importCheckpoint;
+
+    @Parameter(names = "-export", description = "Export every category and term to a JSONL file (gzip compressed if it ends with '.gz') instead of running the tests", order=14)
+    private String exportFile;
+
+    @Parameter(names = "-exportHydrate", description = "Export: write the full Term / Category of each resource rather than its listing item", order=15)
+    private boolean exportHydrate = false;
+
     public boolean isHelp() {
         return help;
     }
@@ -47,4 +83,52 @@ public class Args {
     public String getPassword() {
         return password;
     }
+
+    public boolean isLegacyHttp() {
+        return legacyHttp;
+    }
+
+    public int getMockTerms() {
+        return mockTerms;
+    }
+
+    public long getMockLatency() {
+        return mockLatency;
+    }
+
+    public double getMockErrorRate() {
+        return mockErrorRate;
+    }
+
+    public long getMockBandwidth() {
+        return mockBandwidth;
+    }
+
+    public long getSlowMillis() {
+        return slowMillis;
+    }
+
+    public String getImportFile() {
+        return importFile;
+    }
+
+    public int getImportWorkers() {
+        return importWorkers;
+    }
+
+    public double getImportRate() {
+        return importRate;
+    }
+
+    public String getImportCheckpoint() {
+        return importCheckpoint;
+    }
+
+    public String getExportFile() {
+        return exportFile;
+    }
+
+    public boolean isExportHydrate() {
+        return exportHydrate;
+    }
 }
@@ -0,0 +1,359 @@
+package com.common;
+
+import com.Utility.Utility;
+import com.dataObjects.Category;
+import com.dataObjects.IGCItemList;
+import com.dataObjects.IGCResource;
+import com.dataObjects.Term;
+import com.dataObjects.requests.PostCondition;
+import com.dataObjects.requests.Response;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Asynchronous counterpart of URLConnection.
+ * Every method mirrors the URLConnection method of the same name, but runs it on a shared executor and
+ * returns a CompletableFuture instead of blocking the calling thread.
+ *
+ * By default the executor runs each call on its own virtual thread (JDK 21+), so hundreds of concurrent
+ * lookups do not each park a platform thread. On older JDKs a cached platform thread pool is used.
+ * A custom Executor can be supplied instead.
+ *
+ * Exceptions thrown by the URLConnection method (IOException, IllegalArgumentException, ...) complete the
+ * returned future exceptionally, wrapped in a CompletionException.
+ * Deprecated URLConnection methods (get, getTermParentId, getCategoryParentId) have no async version.
+ */
+public class AsyncIGCClient implements AutoCloseable {
+    /**
+     * URLConnection that all calls are delegated to.
+     */
+    private final URLConnection connection;
+    /**
+     * Executor that the blocking calls run on.
+     */
+    private final Executor executor;
+    /**
+     * Set when the executor was created by this client, and so must be shut down by close().
+     */
+    private final ExecutorService ownedExecutor;
+
+    //// Constructors ////
+
+    /**
+     * Create a new AsyncIGCClient running calls on virtual threads (or a cached thread pool before JDK 21).
+     * @param connection URLConnection to delegate all calls to.
+     */
+    public AsyncIGCClient(URLConnection connection) {
+        this.connection = connection;
+        this.ownedExecutor = Utility.newTaskExecutor("igc-async");
+        this.executor = this.ownedExecutor;
+    }
+
+    /**
+     * Create a new AsyncIGCClient running calls on the given executor.
+     * @param connection URLConnection to delegate all calls to.
+     * @param executor Executor to run calls on. Not shut down by close().
+     */
+    public AsyncIGCClient(URLConnection connection, Executor executor) {
+        this.connection = connection;
+        this.executor = executor;
+        this.ownedExecutor = null;
+    }
+
+    ////// END CONSTRUCTORS ///////
+
+    /**
+     * Run a blocking URLConnection call on the executor.
+     * @param call Call to make.
+     * @return CompletableFuture completed with the call's result, or exceptionally with its exception.
+     */
+    private <T> CompletableFuture<T> submit(Callable<T> call) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return call.call();
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        }, this.executor);
+    }
+
+    /**
+     * @return The URLConnection all calls are delegated to.
+     */
+    public URLConnection getConnection() {
+        return connection;
+    }
+
+    //////// GET METHODS ////////
+
+    /**
+     * Async version of URLConnection.getIGCTermById().
+     * @param id ID of Term to request.
+     * @return Future of the Term. See URLConnection.getIGCTermById().
+     */
+    public CompletableFuture<Term> getIGCTermById(String id) {
+        return submit(() -> connection.getIGCTermById(id));
+    }
+
+    /**
+     * Async version of URLConnection.getIGCCategoryById().
+     * @param id ID of Category to request.
+     * @return Future of the Category. See URLConnection.getIGCCategoryById().
+     */
+    public CompletableFuture<Category> getIGCCategoryById(String id) {
+        return submit(() -> connection.getIGCCategoryById(id));
+    }
+
+    /**
+     * Async version of URLConnection.getIGCResourceById().
+     * @param id ID of resource to request.
+     * @return Future of the IGCResource. See URLConnection.getIGCResourceById().
+     */
+    public CompletableFuture<IGCResource> getIGCResourceById(String id) {
+        return submit(() -> connection.getIGCResourceById(id));
+    }
+
+    /**
+     * Async version of URLConnection.getIGCResourcesByIds().
+     * @param ids IDs of resources to get.
+     * @return Future of a Map of id to IGCResource. See URLConnection.getIGCResourcesByIds().
+     */
+    public CompletableFuture<Map<String, IGCResource>> getIGCResourcesByIds(Collection<String> ids) {
+        return submit(() -> connection.getIGCResourcesByIds(ids));
+    }
+
+    /**
+     * Async version of URLConnection.getResourceParentId().
+     * @param id ID of resource to look up parent's ID.
+     * @return Future of the parent category's ID.
+     */
+    public CompletableFuture<String> getResourceParentId(String id) {
+        return submit(() -> connection.getResourceParentId(id));
+    }
+
+    /**
+     * Async version of URLConnection.getIGCCategoryList().
+     * @param pageSize How many categories to return.
+     * @return Future of an IGCItemList of categories.
+     */
+    public CompletableFuture<IGCItemList> getIGCCategoryList(int pageSize) {
+        return submit(() -> connection.getIGCCategoryList(pageSize));
+    }
+
+    /**
+     * Async version of URLConnection.getIGCTermList().
+     * @param pageSize How many terms to return.
+     * @return Future of an IGCItemList of terms.
+     */
+    public CompletableFuture<IGCItemList> getIGCTermList(int pageSize) {
+        return submit(() -> connection.getIGCTermList(pageSize));
+    }
+
+    /**
+     * Async version of URLConnection.isResourceOfType().
+     * @param id ID of Resource to check.
+     * @param type Type to check Resource against.
+     * @return Future of whether the Resource matches the type.
+     */
+    public CompletableFuture<Boolean> isResourceOfType(String id, String type) {
+        return submit(() -> connection.isResourceOfType(id, type));
+    }
+
+    //// PUT METHODS - Update ////
+
+    /**
+     * Async version of URLConnection.updateIGCResource().
+     * @param id ID of the resource to update.
+     * @param updateResource IGC object whose properties will be applied to the existing resource.
+     * @return Future of the Response from the API request.
+     */
+    public CompletableFuture<Response> updateIGCResource(String id, IGCResource updateResource) {
+        return submit(() -> connection.updateIGCResource(id, updateResource));
+    }
+
+    /**
+     * Async version of URLConnection.updateIGCResource(String, IGCResource, IGCResource).
+     * @param id ID of the resource to update.
+     * @param original The resource as it is in IGC.
+     * @param modified The resource as it should be.
+     * @return Future of the Response from the API request, or of a local 204 Response if nothing changed.
+     */
+    public CompletableFuture<Response> updateIGCResource(String id, IGCResource original, IGCResource modified) {
+        return submit(() -> connection.updateIGCResource(id, original, modified));
+    }
+
+    /**
+     * Async version of URLConnection.updateIGCTermName().
+     * @param id ID of the term to update.
+     * @param name New name for the term.
+     * @return Future of the Response from the API request.
+     */
+    public CompletableFuture<Response> updateIGCTermName(String id, String name) {
+        return submit(() -> connection.updateIGCTermName(id, name));
+    }
+
+    /**
+     * Async version of URLConnection.updateIGCCategoryName().
+     * @param id ID of the category to update.
+     * @param name New name for the category.
+     * @return Future of the Response from the API request.
+     */
+    public CompletableFuture<Response> updateIGCCategoryName(String id, String name) {
+        return submit(() -> connection.updateIGCCategoryName(id, name));
+    }
+
+    //// POST METHODS - Create and Search ////
+
+    /**
+     * Async version of URLConnection.createIGCResource().
+     * @param newResource IGCResource object to POST to the API.
+     * @return Future of the Response from the API request.
+     */
+    public CompletableFuture<Response> createIGCResource(IGCResource newResource) {
+        return submit(() -> connection.createIGCResource(newResource));
+    }
+
+    /**
+     * Async version of URLConnection.searchIGC().
+     * @param types List of types to search for.
+     * @param conditions List of PostCondition objects, each of which define a search condition.
+     * @param operator Boolean operator ('or', 'and') for search conditions.
+     * @return Future of the search Response.
+     */
+    public CompletableFuture<Response> searchIGC(List<String> types, List<PostCondition> conditions,
+                                                 String operator) {
+        return submit(() -> connection.searchIGC(types, conditions, operator));
+    }
+
+    /**
+     * Async version of URLConnection.searchIGC(List, List, String, List).
+     * @param types List of types to search for.
+     * @param conditions List of PostCondition objects, each of which define a search condition.
+     * @param operator Boolean operator ('or', 'and') for search conditions.
+     * @param properties List of properties to return for each result, in addition to IGC's basic set.
+     * @return Future of the search Response.
+     */
+    public CompletableFuture<Response> searchIGC(List<String> types, List<PostCondition> conditions,
+                                                 String operator, List<String> properties) {
+        return submit(() -> connection.searchIGC(types, conditions, operator, properties));
+    }
+
+    /**
+     * Async version of URLConnection.searchIGC(List, List, String, List, int).
+     * @param types List of types to search for.
+     * @param conditions List of PostCondition objects, each of which define a search condition.
+     * @param operator Boolean operator ('or', 'and') for search conditions.
+     * @param properties List of properties to return for each result, in addition to IGC's basic set.
+     * @param pageSize Number of results per page. Only the first page is returned.
+     * @return Future of the search Response.
+     */
+    public CompletableFuture<Response> searchIGC(List<String> types, List<PostCondition> conditions,
+                                                 String operator, List<String> properties, int pageSize) {
+        return submit(() -> connection.searchIGC(types, conditions, operator, properties, pageSize));
+    }
+
+    /**
+     * Async version of URLConnection.searchIGCResource().
+     * @param searchTerm String to search for in IGC Resources.
+     * @return Future of an IGCItemList of search results.
+     */
+    public CompletableFuture<IGCItemList> searchIGCResource(String searchTerm) {
+        return submit(() -> connection.searchIGCResource(searchTerm));
+    }
+
+    /**
+     * Async version of URLConnection.searchIGCResourceName().
+     * @param name Name to search for.
+     * @return Future of an IGCItemList of search results.
+     */
+    public CompletableFuture<IGCItemList> searchIGCResourceName(String name) {
+        return submit(() -> connection.searchIGCResourceName(name));
+    }
+
+    /**
+     * Async version of URLConnection.searchIGCResourceModifiedBetween().
+     * @param min String of lower bound time: 'yyyy/MM/dd HH:mm:ss'.
+     * @param max String of upper bound time: 'yyyy/MM/dd HH:mm:ss'.
+     * @return Future of an IGCItemList of search results.
+     */
+    public CompletableFuture<IGCItemList> searchIGCResourceModifiedBetween(String min, String max) {
+        return submit(() -> connection.searchIGCResourceModifiedBetween(min, max));
+    }
+
+    /**
+     * Async version of URLConnection.searchIGCResourceCreatedBetween().
+     * @param min String of lower bound time: 'yyyy/MM/dd HH:mm:ss'.
+     * @param max String of upper bound time: 'yyyy/MM/dd HH:mm:ss'.
+     * @return Future of an IGCItemList of search results.
+     */
+    public CompletableFuture<IGCItemList> searchIGCResourceCreatedBetween(String min, String max) {
+        return submit(() -> connection.searchIGCResourceCreatedBetween(min, max));
+    }
+
+    /**
+     * Async version of URLConnection.searchIGCResourceByUser().
+     * @param name Name of the user to search resources for.
+     * @return Future of an IGCItemList of search results.
+     */
+    public CompletableFuture<IGCItemList> searchIGCResourceByUser(String name) {
+        return submit(() -> connection.searchIGCResourceByUser(name));
+    }
+
+    /**
+     * Async version of URLConnection.searchIGCResourceCustom().
+     * @param property Property to search the IGC API for.
+     * @param name Search term.
+     * @return Future of an IGCItemList of search results.
+     */
+    public CompletableFuture<IGCItemList> searchIGCResourceCustom(String property, String name) {
+        return submit(() -> connection.searchIGCResourceCustom(property, name));
+    }
+
+    /**
+     * Async version of URLConnection.searchIGCResourceNullProp().
+     * @param property Property that results must be missing.
+     * @return Future of an IGCItemList of search results.
+     */
+    public CompletableFuture<IGCItemList> searchIGCResourceNullProp(String property) {
+        return submit(() -> connection.searchIGCResourceNullProp(property));
+    }
+
+    /**
+     * Async version of URLConnection.searchIGCCategoryName().
+     * @param name Name of the categories to find.
+     * @return Future of an IGCItemList of the categories with exactly that name.
+     */
+    public CompletableFuture<IGCItemList> searchIGCCategoryName(String name) {
+        return submit(() -> connection.searchIGCCategoryName(name));
+    }
+
+    //// DELETE METHODS - Delete ////
+
+    /**
+     * Async version of URLConnection.deleteIGCResource() (cannot be undone!)
+     * @param id ID of resource to delete.
+     * @return Future of the Response from the API request.
+     */
+    public CompletableFuture<Response> deleteIGCResource(String id) {
+        return submit(() -> connection.deleteIGCResource(id));
+    }
+
+    /**
+     * Shut down the executor if it was created by this client. Calls already submitted still complete.
+     */
+    @Override
+    public void close() {
+        if (this.ownedExecutor != null) {
+            this.ownedExecutor.shutdown();
+        }
+    }
+}
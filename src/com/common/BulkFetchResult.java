@@ -0,0 +1,103 @@
+package com.common;
+
+import com.dataObjects.IGCResource;
+
+/**
+ * Outcome of fetching one id with a BulkFetcher: the IGCResource, or why it could not be fetched.
+ * Either getResource() is non-null (isSuccess()), or the fetch failed with an error response (getResponseCode())
+ * or an exception (getError()).
+ */
+public class BulkFetchResult {
+    private final String id;
+    private final IGCResource resource;
+    private final int responseCode;
+    private final String codeMessage;
+    private final Exception error;
+    private final long latencyNanos;
+
+    private BulkFetchResult(String id, IGCResource resource, int responseCode, String codeMessage, Exception error,
+                            long latencyNanos) {
+        this.id = id;
+        this.resource = resource;
+        this.responseCode = responseCode;
+        this.codeMessage = codeMessage;
+        this.error = error;
+        this.latencyNanos = latencyNanos;
+    }
+
+    /**
+     * @return Result of an id whose request received a response, successful or not.
+     */
+    static BulkFetchResult of(String id, IGCResource resource, int responseCode, String codeMessage,
+                              long latencyNanos) {
+        return new BulkFetchResult(id, resource, responseCode, codeMessage, null, latencyNanos);
+    }
+
+    /**
+     * @return Result of an id whose request failed without a usable response.
+     */
+    static BulkFetchResult failed(String id, Exception error, long latencyNanos) {
+        return new BulkFetchResult(id, null, -1, null, error, latencyNanos);
+    }
+
+    /**
+     * @return The id that was fetched.
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * @return The fetched IGCResource, or null if the fetch failed.
+     */
+    public IGCResource getResource() {
+        return resource;
+    }
+
+    /**
+     * @return HTTP status code of the response (304 if a cached resource was revalidated, 200 if it was served
+     *         from the cache), or -1 if no response was received.
+     */
+    public int getResponseCode() {
+        return responseCode;
+    }
+
+    /**
+     * @return Reason phrase of the response code, or null if no response was received.
+     */
+    public String getCodeMessage() {
+        return codeMessage;
+    }
+
+    /**
+     * @return Exception that failed the fetch (IOException, CircuitOpenException, IllegalArgumentException if
+     *         the resource's '_type' has no Java Object, ...), or null.
+     */
+    public Exception getError() {
+        return error;
+    }
+
+    /**
+     * @return Time taken to fetch the id, from the start of its request to its result.
+     */
+    public long getLatencyNanos() {
+        return latencyNanos;
+    }
+
+    /**
+     * @return Whether the IGCResource was fetched.
+     */
+    public boolean isSuccess() {
+        return resource != null;
+    }
+
+    @Override
+    public String toString() {
+        if (isSuccess()) {
+            return id + ": " + resource.get_type() + " '" + resource.get_name() + "'";
+        } else if (error != null) {
+            return id + ": failed: " + error;
+        }
+        return id + ": failed: " + responseCode + " - " + codeMessage;
+    }
+}
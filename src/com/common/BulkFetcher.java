@@ -0,0 +1,288 @@
+package com.common;
+
+import com.Utility.Utility;
+import com.dataObjects.IGCResource;
+import com.dataObjects.requests.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
+
+/**
+ * Fetches large numbers of IGCResources by id, many at a time.
+ * Ids are read lazily from a Collection, an Iterator or a file, and each is fetched (as getIGCResourceById()
+ * would, cache included) on its own task of a virtual-thread-per-task executor (a cached platform thread pool
+ * before JDK 21, see Utility.newTaskExecutor()). At most 'window' fetches are in flight at once, and the
+ * ResilientTransport's 'assets' ConcurrencyLimiter may hold them to fewer.
+ *
+ * Results are handed back in completion order, one at a time on the calling thread, to a callback or a
+ * BlockingQueue. An id that cannot be fetched gives a failed BulkFetchResult (status code or exception) rather
+ * than stopping the others. Ids are not de-duplicated.
+ *
+ * Requests are recorded in the RequestMetrics under the 'bulkFetch' operation.
+ */
+public class BulkFetcher {
+    /**
+     * Default number of fetches in flight at once.
+     */
+    public static final int DEFAULT_WINDOW = 64;
+    /**
+     * Name the requests are recorded under in the RequestMetrics.
+     */
+    static final String OPERATION = "bulkFetch";
+
+    /**
+     * URLConnection the ids are fetched with.
+     */
+    private final URLConnection connection;
+    /**
+     * Maximum number of fetches in flight at once.
+     */
+    private final int window;
+
+    /**
+     * SLF4J logger initialization.
+     */
+    private final Logger logger = LoggerFactory.getLogger(BulkFetcher.class);
+
+    /**
+     * Create a BulkFetcher with DEFAULT_WINDOW fetches in flight.
+     * @param connection URLConnection to fetch with.
+     */
+    public BulkFetcher(URLConnection connection) {
+        this(connection, DEFAULT_WINDOW);
+    }
+
+    /**
+     * Create a BulkFetcher.
+     * @param connection URLConnection to fetch with.
+     * @param window Maximum number of fetches in flight at once. At least 1.
+     */
+    public BulkFetcher(URLConnection connection, int window) {
+        if (window < 1) {
+            throw new IllegalArgumentException("The window must be at least 1: " + window);
+        }
+        this.connection = connection;
+        this.window = window;
+    }
+
+    /**
+     * Fetch every id in a Collection. See fetch(Iterator, Consumer).
+     * @param ids IDs of the resources to fetch.
+     * @param callback Called with the result of each id, in completion order.
+     * @return Summary of the fetch.
+     * @throws InterruptedIOException: Thrown if interrupted. Fetches in flight are cancelled.
+     */
+    public Summary fetch(Iterable<String> ids, Consumer<? super BulkFetchResult> callback)
+            throws InterruptedIOException {
+        return fetch(ids.iterator(), callback);
+    }
+
+    /**
+     * Fetch every id in a file. See fetch(Iterator, Consumer).
+     * @param idFile UTF-8 text file of one id per line. Blank lines and lines starting with '#' are skipped.
+     * @param callback Called with the result of each id, in completion order.
+     * @return Summary of the fetch.
+     * @throws IOException: Thrown if the file cannot be read, or if interrupted.
+     */
+    public Summary fetch(Path idFile, Consumer<? super BulkFetchResult> callback) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(idFile, StandardCharsets.UTF_8)) {
+            Iterator<String> ids = reader.lines()
+                    .map(String::trim)
+                    .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+                    .iterator();
+            return fetch(ids, callback);
+        } catch (UncheckedIOException e) { // Thrown by reader.lines() while the ids are read.
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Fetch every id of an Iterator, with at most 'window' fetches in flight, calling the callback with each
+     * result as it completes. Ids are read only as places in the window become free, so the Iterator may be
+     * lazy and unbounded. Returns once every id has been fetched and its result handed to the callback.
+     *
+     * The callback runs on the calling thread, one result at a time, so it needs no synchronization; new fetches
+     * are not started while it runs. If it throws, fetches in flight are cancelled and the exception is rethrown.
+     * @param ids IDs of the resources to fetch.
+     * @param callback Called with the result of each id, in completion order.
+     * @return Summary of the fetch.
+     * @throws InterruptedIOException: Thrown if interrupted. Fetches in flight are cancelled.
+     */
+    public Summary fetch(Iterator<String> ids, Consumer<? super BulkFetchResult> callback)
+            throws InterruptedIOException {
+        long start = System.nanoTime();
+        long succeeded = 0;
+        List<String> failedIds = new ArrayList<>();
+        BlockingQueue<BulkFetchResult> completed = new LinkedBlockingQueue<>();
+        ExecutorService executor = Utility.newTaskExecutor("igc-bulk");
+        int inFlight = 0;
+        try {
+            while (inFlight > 0 || ids.hasNext()) {
+                BulkFetchResult result;
+                if (inFlight < window && ids.hasNext()) {
+                    String id = ids.next();
+                    executor.execute(() -> fetchOne(id, completed));
+                    inFlight++;
+                    result = completed.poll(); // Hand back whatever has completed meanwhile.
+                } else {
+                    result = completed.take();
+                }
+                if (result == null) {
+                    continue;
+                }
+                inFlight--;
+                if (result.isSuccess()) {
+                    succeeded++;
+                } else {
+                    failedIds.add(result.getId());
+                }
+                callback.accept(result);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while fetching IGCResources by id.");
+        } finally {
+            executor.shutdownNow();
+        }
+        Summary summary = new Summary(succeeded, failedIds, System.nanoTime() - start);
+        logger.info("Bulk fetch: " + summary);
+        return summary;
+    }
+
+    /**
+     * Fetch every id of an Iterator, putting each result in a queue as it completes. See fetch(Iterator,
+     * Consumer). A bounded queue slows the fetch down to the pace of its consumer.
+     * @param ids IDs of the resources to fetch.
+     * @param results Queue to put the results in, in completion order.
+     * @return Summary of the fetch, once every result is in the queue.
+     * @throws InterruptedIOException: Thrown if interrupted, including while waiting for room in the queue.
+     */
+    public Summary fetch(Iterator<String> ids, BlockingQueue<? super BulkFetchResult> results)
+            throws InterruptedIOException {
+        try {
+            return fetch(ids, result -> {
+                try {
+                    results.put(result);
+                } catch (InterruptedException e) {
+                    throw new InterruptedRuntimeException();
+                }
+            });
+        } catch (InterruptedRuntimeException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for room in the result queue.");
+        }
+    }
+
+    /**
+     * Fetch one id, turning failures into a failed result.
+     * @param id ID of the resource.
+     * @param completed Queue to add the result to. Always added to, so the id's place in the window is freed.
+     */
+    private void fetchOne(String id, BlockingQueue<BulkFetchResult> completed) {
+        long start = System.nanoTime();
+        BulkFetchResult result = null;
+        try {
+            Response response = connection.getIGCResourceResponse(OPERATION, id);
+            int code = response.getResponseCode();
+            IGCResource resource = code < 300 || code == 304 ? (IGCResource) response.getBody() : null;
+            result = BulkFetchResult.of(id, resource, code, response.getCodeMessage(), System.nanoTime() - start);
+        } catch (IOException | RuntimeException e) {
+            result = BulkFetchResult.failed(id, e, System.nanoTime() - start);
+        } catch (Error e) {
+            result = BulkFetchResult.failed(id, new ExecutionException(e), System.nanoTime() - start);
+            throw e;
+        } finally {
+            completed.add(result);
+        }
+    }
+
+    /**
+     * @return Maximum number of fetches in flight at once.
+     */
+    public int getWindow() {
+        return window;
+    }
+
+    /**
+     * Thrown through the callback to stop a fetch interrupted while waiting on its result queue.
+     */
+    private static class InterruptedRuntimeException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        InterruptedRuntimeException() {
+            super(null, null, false, false);
+        }
+    }
+
+    /**
+     * Counts of a finished bulk fetch.
+     */
+    public static class Summary {
+        private final long succeeded;
+        private final List<String> failedIds;
+        private final long elapsedNanos;
+
+        Summary(long succeeded, List<String> failedIds, long elapsedNanos) {
+            this.succeeded = succeeded;
+            this.failedIds = Collections.unmodifiableList(failedIds);
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        /**
+         * @return Number of ids whose IGCResource was fetched.
+         */
+        public long getSucceeded() {
+            return succeeded;
+        }
+
+        /**
+         * @return Number of ids that could not be fetched.
+         */
+        public long getFailed() {
+            return failedIds.size();
+        }
+
+        /**
+         * @return The ids that could not be fetched, in completion order. For example to fetch them again.
+         */
+        public List<String> getFailedIds() {
+            return failedIds;
+        }
+
+        /**
+         * @return Time taken by the whole fetch.
+         */
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        /**
+         * @return Ids fetched (successfully or not) per second.
+         */
+        public double getIdsPerSecond() {
+            return elapsedNanos <= 0 ? 0 : (succeeded + failedIds.size()) * 1e9 / elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d fetched, %d failed in %.1f s (%.0f ids/s)", succeeded, failedIds.size(),
+                    elapsedNanos / 1e9, getIdsPerSecond());
+        }
+    }
+}
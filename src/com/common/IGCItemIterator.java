@@ -0,0 +1,273 @@
+package com.common;
+
+import com.dataObjects.IGCItem;
+import com.dataObjects.IGCItemList;
+import com.dataObjects.IGCPaging;
+import com.dataObjects.requests.Response;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Lazy Iterator over every IGCItem of a paged search or list result.
+ * The first page is requested on the first call to hasNext().
+ *
+ * Prefetching: Once the first page reveals IGCPaging.numTotal and pageSize, the URLs of every remaining page
+ * are known (IGCPaging.next with its 'begin' parameter moved along). Up to 'prefetchWindow' of those pages are
+ * then requested concurrently, and another is requested each time a page is consumed. Pages are still
+ * returned strictly in order, and at most prefetchWindow + 1 pages are held in memory.
+ * With a window of 0 (or if 'next' has no 'begin' parameter) pages are requested one at a time by following
+ * IGCPaging.next, only once every item of the current page has been returned.
+ *
+ * Since Iterator methods cannot throw checked exceptions:
+ *  - An IOException while requesting a page is re-thrown as an UncheckedIOException.
+ *  - A page request that fails (response code 300 or greater) throws an IllegalStateException, rather than
+ *    silently ending the iteration with results missing.
+ *
+ * Streams from stream() cancel any outstanding page requests when closed.
+ */
+public class IGCItemIterator implements Iterator<IGCItem>, AutoCloseable {
+    /**
+     * Matches the 'begin' query parameter of a page URL.
+     */
+    private static final Pattern BEGIN_PARAMETER = Pattern.compile("([?&]begin=)\\d+");
+
+    /**
+     * URLConnection used to request the following pages.
+     */
+    private final URLConnection connection;
+    /**
+     * Executor that prefetched page requests run on.
+     */
+    private final Executor executor;
+    /**
+     * Maximum number of page requests in flight at once. 0 to request pages one at a time.
+     */
+    private final int prefetchWindow;
+    /**
+     * Request for the first page. Set to null once made.
+     */
+    private Callable<Response> firstPageRequest;
+    /**
+     * Remaining items of the current page.
+     */
+    private Iterator<IGCItem> page = Collections.emptyIterator();
+    /**
+     * URL of the next page when paging one at a time, or null if the current page is the last.
+     */
+    private String next;
+
+    // Prefetch state //
+    /**
+     * Requested pages, in the order they are to be returned.
+     */
+    private final Deque<Future<Response>> pending = new ArrayDeque<>();
+    /**
+     * IGCPaging.next of the first page, used as a template for the URL of every other page.
+     */
+    private String pageUrlTemplate;
+    /**
+     * Index of the first item of the next page to request.
+     */
+    private int nextBegin;
+    /**
+     * Page size reported by the server.
+     */
+    private int pageSize;
+    /**
+     * Total number of results reported by the server.
+     */
+    private int numTotal;
+
+    /**
+     * Create a new IGCItemIterator that requests pages one at a time.
+     * @param connection URLConnection used to request the following pages.
+     * @param firstPageRequest Request for the first page of results, decoded to an IGCItemList (see
+     *                         Response.getBody()).
+     */
+    IGCItemIterator(URLConnection connection, Callable<Response> firstPageRequest) {
+        this(connection, firstPageRequest, null, 0);
+    }
+
+    /**
+     * Create a new IGCItemIterator.
+     * @param connection URLConnection used to request the following pages.
+     * @param firstPageRequest Request for the first page of results, decoded to an IGCItemList (see
+     *                         Response.getBody()).
+     * @param executor Executor to run prefetched page requests on. Unused if prefetchWindow is 0.
+     * @param prefetchWindow Maximum number of page requests in flight at once. 0 to request pages one at a time.
+     */
+    IGCItemIterator(URLConnection connection, Callable<Response> firstPageRequest, Executor executor,
+                    int prefetchWindow) {
+        this.connection = connection;
+        this.firstPageRequest = firstPageRequest;
+        this.executor = executor;
+        this.prefetchWindow = executor == null ? 0 : Math.max(prefetchWindow, 0);
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!page.hasNext()) {
+            boolean firstPage = firstPageRequest != null;
+            Response response;
+            try {
+                if (firstPage) {
+                    Callable<Response> request = firstPageRequest;
+                    firstPageRequest = null;
+                    response = request.call();
+                } else if (!pending.isEmpty()) {
+                    Future<Response> nextPage = pending.poll();
+                    fillWindow();
+                    response = awaitPage(nextPage);
+                } else if (next != null) {
+                    response = connection.getSearchPage(next);
+                } else {
+                    return false;
+                }
+            } catch (IOException e) {
+                close();
+                throw new UncheckedIOException(e);
+            } catch (RuntimeException e) {
+                close();
+                throw e;
+            } catch (Exception e) {
+                close();
+                throw new IllegalStateException("Could not request page of IGC results.", e);
+            }
+
+            if (response.getResponseCode() > 299) {
+                close();
+                throw new IllegalStateException("Received bad response when paging IGC results: " +
+                        response.getResponseCode() + " - " + response.getCodeMessage());
+            }
+            IGCItemList itemList = (IGCItemList) response.getBody();
+            page = itemList.getItems() == null ? Collections.emptyIterator() : itemList.getItems().iterator();
+            if (firstPage) {
+                startPaging(itemList.getPaging());
+            } else if (pageUrlTemplate == null) {
+                next = getNextPageUrl(itemList.getPaging());
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public IGCItem next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return page.next();
+    }
+
+    /**
+     * Cancel any outstanding page requests. The iterator returns no further pages.
+     */
+    @Override
+    public void close() {
+        Future<Response> request;
+        while ((request = pending.poll()) != null) {
+            request.cancel(true);
+        }
+        pageUrlTemplate = null;
+        next = null;
+    }
+
+    /**
+     * @return A sequential, ordered Stream over the remaining items of this iterator.
+     *         Closing the Stream cancels any outstanding page requests.
+     */
+    public Stream<IGCItem> stream() {
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(this::close);
+    }
+
+    /**
+     * Decide how to request the pages after the first one, and start prefetching them if possible.
+     * @param paging Paging info of the first page. May be null.
+     */
+    private void startPaging(IGCPaging paging) {
+        String nextUrl = getNextPageUrl(paging);
+        if (nextUrl == null) {
+            return; // Single page.
+        }
+        if (prefetchWindow == 0 || paging.getPageSize() <= 0 || paging.getNumTotal() <= 0
+                || !BEGIN_PARAMETER.matcher(nextUrl).find()) {
+            next = nextUrl; // Follow IGCPaging.next one page at a time.
+            return;
+        }
+        pageUrlTemplate = nextUrl;
+        pageSize = paging.getPageSize();
+        numTotal = paging.getNumTotal();
+        nextBegin = paging.getEnd() + 1;
+        fillWindow();
+    }
+
+    /**
+     * Request further pages until prefetchWindow requests are in flight or every page has been requested.
+     */
+    private void fillWindow() {
+        while (pageUrlTemplate != null && pending.size() < prefetchWindow && nextBegin < numTotal) {
+            Matcher matcher = BEGIN_PARAMETER.matcher(pageUrlTemplate);
+            String pageUrl = matcher.replaceFirst("$1" + nextBegin);
+            FutureTask<Response> request = new FutureTask<>(() -> connection.getSearchPage(pageUrl));
+            executor.execute(request);
+            pending.add(request);
+            nextBegin += pageSize;
+        }
+    }
+
+    /**
+     * Wait for a prefetched page.
+     * @param request The page request.
+     * @return Response of the page request.
+     * @throws IOException: Thrown by the page request, or if interrupted while waiting.
+     */
+    private static Response awaitPage(Future<Response> request) throws IOException {
+        try {
+            return request.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting on page of IGC results.");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            } else if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Could not request page of IGC results.", e.getCause());
+        }
+    }
+
+    /**
+     * Get the URL of the page after this one.
+     * @param paging Paging info of the current page. May be null.
+     * @return URL of the next page, or null if this is the last page.
+     */
+    private static String getNextPageUrl(IGCPaging paging) {
+        if (paging == null || paging.getNext() == null || paging.getNext().isEmpty()) {
+            return null;
+        }
+        if (paging.getNumTotal() > 0 && paging.getEnd() >= paging.getNumTotal() - 1) {
+            return null; // Already on the last item.
+        }
+        return paging.getNext();
+    }
+}
@@ -1,6 +1,11 @@
 package com.common;
 
 import com.beust.jcommander.JCommander;
+import com.common.bulkimport.BulkImporter;
+import com.common.export.GlossaryExporter;
+import com.common.mock.MockIGCServer;
+import com.common.transport.HttpTransport;
+import com.common.transport.HttpURLConnectionTransport;
 import com.dataObjects.Category;
 import com.dataObjects.IGCItemList;
 import com.dataObjects.IGCResource;
@@ -10,6 +15,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.impl.SimpleLogger;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.Date;
 
 public class Main {
@@ -36,10 +45,77 @@ public class Main {
             }
             logger = LoggerFactory.getLogger(Main.class);
 
-            tests(args.getUrl(), args.isDisableSslVerification(), args.getUsername(), args.getPassword());
+            HttpTransport transport = args.isLegacyHttp() ? new HttpURLConnectionTransport() : null;
+            if (args.getMockTerms() < 0) {
+                run(args, args.getUrl(), args.isDisableSslVerification(), transport);
+                return;
+            }
+            // Run the same tests offline, against an embedded stand-in for IGC.
+            try (MockIGCServer mockServer = startMockServer(args)) {
+                run(args, mockServer.getBaseUrl(), false, transport);
+            } catch (IOException e) {
+                logger.error("Could not start the mock IGC server: " + e);
+            }
         }
     }
 
+    /**
+     * Run the import given by '-import', then the export given by '-export', or the tests if there are neither.
+     * @param args Parsed arguments.
+     * @param url Base URL of API.
+     * @param disableSSL Setting to 'true' will disable SSL Cert verification.
+     * @param transport HttpTransport to send requests through. NULL uses the default pooled HttpClient.
+     */
+    private static void run(Args args, String url, boolean disableSSL, HttpTransport transport) {
+        if (args.getImportFile() == null && args.getExportFile() == null) {
+            tests(url, disableSSL, args.getUsername(), args.getPassword(), transport,
+                    Duration.ofMillis(args.getSlowMillis()));
+            return;
+        }
+        URLConnection connection = new URLConnection(url, disableSSL, args.getUsername(), args.getPassword(),
+                transport);
+        connection.setSlowRequestThreshold(Duration.ofMillis(args.getSlowMillis()));
+        if (args.getImportFile() != null) {
+            Path input = Paths.get(args.getImportFile());
+            BulkImporter importer = new BulkImporter(connection);
+            importer.setWorkers(args.getImportWorkers());
+            importer.setMaxRatePerSecond(args.getImportRate());
+            importer.setCheckpoint(args.getImportCheckpoint() != null ? Paths.get(args.getImportCheckpoint()) :
+                    input.resolveSibling(input.getFileName() + ".checkpoint"));
+            try {
+                importer.importFile(input);
+            } catch (IOException e) {
+                logger.error("Import of " + input + " failed: " + e);
+            }
+        }
+        if (args.getExportFile() != null) {
+            Path output = Paths.get(args.getExportFile());
+            GlossaryExporter exporter = new GlossaryExporter(connection);
+            exporter.setHydrate(args.isExportHydrate());
+            try {
+                exporter.export(output);
+            } catch (IOException e) {
+                logger.error("Export to " + output + " failed: " + e);
+            }
+        }
+        logger.info(connection.getMetrics().toString());
+    }
+
+    /**
+     * Start a MockIGCServer configured from the '-mock...' arguments.
+     * @param args Parsed arguments.
+     * @return The started server.
+     * @throws IOException: Thrown if the server cannot be started.
+     */
+    private static MockIGCServer startMockServer(Args args) throws IOException {
+        MockIGCServer mockServer = new MockIGCServer(args.getMockTerms());
+        mockServer.setLatency(Duration.ofMillis(args.getMockLatency()), Duration.ofMillis(args.getMockLatency() / 2));
+        mockServer.setErrorRate(args.getMockErrorRate(), 503);
+        mockServer.setBandwidth(args.getMockBandwidth());
+        mockServer.start();
+        return mockServer;
+    }
+
     private static void tests2(String url, boolean disableSSL, String username, String password) {
         // Base URL for IGC API at time of code creation (2019/03/19).
         String apiUrl = "https://ec2-3-83-75-69.compute-1.amazonaws.com:9443/ibm/iis/igc-rest/v1/";
@@ -78,8 +154,11 @@ public class Main {
      * @param disableSSL Setting to 'true' will disable SSL Cert verification.
      * @param username Username to be used for HTTP requests.
      * @param password Password to be used for HTTP requests.
+     * @param transport HttpTransport to send requests through. NULL uses the default pooled HttpClient.
+     * @param slowRequestThreshold Requests taking at least this long are logged with their timings. 0 for none.
      */
-    private static void tests(String url, boolean disableSSL, String username, String password) {
+    private static void tests(String url, boolean disableSSL, String username, String password,
+                              HttpTransport transport, Duration slowRequestThreshold) {
         // Base URL for IGC API at time of code creation (2019/03/19).
         String apiUrl = "https://ec2-3-83-75-69.compute-1.amazonaws.com:9443/ibm/iis/igc-rest/v1/";
 
@@ -102,7 +181,8 @@ public class Main {
 //            logger.info("---- BEGINNING TEST2 ----\n");
 //            // Establish URLConnection object with base URL.
             URLConnection connection = new URLConnection(url, disableSSL,
-                    username, password);
+                    username, password, transport);
+            connection.setSlowRequestThreshold(slowRequestThreshold);
 //            // Call the GET method for the object, appending the base URL (with specifics).
 //            String getTest2 = connection.get("search/?types=category", true);
 //            logger.info("---- ENDING TEST2 ----\n");
@@ -365,6 +445,7 @@ public class Main {
 //            test_num++;
 
             System.out.println("Testing complete: Completed " + (test_num-1) + " tests.");
+            logger.info(connection.getMetrics().toString());
 
         } catch (Exception e) {
             e.printStackTrace();
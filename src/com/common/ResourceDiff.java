@@ -0,0 +1,158 @@
+package com.common;
+
+import com.Utility.codec.Codecs;
+import com.dataObjects.IGCResource;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Properties that differ between two versions of an IGCResource, and the sparse PUT body that applies them.
+ *
+ * Both versions are encoded with the shared Gson and compared property by property, so every property the POJO
+ * holds is compared, custom fields (custom_Owner, custom_Organization, ...) included.
+ *  - Properties set only by IGC ('_id', '_name', '_context', created_on, modified_by, category_path, ...) are
+ *    never compared or sent, which is what makes PUTting a fetched resource fail.
+ *  - References are compared by '_id': an IGCItem (parent_category) by its '_id', an IGCItemList (stewards,
+ *    has_types, ...) by the '_id's of its items, in order. So a fetched parent and new IGCItem(id) are equal.
+ *  - A property that is null on the modified version is not a change, as with a sparse POJO built with setters:
+ *    null properties are never sent, so they cannot clear a value.
+ *
+ * The body holds the modified version's '_type' and its changed properties, as they would be encoded if only
+ * those had been set on an empty POJO.
+ */
+public class ResourceDiff {
+    /**
+     * Properties set by IGC, not by updates, besides those starting with '_'.
+     */
+    private static final Set<String> READ_ONLY_PROPERTIES = new HashSet<>(Arrays.asList(
+            "created_by", "created_on", "modified_by", "modified_on", "category_path"));
+
+    private final List<String> changedProperties;
+    private final JsonObject body;
+
+    private ResourceDiff(List<String> changedProperties, JsonObject body) {
+        this.changedProperties = Collections.unmodifiableList(changedProperties);
+        this.body = body;
+    }
+
+    /**
+     * Compare two versions of a resource.
+     * @param original The resource as it is in IGC, typically fetched with getIGCResourceById().
+     * @param modified The resource as it should be: a copyOf() the original changed through its setters, or a new
+     *                 POJO with only the properties to update set. Not the original itself.
+     * @return The differences. isEmpty() if there are none.
+     * @throws IllegalArgumentException: Thrown if the two are the same object, or not of the same '_type'.
+     */
+    public static ResourceDiff between(IGCResource original, IGCResource modified) throws IllegalArgumentException {
+        if (original == modified) {
+            throw new IllegalArgumentException("The modified resource is the original: change a copyOf() it.");
+        } else if (original.get_type() == null ? modified.get_type() != null :
+                !original.get_type().equals(modified.get_type())) {
+            throw new IllegalArgumentException("Cannot compare a '" + original.get_type() + "' with a '" +
+                    modified.get_type() + "'.");
+        }
+        JsonObject before = Codecs.gson().toJsonTree(original).getAsJsonObject();
+        JsonObject after = Codecs.gson().toJsonTree(modified).getAsJsonObject();
+
+        List<String> changed = new ArrayList<>();
+        JsonObject body = new JsonObject();
+        body.addProperty("_type", modified.get_type());
+        for (Map.Entry<String, JsonElement> property : after.entrySet()) {
+            String name = property.getKey();
+            JsonElement value = property.getValue();
+            if (isReadOnly(name) || value == null || value.isJsonNull()) {
+                continue;
+            }
+            if (!comparable(value).equals(comparable(before.get(name)))) {
+                changed.add(name);
+                body.add(name, value);
+            }
+        }
+        return new ResourceDiff(changed, body);
+    }
+
+    /**
+     * Copy a resource, to change it and compare it with the original. Resources from the cache are shared, so
+     * they must not be changed themselves.
+     * @param resource Resource to copy.
+     * @param <T> POJO class of the resource.
+     * @return A deep copy of the resource.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends IGCResource> T copyOf(T resource) {
+        return (T) Codecs.gson().fromJson(Codecs.gson().toJsonTree(resource), resource.getClass());
+    }
+
+    /**
+     * @param property Name of a property.
+     * @return Whether the property is left out of the comparison: set by IGC, or the '_type' (always sent).
+     */
+    private static boolean isReadOnly(String property) {
+        return property.startsWith("_") || READ_ONLY_PROPERTIES.contains(property);
+    }
+
+    /**
+     * @param value Encoded value of a property. May be null.
+     * @return The value with every reference replaced by its '_id', and paging info dropped, for comparison.
+     */
+    private static JsonElement comparable(JsonElement value) {
+        if (value == null || value.isJsonNull()) {
+            return JsonNull.INSTANCE;
+        } else if (value.isJsonObject()) {
+            JsonObject object = value.getAsJsonObject();
+            if (object.has("_id")) { // IGCItem.
+                return comparable(object.get("_id"));
+            } else if (object.has("items")) { // IGCItemList.
+                return comparable(object.get("items"));
+            }
+            JsonObject copy = new JsonObject();
+            for (Map.Entry<String, JsonElement> property : object.entrySet()) {
+                copy.add(property.getKey(), comparable(property.getValue()));
+            }
+            return copy;
+        } else if (value.isJsonArray()) {
+            JsonArray copy = new JsonArray();
+            for (JsonElement element : value.getAsJsonArray()) {
+                copy.add(comparable(element));
+            }
+            return copy;
+        }
+        return value;
+    }
+
+    /**
+     * @return Whether the two versions are the same, so there is nothing to update.
+     */
+    public boolean isEmpty() {
+        return changedProperties.isEmpty();
+    }
+
+    /**
+     * @return Names of the properties that changed, in the order the POJO encodes them.
+     */
+    public List<String> getChangedProperties() {
+        return changedProperties;
+    }
+
+    /**
+     * @return PUT body applying the changes: the '_type' and the changed properties. Do not modify.
+     */
+    public JsonObject getBody() {
+        return body;
+    }
+
+    @Override
+    public String toString() {
+        return isEmpty() ? "No changes" : "Changed: " + String.join(", ", changedProperties);
+    }
+}
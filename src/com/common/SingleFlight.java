@@ -0,0 +1,100 @@
+package com.common;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Merges concurrent calls for the same key into one.
+ * The first caller for a key (the leader) runs the call on its own thread. Callers that arrive with the same key
+ * while it is running wait for it and receive the same result, or the same exception, instead of running the
+ * call again. Once the call completes the key is forgotten, so nothing is cached: a later call runs again.
+ *
+ * Results are shared between every caller of a merged call, so they should be treated as read-only.
+ * @param <K> Key identifying identical calls. Must implement equals() and hashCode().
+ * @param <V> Result of a call.
+ */
+class SingleFlight<K, V> {
+    /**
+     * Calls in progress, by key.
+     */
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    /**
+     * Number of calls that received the result of another caller's call.
+     */
+    private final LongAdder merged = new LongAdder();
+
+    /**
+     * Run a call, or wait for the identical call already in progress.
+     * @param key Key identifying the call.
+     * @param call The call. Only run if no call with the same key is in progress.
+     * @return Result of the call.
+     * @throws IOException: Thrown by the call, or if interrupted while waiting on another caller's call.
+     */
+    V execute(K key, Callable<V> call) throws IOException {
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            merged.increment();
+            return await(existing);
+        }
+        try {
+            V result = call.call();
+            future.complete(result);
+            return result;
+        } catch (Exception e) {
+            future.completeExceptionally(e);
+            throw rethrow(e);
+        } catch (Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    /**
+     * @return Number of calls that received the result of another caller's call, rather than running their own.
+     */
+    long getMergedCount() {
+        return merged.sum();
+    }
+
+    /**
+     * Wait for another caller's call.
+     * @param future Future of the call.
+     * @return Result of the call.
+     * @throws IOException: Thrown by the call, or if interrupted while waiting.
+     */
+    private static <V> V await(CompletableFuture<V> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting on an identical request.");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw rethrow((Exception) e.getCause());
+        }
+    }
+
+    /**
+     * @param e Exception thrown by a call.
+     * @return The exception as an IOException or RuntimeException, ready to be thrown.
+     */
+    private static IOException rethrow(Exception e) {
+        if (e instanceof IOException) {
+            return (IOException) e;
+        } else if (e instanceof RuntimeException) {
+            throw (RuntimeException) e;
+        }
+        return new IOException(e);
+    }
+}
@@ -1,20 +1,41 @@
 package com.common;
 
-import java.io.DataOutputStream;
 import java.io.IOException;
-import java.net.HttpURLConnection;
+import java.io.InterruptedIOException;
 import java.net.URL;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
 
 import com.Utility.JsonToObject;
-import com.Utility.JsonResponseBuilder;
+import com.Utility.ResponseDecoder;
 import com.Utility.Utility;
+import com.Utility.codec.Codecs;
+import com.common.cache.ResourceCache;
+import com.common.cache.TypeIndex;
+import com.common.metrics.RequestMetrics;
+import com.common.transport.HttpClientTransport;
+import com.common.transport.HttpTransport;
+import com.common.transport.IGCSession;
+import com.common.transport.ResilientTransport;
 import com.dataObjects.Category;
+import com.dataObjects.IGCItem;
 import com.dataObjects.IGCItemList;
 import com.dataObjects.IGCResource;
 import com.dataObjects.Term;
@@ -38,11 +59,91 @@ public class URLConnection {
      * Default types to be returned in POST based searches
      */
     private List<String> postSearchTypes;
+    /**
+     * HTTP layer that all requests are sent through.
+     */
+    private ResilientTransport transport;
+    /**
+     * Maximum number of page requests a streaming search or list keeps in flight. 0 to page one at a time.
+     */
+    private int pagePrefetchWindow = DEFAULT_PAGE_PREFETCH_WINDOW;
+    /**
+     * Executor that prefetched page requests, and the fallback GETs of getIGCResourcesByIds(), run on.
+     */
+    private final ExecutorService pageExecutor = Utility.newTaskExecutor("igc-page");
+    /**
+     * Optional read-through cache of resources by '_id'. Null when caching is disabled.
+     */
+    private volatile ResourceCache resourceCache;
+    /**
+     * Merges concurrent identical GETs (same URL and decoder) into one request. Keyed by getRequestKey().
+     */
+    private final SingleFlight<List<Object>, Response> getRequests = new SingleFlight<>();
+    /**
+     * '_type' of every resource id seen in a response. Used to answer type checks without a request.
+     */
+    private volatile TypeIndex typeIndex = new TypeIndex();
+    /**
+     * Latency histograms and counters of the requests sent, by operation. See send().
+     */
+    private final RequestMetrics metrics = new RequestMetrics();
+    /**
+     * Requests taking at least this long are logged with their phase timings. 0 to log none.
+     */
+    private volatile long slowRequestNanos;
+    /**
+     * Number of diff updates not sent because nothing changed. See updateIGCResource(String, IGCResource,
+     * IGCResource).
+     */
+    private final LongAdder skippedUpdates = new LongAdder();
+
+    /**
+     * Maximum number of ids combined into one POST search by getIGCResourcesByIds().
+     */
+    private static final int BATCH_SEARCH_SIZE = 100;
+    /**
+     * Maximum number of concurrent GETs used by getIGCResourcesByIds() for ids its searches miss.
+     */
+    private static final int FALLBACK_GET_THREADS = 16;
+    /**
+     * Default number of page requests a streaming search or list keeps in flight.
+     */
+    public static final int DEFAULT_PAGE_PREFETCH_WINDOW = 4;
+    /**
+     * Shared decoders, so that identical GETs made by different methods are recognised as identical.
+     */
+    private static final ResponseDecoder<IGCResource> RESOURCE_DECODER = JsonToObject::readIGCResource;
+    private static final ResponseDecoder<IGCItemList> ITEM_LIST_DECODER = JsonToObject::readIGCItemList;
+    private static final ResponseDecoder<String> TYPE_DECODER = JsonToObject::readType;
+    /**
+     * Full list of properties to request in a POST search, by resource type.
+     * TODO *** New cases will need to be added as new IGC POJO class types are created ***
+     */
+    private static final Map<String, List<String>> FULL_PROPERTIES = new HashMap<>();
+    /**
+     * Properties returned by POST searches when none are given.
+     * Seems to return some basic properties plus these listed. Currently fills out entire IGCItem object.
+     */
+    private static final List<String> DEFAULT_SEARCH_PROPERTIES =
+            Collections.unmodifiableList(Arrays.asList("modified_on", "short_description"));
+    /**
+     * Properties returned by the searches of revalidateByModifiedOn().
+     */
+    private static final List<String> MODIFIED_ON_PROPERTY = Collections.singletonList("modified_on");
+    static {
+        FULL_PROPERTIES.put("term", Utility.getPropertyNames(Term.class));
+        FULL_PROPERTIES.put("category", Utility.getPropertyNames(Category.class));
+        Codecs.warmUp(); // Load the JSON codecs before the first request rather than during it.
+    }
 
     /**
      * SLF4J logger initialization.
      */
     private final Logger logger = LoggerFactory.getLogger(URLConnection.class);
+    /**
+     * Logger of slow requests, so they can be routed or silenced apart from the rest (see setSlowRequestThreshold()).
+     */
+    private final Logger slowLogger = LoggerFactory.getLogger(URLConnection.class.getName() + ".slow");
 
     //// Constructors ////
 
@@ -55,16 +156,7 @@ public class URLConnection {
      * @throws IllegalStateException: Thrown by Utility.disableSslVerification().
      */
     public URLConnection(String url, boolean disableSslVerification) throws IllegalStateException {
-        this.urlString = url;
-        // Disable disableSsl verification (Workaround) //
-        if (disableSslVerification) {
-            Utility.disableSslVerification();
-        }
-        // Define default POST search return types
-        String[] searchTypes = {"category", "term"};  // This can be changed as more Resource types are added.
-        this.postSearchTypes = Arrays.asList(searchTypes);
-
-        logger.info("URLConnection created with url: " + url);
+        this(url, disableSslVerification, null, null, null);
     }
 
     /**
@@ -77,6 +169,22 @@ public class URLConnection {
      */
     public URLConnection(String url, boolean disableSslVerification, String username, String password)
             throws IllegalStateException {
+        this(url, disableSslVerification, username, password, null);
+    }
+
+    /**
+     * Create a new URLConnection object that sends its requests through the given HttpTransport.
+     * Default POST search types are defined here.
+     * @param url: HTTP URL to make requests to. Include domain name, port,
+     *           and general extension that will be used for all requests.
+     *           Education test IGC API: 'https://ec2-3-83-75-69.compute-1.amazonaws.com:9443/ibm/iis/igc-rest/v1/'
+     * @param transport HttpTransport to make requests with. Set to NULL to use a pooled HttpClientTransport.
+     *                  Use an HttpURLConnectionTransport to fall back to one HttpURLConnection per request.
+     *                  Wrapped in a ResilientTransport with the default retry policies, unless it is one already.
+     * @throws IllegalStateException: Thrown by Utility.disableSslVerification().
+     */
+    public URLConnection(String url, boolean disableSslVerification, String username, String password,
+                         HttpTransport transport) throws IllegalStateException {
         this.urlString = url;
         // Disable disableSsl verification (Workaround) //
         if (disableSslVerification) {
@@ -86,9 +194,19 @@ public class URLConnection {
         String[] searchTypes = {"category", "term"};  // This can be changed as more Resource types are added.
         this.postSearchTypes = Arrays.asList(searchTypes);
 
-        // Set default authentication credentials.
-        Utility.authenticate(username, password);
-        logger.info("URLConnection created with url: " + url);
+        // Pooled HttpClient unless a transport was supplied.
+        if (transport == null) {
+            transport = new HttpClientTransport(disableSslVerification);
+        }
+        // Set authentication credentials. Sent preemptively, then replaced by the IGC session cookie.
+        if (username != null && password != null) {
+            transport.setSession(new IGCSession(username, password));
+        }
+        // Retries and circuit breaker, unless the caller already configured them.
+        this.transport = transport instanceof ResilientTransport ? (ResilientTransport) transport
+                : new ResilientTransport(transport);
+        logger.info("URLConnection created with url: " + url + " (" +
+                this.transport.getDelegate().getClass().getSimpleName() + ")");
     }
 
     ////// END CONSTRUCTORS ///////
@@ -98,110 +216,376 @@ public class URLConnection {
      * Make an Http Request without a body.  Generally called to make GET requests
      * Additional constructor exists for accepting IGC resources (for POST and PUT) to populate body.
      *
+     * @param operation: Name of the calling operation, for the RequestMetrics.
      * @param url: Full URL to make request to (not a String).
      * @param method: HttpMethod Enum (GET, PUT, POST, DELETE)
      * @return String of HTTP response.
-     * @throws IOException: Thrown by JsonResponseBuilder.getResponseObject()
+     * @throws IOException: Thrown by HttpTransport.execute()
      */
-    private Response makeHttpRequest(URL url, HttpMethod method) throws IOException {
-        // Establish connection and request method //
-        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-        connection.setRequestMethod(method.name());
-        connection.setConnectTimeout(5000);
-        connection.setReadTimeout(5000);
+    private Response makeHttpRequest(String operation, URL url, HttpMethod method) throws IOException {
+        return makeHttpRequest(operation, url, method, null);
+    }
 
-        // If sending output //
-        connection.setDoOutput(true);
+    /**
+     * Make an HTTP request, using an IGC resource object to populate the body.
+     * Often used by POST and PUT requests
+     *
+     * @param operation Name of the calling operation, for the RequestMetrics.
+     * @param url URL at which to make the request.
+     * @param method: HttpMethod Enum (GET, PUT, POST, DELETE)
+     * @param requestBody Resource to be formatted into the body of the request.
+     * @return Response object of HTTP response message and ID if any new resource that was created.
+     * @throws IOException: Thrown by HttpTransport.execute()
+     */
+    private Response makeHttpRequest(String operation, URL url, HttpMethod method, Object requestBody)
+            throws IOException {
+        return makeHttpRequest(operation, url, method, requestBody, null);
+    }
 
-        // Setting Request Headers //
-        connection.setRequestProperty("Content-Type", "application/json");
+    /**
+     * Make an HTTP request, decoding a successful response body straight from the connection.
+     * Used by methods that return a POJO, so the body is never held as a String (see Response.getBody()).
+     * Concurrent GETs of the same URL with the same decoder are merged into a single request, and every caller
+     * receives the same Response (and decoded body), so treat them as read-only.
+     *
+     * @param operation Name of the calling operation, for the RequestMetrics.
+     * @param url URL at which to make the request.
+     * @param method: HttpMethod Enum (GET, PUT, POST, DELETE)
+     * @param requestBody Resource to be formatted into the body of the request.
+     * @param decoder Decoder for the body of a successful response (RESOURCE_DECODER, ...), or null to read the
+     *                body as a String.
+     * @return Response object holding the decoded body, or the message if the request failed.
+     * @throws IOException: Thrown by HttpTransport.execute()
+     * @throws IllegalArgumentException: Thrown by the decoder.
+     */
+    private Response makeHttpRequest(String operation, URL url, HttpMethod method, Object requestBody,
+                                     ResponseDecoder<?> decoder) throws IOException, IllegalArgumentException {
+        if (method == HttpMethod.GET) {
+            return getRequests.execute(getRequestKey(url, decoder),
+                    () -> indexTypes(send(operation, url, method, requestBody, decoder, Collections.emptyMap())));
+        }
+        return indexTypes(send(operation, url, method, requestBody, decoder, Collections.emptyMap()));
+    }
 
-        // Handling Redirects //
-        connection.setInstanceFollowRedirects(true); //Allow redirects for this object's connection
+    /**
+     * Send a request through the transport, recording its latency, status code, sizes and phase timings in the
+     * RequestMetrics under the calling operation, and logging it if it is slow (setSlowRequestThreshold()).
+     * @param operation Name of the calling operation (getIGCResourceById, searchIGC, ...).
+     * @param url URL at which to make the request.
+     * @param method HttpMethod Enum (GET, PUT, POST, DELETE)
+     * @param requestBody Resource to be formatted into the body of the request.
+     * @param decoder Decoder for the body of a successful response, or null to read the body as a String.
+     * @param headers Extra request headers. May be empty.
+     * @return Response of the request.
+     * @throws IOException: Thrown by HttpTransport.execute()
+     * @throws IllegalArgumentException: Thrown by the decoder.
+     */
+    private Response send(String operation, URL url, HttpMethod method, Object requestBody,
+                          ResponseDecoder<?> decoder, Map<String, String> headers)
+            throws IOException, IllegalArgumentException {
+        long start = System.nanoTime();
+        try {
+            Response response = this.transport.execute(url, method, requestBody, decoder, headers);
+            long latency = System.nanoTime() - start;
+            metrics.record(operation, response.getResponseCode(), latency,
+                    response.getWireLength() < 0 ? response.getContentLength() : response.getWireLength(),
+                    response.getRequestLength(), response.getTimings());
+            if (isSlow(latency)) {
+                slowLogger.warn(String.format("Slow request: %s %s %s returned %d in %.1f ms (%s)", operation,
+                        method.name(), url, response.getResponseCode(), latency / 1e6, response.getTimings()));
+            }
+            return response;
+        } catch (IOException | RuntimeException e) {
+            long latency = System.nanoTime() - start;
+            metrics.recordFailure(operation, latency);
+            if (isSlow(latency)) {
+                slowLogger.warn(String.format("Slow request: %s %s %s failed after %.1f ms: %s", operation,
+                        method.name(), url, latency / 1e6, e));
+            }
+            throw e;
+        }
+    }
 
-        // Reading the Response Code //
-        logger.debug("Retrieving response code for call to: " + url.toString());
-        int status = connection.getResponseCode();
+    /**
+     * @param latencyNanos Latency of a request.
+     * @return Whether the request is slow enough to be logged.
+     */
+    private boolean isSlow(long latencyNanos) {
+        long threshold = slowRequestNanos;
+        return threshold > 0 && latencyNanos >= threshold && slowLogger.isWarnEnabled();
+    }
 
-        // Check response code for a redirect indication
-        if (status == HttpURLConnection.HTTP_MOVED_TEMP
-                || status == HttpURLConnection.HTTP_MOVED_PERM) {
-            String location = connection.getHeaderField("Location");
-            logger.warn("Http request resulted in a redirect.");
-            logger.warn("Redirecting to: " + location);
-            URL newUrl = new URL(location);
-            connection = (HttpURLConnection) newUrl.openConnection();
+    /**
+     * Record the type of every resource referenced by a decoded response body in the TypeIndex.
+     * @param response Response of a request.
+     * @return The same Response.
+     */
+    private Response indexTypes(Response response) {
+        Object body = response.getBody();
+        TypeIndex index = this.typeIndex;
+        if (body instanceof IGCResource) {
+            index.putResource((IGCResource) body);
+        } else if (body instanceof IGCItemList) {
+            index.putItemList((IGCItemList) body);
+        } else if (body instanceof List) {
+            for (Object resource : (List<?>) body) {
+                if (resource instanceof IGCResource) {
+                    index.putResource((IGCResource) resource);
+                }
+            }
         }
+        return response;
+    }
 
-        return JsonResponseBuilder.getResponseObject(connection); //Use this to return only the message of the response.
+    /**
+     * @param url URL of a GET request.
+     * @param variant Decoder of the GET request (may be null), or the cache entry a conditional GET revalidates.
+     * @return Key identifying identical GET requests. The URL is compared as a String, since URL.equals()
+     *         resolves host names.
+     */
+    private static List<Object> getRequestKey(URL url, Object variant) {
+        return Arrays.asList(url.toExternalForm(), variant);
     }
 
     /**
-     * Make an HTTP request, using an IGCResource object to populate the body.
-     * Often used by POST and PUT requests
-     *
-     * @param url URL at which to make the request.
-     * @param method: HttpMethod Enum (GET, PUT, POST, DELETE)
-     * @param requestBody Resource to be formatted into the body of the request.
-     * @return Response object of HTTP response message and ID if any new resource that was created.
-     * @throws IOException: Thrown by JsonResponseBuilder.getResponseObject()
-     */
-    private Response makeHttpRequest(URL url, HttpMethod method, Object requestBody) throws IOException {
-        // Establish connection and request method //
-        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-        connection.setRequestMethod(method.name());
-        connection.setConnectTimeout(5000); //Setting to 5 seconds for default.
-        connection.setReadTimeout(5000);
-
-        // Setting Request Headers //
-        connection.setRequestProperty("Content-Type", "application/json");
-
-        if (method == HttpMethod.POST || method == HttpMethod.PUT) {
-            // Apply parameters to connection object if request body is required.
-            logger.debug("About to " + method.name() + ":\n" + requestBody.toString());
-            connection.setDoOutput(true);
-            DataOutputStream out = new DataOutputStream(connection.getOutputStream());
-            out.writeBytes(requestBody.toString());
-            out.flush();
-            out.close();
-        }
-
-        // Cookie Handling // - Doesn't look like this is needed...
-//        String cookiesHeader = connection.getHeaderField("Set-Cookie");
-//        List<HttpCookie> cookies = HttpCookie.parse(cookiesHeader);
-//        CookieManager cookieManager = new CookieManager();
-//
-//        cookies.forEach(cookie -> cookieManager.getCookieStore().add(null, cookie));
-//
-//        Optional<HttpCookie> usernameCookie = cookies.stream()
-//                .findAny().filter(cookie -> cookie.getName().equals("username"));
-//        if (usernameCookie == null) {
-//            cookieManager.getCookieStore().add(null, new HttpCookie("username", "user1"));
-//        }
-//
-//        connection.disconnect();
-//        connection = (HttpURLConnection) url.openConnection();
-//        connection.setRequestProperty("Cookie",
-//                StringUtils.join(cookieManager.getCookieStore().getCookies(), ";"));
-
-        // Handling Redirects //
-        connection.setInstanceFollowRedirects(true); //Allow redirects for this object's connection
-
-        // Reading the Response Code //
-        logger.debug("Retrieving response code for call to: " + url.toString());
-        int status = connection.getResponseCode();
-
-        // Check response code for a redirect indication
-        if (status == HttpURLConnection.HTTP_MOVED_TEMP
-                || status == HttpURLConnection.HTTP_MOVED_PERM) {
-            String location = connection.getHeaderField("Location");
-            logger.warn("Http request resulted in a redirect.");
-            logger.warn("Redirecting to: " + location);
-            URL newUrl = new URL(location);
-            connection = (HttpURLConnection) newUrl.openConnection();
-        }
-
-        return JsonResponseBuilder.getResponseObject(connection); //Use this to return a Response object.
+     * @return Number of GET requests that were not sent because an identical request was already in flight,
+     *         and that shared its Response instead.
+     */
+    public long getCoalescedRequestCount() {
+        return getRequests.getMergedCount();
+    }
+
+    /**
+     * @return Number of diff updates that were not sent because the resource had not changed.
+     */
+    public long getSkippedUpdateCount() {
+        return skippedUpdates.sum();
+    }
+
+    /**
+     * @return The ResilientTransport this URLConnection sends its requests through, for its retry policies,
+     *         circuit breaker and metrics. getDelegate() returns the transport it wraps.
+     */
+    public ResilientTransport getTransport() {
+        return transport;
+    }
+
+    /**
+     * @return Latency histograms and counters of the requests this URLConnection sent, by operation (the public
+     *         method that sent them). Use snapshot() to read them, or registerMBeans() to expose them over JMX.
+     */
+    public RequestMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Log every request that takes at least a threshold, with where its time went: queue, connect, send, first
+     * byte, download, parse and backoff (see RequestTimings). Logged at WARN level by the
+     * 'com.common.URLConnection.slow' logger. Off by default.
+     * @param threshold Latency from which requests are logged, or null or zero to log none.
+     */
+    public void setSlowRequestThreshold(Duration threshold) {
+        this.slowRequestNanos = threshold == null || threshold.isNegative() ? 0 : threshold.toNanos();
+    }
+
+    /**
+     * @return Latency from which requests are logged, or Duration.ZERO if slow requests are not logged.
+     */
+    public Duration getSlowRequestThreshold() {
+        return Duration.ofNanos(slowRequestNanos);
+    }
+
+    //// TYPE INDEX ////
+
+    /**
+     * @return The TypeIndex of every resource id seen in a response. Can be saved with TypeIndex.writeTo().
+     */
+    public TypeIndex getTypeIndex() {
+        return typeIndex;
+    }
+
+    /**
+     * Replace the TypeIndex, for example with one loaded by TypeIndex.readFrom() or shared with another
+     * URLConnection to the same IGC server.
+     * @param typeIndex TypeIndex to use. Not null.
+     */
+    public void setTypeIndex(TypeIndex typeIndex) {
+        if (typeIndex == null) {
+            throw new IllegalArgumentException("typeIndex cannot be null.");
+        }
+        this.typeIndex = typeIndex;
+    }
+
+    //// RESOURCE CACHE ////
+
+    /**
+     * Enable (or replace) the read-through cache used by getIGCResourceById(), getIGCTermById(),
+     * getIGCCategoryById(), getIGCResourcesByIds() and isResourceOfType().
+     * Entries are invalidated by successful updateIGCResource() and deleteIGCResource() calls.
+     * Expired entries the cache keeps for revalidation are re-used when IGC confirms they are unchanged, see
+     * getAsset() and revalidateByModifiedOn().
+     * @param resourceCache ResourceCache to use, or null to disable caching.
+     */
+    public void setResourceCache(ResourceCache resourceCache) {
+        this.resourceCache = resourceCache;
+    }
+
+    /**
+     * @return The ResourceCache in use, or null if caching is disabled.
+     */
+    public ResourceCache getResourceCache() {
+        return resourceCache;
+    }
+
+    /**
+     * @param id '_id' of the resource.
+     * @return The cached IGCResource, or null if not cached or caching is disabled.
+     */
+    private IGCResource getCachedResource(String id) {
+        ResourceCache cache = this.resourceCache;
+        return cache == null ? null : cache.get(id);
+    }
+
+    /**
+     * Store a resource if caching is enabled.
+     * @param id '_id' of the resource.
+     * @param resource Resource to store.
+     * @param jsonLength Length of the JSON the resource was decoded from, or -1 if unknown.
+     */
+    private void cacheResource(String id, IGCResource resource, long jsonLength) {
+        ResourceCache cache = this.resourceCache;
+        if (cache != null && id != null) {
+            cache.put(id, resource, (int) Math.min(jsonLength, Integer.MAX_VALUE));
+        }
+    }
+
+    /**
+     * Store the resource decoded from a successful response, with the response's validators, if caching is enabled.
+     * @param id '_id' of the resource.
+     * @param response Response whose body is the IGCResource.
+     */
+    private void cacheResource(String id, Response response) {
+        ResourceCache cache = this.resourceCache;
+        if (cache != null && id != null) {
+            cache.put(id, (IGCResource) response.getBody(),
+                    (int) Math.min(response.getContentLength(), Integer.MAX_VALUE),
+                    response.getEtag(), response.getLastModified());
+        }
+    }
+
+    /**
+     * GET a full resource by id, storing it in the cache if caching is enabled.
+     * If the cache keeps an expired copy of the resource for revalidation, the GET is conditional: it carries the
+     * copy's 'ETag' / 'Last-Modified' validators, and the copy is re-used if IGC answers 304 Not Modified, or if
+     * the body has the same 'modified_on' (the rest of the body is then skipped rather than decoded).
+     * @param operation Name of the calling operation, for the RequestMetrics.
+     * @param url URL of the resource.
+     * @param id '_id' of the resource.
+     * @return Response whose body is the IGCResource, with code 304 if it is the cached copy IGC confirmed with
+     *         a 304. The message if the request failed.
+     * @throws IOException: Thrown by HttpTransport.execute()
+     * @throws IllegalArgumentException: Thrown by JsonToObject.readIGCResource()
+     */
+    private Response getAsset(String operation, URL url, String id) throws IOException, IllegalArgumentException {
+        ResourceCache cache = this.resourceCache;
+        ResourceCache.Entry stale = cache == null ? null : cache.getEntry(id);
+        if (stale == null) {
+            // Decoded to the POJO matching '_type'. Throws IllegalArgumentException if there is no Java Object.
+            Response response = makeHttpRequest(operation, url, HttpMethod.GET, true, RESOURCE_DECODER);
+            if (response.getResponseCode() < 300) {
+                cacheResource(id, response);
+            }
+            return response;
+        }
+
+        Map<String, String> headers = new HashMap<>();
+        if (stale.getEtag() != null) {
+            headers.put("If-None-Match", stale.getEtag());
+        }
+        if (stale.getLastModified() != null) {
+            headers.put("If-Modified-Since", stale.getLastModified());
+        }
+        ResponseDecoder<IGCResource> decoder =
+                reader -> JsonToObject.readIGCResourceIfModified(reader, stale.getResource());
+        // Concurrent revalidations of the same entry are merged like identical GETs.
+        Response response = getRequests.execute(getRequestKey(url, stale),
+                () -> indexTypes(send(operation, url, HttpMethod.GET, null, decoder, headers)));
+        if (response.getResponseCode() == 304) {
+            cache.revalidated(id, stale);
+            Response notModified = new Response(stale.getResource(), response.get_id(), 304,
+                    response.getCodeMessage(), 0);
+            notModified.setWireLength(response.getWireLength());
+            notModified.setRequestLength(response.getRequestLength());
+            notModified.setTimings(response.getTimings());
+            return notModified;
+        } else if (response.getResponseCode() < 300) {
+            if (response.getBody() == stale.getResource()) { // Same 'modified_on'.
+                cache.revalidated(id, stale);
+            } else {
+                cacheResource(id, response);
+            }
+        }
+        return response;
+    }
+
+    /**
+     * Re-use expired cached copies of resources whose 'modified_on' is unchanged. Instead of searching for every
+     * property of each resource, POST searches return only 'modified_on' (BATCH_SEARCH_SIZE ids per search),
+     * and only the resources that changed are left to be fetched in full.
+     * @param ids Ids to check. Ids already in 'found', or without a cached copy, are skipped.
+     * @param found Map of id to IGCResource, to which the re-used copies are added.
+     * @throws IOException: thrown by searchIGC()
+     * @throws IllegalArgumentException: Thrown by JsonToObject.readIGCItemList()
+     */
+    private void revalidateByModifiedOn(List<String> ids, Map<String, IGCResource> found)
+            throws IOException, IllegalArgumentException {
+        ResourceCache cache = this.resourceCache;
+        if (cache == null) {
+            return;
+        }
+        Map<String, ResourceCache.Entry> stale = new LinkedHashMap<>();
+        for (String id : ids) {
+            ResourceCache.Entry entry = found.containsKey(id) ? null : cache.getEntry(id);
+            if (entry != null && entry.getModifiedOn() != null) {
+                stale.put(id, entry);
+            }
+        }
+        List<String> staleIds = new ArrayList<>(stale.keySet());
+        for (int i = 0; i < staleIds.size(); i += BATCH_SEARCH_SIZE) {
+            List<PostCondition> conditions = new ArrayList<>();
+            for (String id : staleIds.subList(i, Math.min(i + BATCH_SEARCH_SIZE, staleIds.size()))) {
+                conditions.add(new PostCondition("_id", "=", id));
+            }
+            Response response = searchIGC("revalidateByModifiedOn", this.postSearchTypes, conditions, "or",
+                    MODIFIED_ON_PROPERTY, BATCH_SEARCH_SIZE, ITEM_LIST_DECODER);
+            if (response.getResponseCode() > 299) {
+                logger.warn("Search for modified_on failed with code " + response.getResponseCode() +
+                        ". Fetching cached resources in full.");
+                continue;
+            }
+            for (IGCItem item : ((IGCItemList) response.getBody()).getItems()) {
+                ResourceCache.Entry entry = stale.get(item.get_id());
+                if (entry != null && entry.getModifiedOn().equals(item.getModified_on())) {
+                    cache.revalidated(item.get_id(), entry);
+                    found.put(item.get_id(), entry.getResource());
+                }
+            }
+        }
+        if (!staleIds.isEmpty()) {
+            logger.info(found.size() + " of " + ids.size() + " IGCResources re-used from the cache, " +
+                    staleIds.size() + " checked by modified_on");
+        }
+    }
+
+    /**
+     * Remove a resource from the cache if caching is enabled.
+     * @param id '_id' of the resource.
+     */
+    private void invalidateCachedResource(String id) {
+        ResourceCache cache = this.resourceCache;
+        if (cache != null) {
+            cache.invalidate(id);
+        }
     }
 
     //// END REQUEST METHODS ////
@@ -222,7 +606,7 @@ public class URLConnection {
 //        logger.info("get method called for URL: " + urlWithExtension);
         URL getUrl = new URL(urlWithExtension);
         try {
-            return makeHttpRequest(getUrl, HttpMethod.GET, useAuth).getMessage();
+            return makeHttpRequest("get", getUrl, HttpMethod.GET, useAuth).getMessage();
         } catch (Exception e) {
             logger.error("XXX - failed get()");
             e.printStackTrace();
@@ -237,18 +621,30 @@ public class URLConnection {
      * @return a Term object representing the received JSON. Returns an empty Term with failedResponse set to true
      *         if the Term does not exist or if the server does not respond.
      * @throws IOException: Thrown by makeHttpRequest()
-     * @throws IllegalArgumentException: Thrown by JsonToObject.toIGCItemList()
+     * @throws IllegalArgumentException: Thrown by JsonToObject.readIGCResource()
      */
     public Term getIGCTermById(String id) throws IOException, IllegalArgumentException {
+        IGCResource cached = getCachedResource(id);
+        if (cached != null) {
+            if (cached instanceof Term) {
+                return (Term) cached;
+            }
+            throw new IllegalArgumentException("Called getIGCTermById on a non-term.");
+        }
+        String indexedType = typeIndex.get(id);
+        if (indexedType != null && !indexedType.equals("term")) { // Known to be another type, no need to GET.
+            throw new IllegalArgumentException("Called getIGCTermById on a non-term.");
+        }
         String urlWithExtension = this.urlString + "assets/" + id;
 //        logger.info("getIGCTermById called for URL: " + urlWithExtension);
         URL getUrl = new URL(urlWithExtension);
 
         try {
-            Response response = makeHttpRequest(getUrl, HttpMethod.GET, true);
-            if (response.getResponseCode() < 300) {
-                if (JsonToObject.toTypeContainer(response.getMessage()).get_type().equals("term")) { //Check if Term
-                    return JsonToObject.toTerm(response.getMessage());
+            Response response = getAsset("getIGCTermById", getUrl, id);
+            if (response.getResponseCode() < 300 || response.getResponseCode() == 304) {
+                IGCResource resource = (IGCResource) response.getBody();
+                if (resource instanceof Term) { //Check if Term
+                    return (Term) resource;
                 } else {
                     throw new IllegalArgumentException("Called getIGCTermById on a non-term.");
                 }
@@ -269,18 +665,30 @@ public class URLConnection {
      * @return a Category object representing the received JSON. Returns an empty Category with failedResponse set
      *         to true if the Category does not exist or if the server does not respond.
      * @throws IOException: Thrown by makeHttpRequest()
-     * @throws IllegalArgumentException: Thrown by JsonToObject.toIGCItemList()
+     * @throws IllegalArgumentException: Thrown by JsonToObject.readIGCResource()
      */
     public Category getIGCCategoryById(String id) throws IOException, IllegalArgumentException {
+        IGCResource cached = getCachedResource(id);
+        if (cached != null) {
+            if (cached instanceof Category) {
+                return (Category) cached;
+            }
+            throw new IllegalArgumentException("Called getIGCCategoryById on a non-category.");
+        }
+        String indexedType = typeIndex.get(id);
+        if (indexedType != null && !indexedType.equals("category")) { // Known to be another type, no need to GET.
+            throw new IllegalArgumentException("Called getIGCCategoryById on a non-category.");
+        }
         String urlWithExtension = this.urlString + "assets/" + id;
 //        logger.info("getIGCCategoryById called for URL: " + urlWithExtension);
         URL getUrl = new URL(urlWithExtension);
 
         try {
-            Response response = makeHttpRequest(getUrl, HttpMethod.GET, true);
-            if (response.getResponseCode() < 300) {
-                if (JsonToObject.toTypeContainer(response.getMessage()).get_type().equals("category")) { //Check if cat
-                    return JsonToObject.toCategory(response.getMessage());
+            Response response = getAsset("getIGCCategoryById", getUrl, id);
+            if (response.getResponseCode() < 300 || response.getResponseCode() == 304) {
+                IGCResource resource = (IGCResource) response.getBody();
+                if (resource instanceof Category) { //Check if cat
+                    return (Category) resource;
                 } else {
                     throw new IllegalArgumentException("Called getIGCCategoryById on a non-category.");
                 }
@@ -297,32 +705,18 @@ public class URLConnection {
     /**
      * Return a full IGCResource with a given id.  Will automatically return either a Category or Term based on
      *      the result.
-     * TODO *** New cases will need to be made as new IGC POJO class types are created ***
+     * TODO *** New IGC POJO class types will need to be added to IGCResourceTypeAdapterFactory ***
      * @param id ID of category to request (URL extension for GET request).
      * @return An IGCResource object representing the received JSON. Returns an empty Term with failedResponse set
      *         to true if the Resource does not exist or the server does not respond.
      * @throws IOException: Thrown by makeHttpRequest()
-     * @throws IllegalArgumentException: Thrown by JsonToObject.toIGCItemList()
+     * @throws IllegalArgumentException: Thrown by JsonToObject.readIGCResource()
      */
     public IGCResource getIGCResourceById(String id) throws IOException, IllegalArgumentException {
-        String urlWithExtension = this.urlString + "assets/" + id;
-        URL getUrl = new URL(urlWithExtension);
-
         try {
-            Response response = makeHttpRequest(getUrl, HttpMethod.GET, true);
-            if (response.getResponseCode() < 300) {
-                // Determine '_type' to know what POJO to cast String to.
-                String type = JsonToObject.toTypeContainer(response.getMessage()).get_type();
-                if (type.equals("category")) {
-                    return JsonToObject.toCategory(response.getMessage());
-                } else if (type.equals("term")) {
-                    return JsonToObject.toTerm(response.getMessage());
-                }/*else if (type.equals("NEW_IGC_TYPE") {     // Example for when new IGC type.
-                return JsonTo_NEW_IGC_TYPE(receivedString);
-                }*/ else {
-                    throw new IllegalArgumentException(
-                            "Attempted to GET an IGCResource for which there is no Java Object");
-                }
+            Response response = getIGCResourceResponse("getIGCResourceById", id);
+            if (response.getResponseCode() < 300 || response.getResponseCode() == 304) {
+                return (IGCResource) response.getBody();
             } else { // Can add more specific handling here...
                 return new Term(true); // Just returns an empty Term as a placeholder
             }                                                   // since the type of resource to be returned is unknown.
@@ -333,6 +727,24 @@ public class URLConnection {
         }
     }
 
+    /**
+     * Get a resource by id like getIGCResourceById(), but return the Response instead of a placeholder when the
+     * request fails, so the caller can report the status code (see BulkFetcher).
+     * @param operation Name of the calling operation, for the RequestMetrics.
+     * @param id ID of resource to request.
+     * @return Response holding the IGCResource as its body if the code is below 300 or 304. A cached resource is
+     *         returned as a code 200 Response without sending a request.
+     * @throws IOException: Thrown by HttpTransport.execute()
+     * @throws IllegalArgumentException: Thrown if the resource's '_type' has no Java Object.
+     */
+    Response getIGCResourceResponse(String operation, String id) throws IOException, IllegalArgumentException {
+        IGCResource cached = getCachedResource(id);
+        if (cached != null) {
+            return new Response(cached, id, 200, "OK", 0);
+        }
+        return getAsset(operation, new URL(this.urlString + "assets/" + id), id);
+    }
+
     /**
      * Get the ID of a Category's parent category.
      * @param id ID of Category to look up parent's ID.
@@ -353,11 +765,7 @@ public class URLConnection {
      * @throws IOException: Thrown by makeHttpRequest()
      */
     public String getTermParentId(String id) throws IOException, IllegalArgumentException {
-        if (isResourceOfType(id, "term")) {
-            return this.getIGCTermById(id).getParent_category().get_id();
-        } else {
-            throw new IllegalArgumentException("Attempted to call getTermParentId() on a non-term.");
-        }
+        return getParentIdOfType(id, "term", "Attempted to call getTermParentId() on a non-term.");
     }
 
     /**
@@ -369,28 +777,54 @@ public class URLConnection {
      * @throws IOException: Thrown by makeHttpRequest()
      */
     public String getCategoryParentId(String id) throws IOException, IllegalArgumentException {
-        if (isResourceOfType(id, "category")) {
-            return this.getIGCCategoryById(id).getParent_category().get_id();
-        } else {
-            throw new IllegalArgumentException("Attempted to call getCategoryParentId() on a non-category.");
+        return getParentIdOfType(id, "category", "Attempted to call getCategoryParentId() on a non-category.");
+    }
+
+    /**
+     * Get the ID of a resource's parent category, checking the resource's type.
+     * Makes at most one request: none if the TypeIndex already knows the resource is of another type (or it is
+     * cached), otherwise a single GET whose body gives both the type and the parent.
+     * @param id ID of the resource.
+     * @param type Type the resource must be.
+     * @param wrongTypeMessage Message of the IllegalArgumentException thrown if it is not.
+     * @return String of parent category's ID.
+     * @throws IOException: Thrown by makeHttpRequest()
+     * @throws IllegalArgumentException: Thrown if the resource is not of the type, does not exist, or has no POJO.
+     */
+    private String getParentIdOfType(String id, String type, String wrongTypeMessage)
+            throws IOException, IllegalArgumentException {
+        String indexedType = typeIndex.get(id);
+        if (indexedType != null && !indexedType.equals(type)) {
+            throw new IllegalArgumentException(wrongTypeMessage);
+        }
+        IGCResource resource;
+        try {
+            resource = getIGCResourceById(id);
+        } catch (IllegalArgumentException e) { // No POJO for its type, so not a term or category.
+            throw new IllegalArgumentException(wrongTypeMessage, e);
+        }
+        if (!type.equals(resource.get_type())) { // Includes the failed-request placeholder.
+            throw new IllegalArgumentException(wrongTypeMessage);
         }
+        return resource.getParent_category().get_id();
     }
 
     /**
      * Submit a GET request search of all IGC categories.
+     * Only the first page is returned. Use streamIGCCategoryList() to get every category.
      * @param pageSize How many categories to return.
      * @return An IGCItemList containing a list of categories (IGCItems) and paging info.
      *         Returns an empty IGCItemList with 'failedRequest' set to true if the request cannot be completed.
      * @throws IOException: Thrown by makeHttpRequest()
-     * @throws IllegalArgumentException: Thrown by JsonToObject.toIGCItemList()
+     * @throws IllegalArgumentException: Thrown by JsonToObject.readIGCItemList()
      */
     public IGCItemList getIGCCategoryList(int pageSize) throws IOException, IllegalArgumentException {
         String urlWithExtension = this.urlString + "search?types=category&pageSize=" + pageSize;
         URL getUrl = new URL(urlWithExtension);
         try {
-            Response response = makeHttpRequest(getUrl, HttpMethod.GET, true);
+            Response response = makeHttpRequest("getIGCCategoryList", getUrl, HttpMethod.GET, true, ITEM_LIST_DECODER);
             if (response.getResponseCode() < 300) {
-                return JsonToObject.toIGCItemList(response.getMessage());
+                return (IGCItemList) response.getBody();
             } else {
                 return new IGCItemList(true);
             }
@@ -403,18 +837,19 @@ public class URLConnection {
 
     /**
      * Submit a GET request of all IGC terms.
+     * Only the first page is returned. Use streamIGCTermList() to get every term.
      * @param pageSize How many terms to return
      * @return An IGCItemList containing a list of terms (IGCItems) and paging info.
      * @throws IOException: Thrown by makeHttpRequest()
-     * @throws IllegalArgumentException: Thrown by JsonToObject.toIGCItemList()
+     * @throws IllegalArgumentException: Thrown by JsonToObject.readIGCItemList()
      */
     public IGCItemList getIGCTermList(int pageSize) throws IOException {
         String urlWithExtension = this.urlString + "search?types=term&pageSize=" + pageSize;
         URL getUrl = new URL(urlWithExtension);
         try {
-            Response response = makeHttpRequest(getUrl, HttpMethod.GET, true);
+            Response response = makeHttpRequest("getIGCTermList", getUrl, HttpMethod.GET, true, ITEM_LIST_DECODER);
             if (response.getResponseCode() < 300) {
-                return JsonToObject.toIGCItemList(response.getMessage());
+                return (IGCItemList) response.getBody();
             } else {
                 return new IGCItemList(true);
             }
@@ -427,20 +862,40 @@ public class URLConnection {
 
     /**
      * Check if a Resource is of a certain type (term, category, etc...).
+     * Answered from the cache or the TypeIndex when possible. Otherwise the resource is fetched in full with
+     * getAsset(), so it is cached (if caching is enabled) and shared with a concurrent GET of the same id; only
+     * a resource with no Java Object for its '_type' is requested again for its '_type' alone.
      * @param id ID of Resource to check.
      * @param type Type to check Resource against.
      * @return boolean of whether Resource matches type. Returns false if ID cannot be found, or if bad request.
      */
     public boolean isResourceOfType(String id, String type) throws IOException {
+        IGCResource cached = getCachedResource(id);
+        if (cached != null) {
+            return type.equals(cached.get_type());
+        }
+        String indexedType = typeIndex.get(id);
+        if (indexedType != null) {
+            return type.equals(indexedType);
+        }
         String urlWithExtension = this.urlString + "assets/" + id;
         logger.debug("isResourceOfType() called id: " + id + "\nand type: " + type);
         URL getUrl = new URL(urlWithExtension);
 
         try {
-            Response response = makeHttpRequest(getUrl, HttpMethod.GET, true);
-            if (response.getResponseCode() < 300) {
-                String apiType = JsonToObject.toTypeContainer(response.getMessage()).get_type();
-                return (type.equals(apiType));
+            Response response;
+            try {
+                response = getAsset("isResourceOfType", getUrl, id);
+            } catch (IllegalArgumentException e) { // No Java Object for its '_type': read only the '_type'.
+                response = makeHttpRequest("isResourceOfType", getUrl, HttpMethod.GET, true, TYPE_DECODER);
+                if (response.getResponseCode() < 300) {
+                    String apiType = (String) response.getBody();
+                    typeIndex.put(id, apiType);
+                    return type.equals(apiType);
+                }
+            }
+            if (response.getResponseCode() < 300 || response.getResponseCode() == 304) {
+                return type.equals(((IGCResource) response.getBody()).get_type());
             } else if (response.getResponseCode() == 404) { //Id could not be found.
                 return false;
             } else {
@@ -453,9 +908,119 @@ public class URLConnection {
         }
     }
 
+    /**
+     * Get many full IGCResources at once.
+     * Ids are combined into POST searches on the '_id' property (BATCH_SEARCH_SIZE ids per search, one search
+     * per resource type), requesting every property held by the matching POJO. Any id the searches miss is then
+     * fetched with a GET, FALLBACK_GET_THREADS at a time.
+     * Expired cached copies kept for revalidation are first checked with searches for 'modified_on' only, and
+     * re-used if unchanged (see revalidateByModifiedOn()).
+     * TODO *** New resource types will need to be added to FULL_PROPERTIES as new IGC POJO classes are created ***
+     * @param ids IDs of resources to get. Duplicates are ignored.
+     * @return Map of id to IGCResource (Term, Category, etc...), in the order of the given ids.
+     *         Ids that do not exist or could not be fetched are left out of the Map.
+     * @throws IOException: thrown by searchIGC()
+     * @throws IllegalArgumentException: Thrown by JsonToObject.readIGCResourceList()
+     */
+    public Map<String, IGCResource> getIGCResourcesByIds(Collection<String> ids)
+            throws IOException, IllegalArgumentException {
+        List<String> idList = new ArrayList<>(new LinkedHashSet<>(ids));
+        Map<String, IGCResource> found = new HashMap<>();
+        logger.info("Attempting to get " + idList.size() + " IGCResources by id");
+        for (String id : idList) {
+            IGCResource cached = getCachedResource(id);
+            if (cached != null) {
+                found.put(id, cached);
+            }
+        }
+        revalidateByModifiedOn(idList, found);
+
+        // POST search for ids in chunks, once for each type that has a POJO.
+        for (int i = 0; i < idList.size(); i += BATCH_SEARCH_SIZE) {
+            List<String> chunk = idList.subList(i, Math.min(i + BATCH_SEARCH_SIZE, idList.size()));
+            for (String type : this.postSearchTypes) {
+                List<String> properties = FULL_PROPERTIES.get(type);
+                List<PostCondition> conditions = new ArrayList<>();
+                for (String id : chunk) {
+                    if (!found.containsKey(id)) {
+                        conditions.add(new PostCondition("_id", "=", id));
+                    }
+                }
+                if (properties == null || conditions.isEmpty()) {
+                    continue;
+                }
+                Response response = searchIGC("getIGCResourcesByIds", Collections.singletonList(type), conditions,
+                        "or", properties, PostSearchBody.DEFAULT_PAGE_SIZE, JsonToObject::readIGCResourceList);
+                if (response.getResponseCode() < 300) {
+                    @SuppressWarnings("unchecked")
+                    List<IGCResource> results = (List<IGCResource>) response.getBody();
+                    for (IGCResource resource : results) {
+                        found.put(resource.get_id(), resource);
+                        cacheResource(resource.get_id(), resource, response.getContentLength() / results.size());
+                    }
+                } else {
+                    logger.warn("Batch search for " + type + " ids failed with code " + response.getResponseCode() +
+                            ". Falling back to GET requests.");
+                }
+            }
+        }
+
+        // GET anything the searches missed, in parallel.
+        List<String> missing = new ArrayList<>();
+        for (String id : idList) {
+            if (!found.containsKey(id)) {
+                missing.add(id);
+            }
+        }
+        if (!missing.isEmpty()) {
+            logger.info(missing.size() + " ids not found by batch search. Trying GET requests.");
+            Semaphore places = new Semaphore(FALLBACK_GET_THREADS);
+            Map<String, Future<IGCResource>> futures = new LinkedHashMap<>();
+            try {
+                for (String id : missing) {
+                    places.acquire();
+                    futures.put(id, this.pageExecutor.submit(() -> {
+                        try {
+                            return getIGCResourceById(id);
+                        } finally {
+                            places.release();
+                        }
+                    }));
+                }
+                for (Map.Entry<String, Future<IGCResource>> entry : futures.entrySet()) {
+                    try {
+                        IGCResource resource = entry.getValue().get();
+                        if (!resource.get_type().isEmpty()) { // Skip failed-request placeholders.
+                            found.put(entry.getKey(), resource);
+                        }
+                    } catch (ExecutionException e) {
+                        logger.warn("Could not GET IGCResource " + entry.getKey() + ": " + e.getCause());
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while getting IGCResources by id.");
+            } finally {
+                for (Future<IGCResource> future : futures.values()) { // Only interrupts GETs still in flight.
+                    future.cancel(true);
+                }
+            }
+        }
+
+        // Return in the order requested.
+        Map<String, IGCResource> resources = new LinkedHashMap<>();
+        for (String id : idList) {
+            if (found.containsKey(id)) {
+                resources.put(id, found.get(id));
+            }
+        }
+        return resources;
+    }
+
     //// PUT METHODS - Update ////
     /* Updates can easily be done by creating an empty new Resource object (Term, Category, etc), and
-     * then using setter methods to add the fields that are to be updated. */
+     * then using setter methods to add the fields that are to be updated. Or by changing a copy of a fetched
+     * Resource and passing both to updateIGCResource(id, original, modified), which only PUTs what changed. */
 
     /**
      * Update an existing IGC API resource (Category, Term, etc...).
@@ -468,15 +1033,56 @@ public class URLConnection {
      *  - Seems that getting a Resource from the API, changing a field and then using that Resource
      *    here as an argument causes a server error.
      *  - May have something to do with PUTing a Resource object with API set fields.
-     *  --> Should instead create an empty term object, using setters to add field values that are to be updated.
+     *  --> Should instead create an empty term object, using setters to add field values that are to be updated,
+     *      or use updateIGCResource(String, IGCResource, IGCResource).
      */
     public Response updateIGCResource(String id, IGCResource updateResource) throws IOException {
+        return putIGCResource(id, updateResource);
+    }
+
+    /**
+     * Update an existing IGC API resource with only the properties that differ between two versions of it, so a
+     * fetched resource can be changed through its setters and PUT back. See ResourceDiff for how they are
+     * compared. No request is sent if nothing changed.
+     * @param id ID of the resource to update.
+     * @param original The resource as it is in IGC, typically from getIGCResourceById().
+     * @param modified The resource as it should be.
+     * @return Response object from the API request. If nothing changed and no request was sent, a local 204
+     *         'No Content' Response without a body, counted by getSkippedUpdateCount().
+     * @throws IOException: Thrown by makeHttpRequest()
+     * @throws IllegalArgumentException: Thrown if the two versions are not of the same '_type'.
+     */
+    public Response updateIGCResource(String id, IGCResource original, IGCResource modified)
+            throws IOException, IllegalArgumentException {
+        ResourceDiff diff = ResourceDiff.between(original, modified);
+        if (diff.isEmpty()) {
+            skippedUpdates.increment();
+            logger.debug("No changes to update for IGCResource: " + id);
+            return new Response((Object) null, id, 204, "No Content", 0);
+        }
+        return putIGCResource(id, diff.getBody());
+    }
+
+    /**
+     * PUT a body to an existing IGC API resource.
+     * @param id ID of the resource to update.
+     * @param updateBody IGC object or JSON holding the properties to update.
+     * @return Response object from the API request.
+     * @throws IOException: Thrown by makeHttpRequest()
+     */
+    private Response putIGCResource(String id, Object updateBody) throws IOException {
         String urlWithExtension = this.urlString + "assets/" + id;
         URL putUrl = new URL(urlWithExtension);
         try {
             logger.info("Attempting to update IGCResource: " + id);
-            logger.debug("New properties to PUT:\n" + updateResource);
-            return makeHttpRequest(putUrl, HttpMethod.PUT, updateResource);
+            if (logger.isDebugEnabled()) {
+                logger.debug("New properties to PUT:\n" + updateBody);
+            }
+            Response response = makeHttpRequest("updateIGCResource", putUrl, HttpMethod.PUT, updateBody);
+            if (response.getResponseCode() < 300) {
+                invalidateCachedResource(id);
+            }
+            return response;
         } catch (Exception e) {
             logger.error("XXX - makeHttpRequest failed when called from updateIGCResource()");
             e.printStackTrace();
@@ -524,8 +1130,14 @@ public class URLConnection {
         URL postUrl = new URL(urlWithExtension);
         try {
             logger.info("Attempting to create new IGCResource");
-            logger.debug("Resource to be created:\n" + newResource);
-            return makeHttpRequest(postUrl, HttpMethod.POST, newResource);
+            if (logger.isDebugEnabled()) {
+                logger.debug("Resource to be created:\n" + newResource);
+            }
+            Response response = makeHttpRequest("createIGCResource", postUrl, HttpMethod.POST, newResource);
+            if (response.getResponseCode() < 300) {
+                typeIndex.put(response.get_id(), newResource.get_type());
+            }
+            return response;
         } catch (Exception e) {
             logger.error("XXX - makeHttpRequest failed when called from createIGCResource()");
             e.printStackTrace();
@@ -544,17 +1156,63 @@ public class URLConnection {
      */
     public Response searchIGC (List<String> types, List<PostCondition> conditions, String operator)
             throws IOException, IllegalStateException {
+        return searchIGC(types, conditions, operator, DEFAULT_SEARCH_PROPERTIES);
+    }
+
+    /**
+     * Given Lists of types, search conditions and properties to return, search the IGC API.
+     * @param types List(String) of types such as category, term, etc... to search for
+     * @param conditions List(PostCondition) of PostCondition objects, each of which define a search condition.
+     * @param operator Boolean operator ('or', 'and') for search conditions.
+     * @param properties List(String) of properties to return for each result, in addition to IGC's basic set.
+     * @return A Response object, containing the JSON message and response code/message.
+     * @throws IOException: thrown by makeHttpRequest()
+     */
+    public Response searchIGC (List<String> types, List<PostCondition> conditions, String operator,
+                               List<String> properties) throws IOException, IllegalStateException {
+        return searchIGC(types, conditions, operator, properties, PostSearchBody.DEFAULT_PAGE_SIZE);
+    }
+
+    /**
+     * Given Lists of types, search conditions and properties to return, search the IGC API.
+     * Only the first page of results is returned. See streamSearchIGC() to get every page.
+     * @param types List(String) of types such as category, term, etc... to search for
+     * @param conditions List(PostCondition) of PostCondition objects, each of which define a search condition.
+     * @param operator Boolean operator ('or', 'and') for search conditions.
+     * @param properties List(String) of properties to return for each result, in addition to IGC's basic set.
+     * @param pageSize Number of results per page.
+     * @return A Response object, containing the JSON message and response code/message.
+     * @throws IOException: thrown by makeHttpRequest()
+     */
+    public Response searchIGC (List<String> types, List<PostCondition> conditions, String operator,
+                               List<String> properties, int pageSize) throws IOException, IllegalStateException {
+        return searchIGC("searchIGC", types, conditions, operator, properties, pageSize, null);
+    }
+
+    /**
+     * POST search the IGC API, decoding a successful result straight from the connection.
+     * @param operation Name of the calling operation, for the RequestMetrics.
+     * @param types List(String) of types such as category, term, etc... to search for
+     * @param conditions List(PostCondition) of PostCondition objects, each of which define a search condition.
+     * @param operator Boolean operator ('or', 'and') for search conditions.
+     * @param properties List(String) of properties to return for each result, in addition to IGC's basic set.
+     * @param pageSize Number of results per page.
+     * @param decoder Decoder for a successful result (see Response.getBody()), or null to keep the JSON message.
+     * @return A Response object, containing the decoded result or JSON message and response code/message.
+     * @throws IOException: thrown by makeHttpRequest()
+     */
+    private Response searchIGC (String operation, List<String> types, List<PostCondition> conditions,
+                                String operator, List<String> properties, int pageSize, ResponseDecoder<?> decoder)
+            throws IOException, IllegalStateException {
         String urlWithExtension = this.urlString + "search/";
         URL postUrl = new URL(urlWithExtension);
 
-        //Not quite sure how this works... Seems to return some basic properties plus these listed.
-        //Currently fills out entire IGCItem object.
-        String[] properties = {"modified_on", "short_description"};
-        List<String> propertiesList = Arrays.asList(properties);
         try {
-            PostSearchBody searchBody = new PostSearchBody(propertiesList, types, conditions, operator);
-            logger.debug("Attempting to POST-search IGC with search body:\n" + searchBody);
-            Response response =  makeHttpRequest(postUrl, HttpMethod.POST, searchBody);
+            PostSearchBody searchBody = new PostSearchBody(properties, types, conditions, operator, pageSize);
+            if (logger.isDebugEnabled()) {
+                logger.debug("Attempting to POST-search IGC with search body:\n" + searchBody);
+            }
+            Response response = makeHttpRequest(operation, postUrl, HttpMethod.POST, searchBody, decoder);
 //            if (response.getResponseCode() < 300) {
             return response;
 //            } else { //No JSON message to build a pojo from. Throw exception.
@@ -574,26 +1232,11 @@ public class URLConnection {
      * @param searchTerm String to search for in IGC Resources
      * @return IGCItemList of search results.
      * @throws IOException: thrown by makeHttpRequest()
-     * @throws IllegalArgumentException: Thrown by JsonToObject.toIGCItemList()
+     * @throws IllegalArgumentException: Thrown by JsonToObject.readIGCItemList()
      */
     public IGCItemList searchIGCResource(String searchTerm) throws IOException, IllegalArgumentException {
-        // Set up search conditions
-        PostCondition nameCondition = new PostCondition("name", "like %{0}%", searchTerm);
-        PostCondition sDescCondition = new PostCondition("short_description", "like %{0}%", searchTerm);
-        PostCondition lDescCondition = new PostCondition("long_description", "like %{0}%", searchTerm);
-
-        List<PostCondition> conditions = new ArrayList<>();
-        conditions.add(nameCondition);
-        conditions.add(sDescCondition);
-        conditions.add(lDescCondition);
-
         logger.info("Attempting to search for IGCResource with term: " + searchTerm);
-        Response response = searchIGC(this.postSearchTypes, conditions, "or");
-        if (response.getResponseCode() < 300) {
-            return JsonToObject.toIGCItemList(response.getMessage());
-        } else {
-            return new IGCItemList(true);
-        }
+        return searchItemList(searchTermConditions(searchTerm));
     }
 
     /**
@@ -602,21 +1245,11 @@ public class URLConnection {
      * @param name Name to search for.
      * @return IGCItemList of search results.
      * @throws IOException: thrown by makeHttpRequest()
-     * @throws IllegalArgumentException: Thrown by JsonToObject.toIGCItemList()
+     * @throws IllegalArgumentException: Thrown by JsonToObject.readIGCItemList()
      */
     public IGCItemList searchIGCResourceName(String name) throws IOException, IllegalArgumentException {
-        // Set up search conditions
-        PostCondition nameCondition = new PostCondition("name", "like %{0}%", name);
-        List<PostCondition> conditions = new ArrayList<>();
-        conditions.add(nameCondition);
-
         logger.info("Attempting to search IGCResource with name: " + name);
-        Response response = searchIGC(this.postSearchTypes, conditions, "or");
-        if (response.getResponseCode() < 300) {
-            return JsonToObject.toIGCItemList(response.getMessage());
-        } else {
-            return new IGCItemList(true);
-        }
+        return searchItemList(likeConditions("name", name));
     }
 
     /**
@@ -625,70 +1258,30 @@ public class URLConnection {
      * @param max String of upper bound time: 'yyyy/MM/dd HH:mm:ss'.
      * @return IGCItemList of search results.
      * @throws IOException: thrown by makeHttpRequest()
-     * @throws IllegalArgumentException: Thrown by JsonToObject.toIGCItemList()
+     * @throws IllegalArgumentException: Thrown by JsonToObject.readIGCItemList()
      * @throws ParseException: Thrown if dates cannot be properly parsed.
      */
     public IGCItemList searchIGCResourceModifiedBetween(String min, String max)
             throws IOException, IllegalArgumentException, ParseException {
-        //Parse dates.
-        SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy/MM/dd HH:mm:ss");
-        try {
-            Date date1 = dateFormat.parse(min);
-            Date date2 = dateFormat.parse(max);
-
-            // Set up search conditions
-            PostCondition nameCondition = new PostCondition("modified_on", "between",
-                    null, false, date1.getTime(), date2.getTime());
-            List<PostCondition> conditions = new ArrayList<>();
-            conditions.add(nameCondition);
-
-            logger.info("Attempting to search IGCResource modified between " + min + " and " + max);
-            Response response = searchIGC(this.postSearchTypes, conditions, "or");
-            if (response.getResponseCode() < 300) {
-                return JsonToObject.toIGCItemList(response.getMessage());
-            } else {
-                return new IGCItemList(true);
-            }
-        } catch (ParseException e) {
-            logger.error("Could not parse date String(s).");
-            throw e;
-        }
+        List<PostCondition> conditions = betweenConditions("modified_on", min, max);
+        logger.info("Attempting to search IGCResource modified between " + min + " and " + max);
+        return searchItemList(conditions);
     }
 
     /**
-     * Searches the IGC API for resources modified between the two provided dates/times.
+     * Searches the IGC API for resources created between the two provided dates/times.
      * @param min String of lower bound time: 'yyyy/MM/dd HH:mm:ss'.
      * @param max String of upper bound time: 'yyyy/MM/dd HH:mm:ss'.
      * @return IGCItemList of search results.
      * @throws IOException: thrown by makeHttpRequest()
-     * @throws IllegalArgumentException: Thrown by JsonToObject.toIGCItemList()
+     * @throws IllegalArgumentException: Thrown by JsonToObject.readIGCItemList()
      * @throws ParseException: Thrown if dates cannot be properly parsed.
      */
     public IGCItemList searchIGCResourceCreatedBetween(String min, String max)
             throws IOException, IllegalArgumentException, ParseException {
-        //Parse dates.
-        SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy/MM/dd HH:mm:ss");
-        try {
-            Date date1 = dateFormat.parse(min);
-            Date date2 = dateFormat.parse(max);
-
-            // Set up search conditions
-            PostCondition nameCondition = new PostCondition("created_on", "between",
-                    null, false, date1.getTime(), date2.getTime());
-            List<PostCondition> conditions = new ArrayList<>();
-            conditions.add(nameCondition);
-
-            logger.info("Attempting to search IGCResource created between " + min + " and " + max);
-            Response response = searchIGC(this.postSearchTypes, conditions, "or");
-            if (response.getResponseCode() < 300) {
-                return JsonToObject.toIGCItemList(response.getMessage());
-            } else {
-                return new IGCItemList(true);
-            }
-        } catch (ParseException e) {
-            logger.error("Could not parse date String(s)");
-            throw e;
-        }
+        List<PostCondition> conditions = betweenConditions("created_on", min, max);
+        logger.info("Attempting to search IGCResource created between " + min + " and " + max);
+        return searchItemList(conditions);
     }
 
     /**
@@ -697,24 +1290,11 @@ public class URLConnection {
      * @param name Name of the user to search resources for.
      * @return IGCItemList of search results.
      * @throws IOException: thrown by makeHttpRequest()
-     * @throws IllegalArgumentException: Thrown by JsonToObject.toIGCItemList()
+     * @throws IllegalArgumentException: Thrown by JsonToObject.readIGCItemList()
      */
     public IGCItemList searchIGCResourceByUser(String name) throws IOException, IllegalArgumentException {
-        // Set up search conditions
-        PostCondition modCondition = new PostCondition("modified_by", "like %{0}%", name);
-//        PostCondition createCondition = new PostCondition("created_by", "like %{0}%", name);
-
-        List<PostCondition> conditions = new ArrayList<>();
-        conditions.add(modCondition);
-//        conditions.add(createCondition);
-
         logger.info("Attempting to search IGCResource by user: " + name);
-        Response response = searchIGC(this.postSearchTypes, conditions, "or");
-        if (response.getResponseCode() < 300) {
-            return JsonToObject.toIGCItemList(response.getMessage());
-        } else {
-            return new IGCItemList(true);
-        }
+        return searchItemList(likeConditions("modified_by", name));
     }
 
     /**
@@ -723,46 +1303,280 @@ public class URLConnection {
      * @param name Search term.
      * @return IGCItemList of search results.
      * @throws IOException: thrown by makeHttpRequest()
-     * @throws IllegalArgumentException: Thrown by JsonToObject.toIGCItemList()
+     * @throws IllegalArgumentException: Thrown by JsonToObject.readIGCItemList()
      */
     public IGCItemList searchIGCResourceCustom(String property, String name)
             throws IOException, IllegalArgumentException {
-        // Set up search conditions
-        PostCondition custCondition = new PostCondition(property, "like %{0}%", name);
-
-        List<PostCondition> conditions = new ArrayList<>();
-        conditions.add(custCondition);
-
         logger.info("Attempting to search IGCResource by custom property: " + property + " with search term: " + name);
-        Response response = searchIGC(this.postSearchTypes, conditions, "or");
-        if (response.getResponseCode() < 300) {
-            return JsonToObject.toIGCItemList(response.getMessage());
-        } else {
-            return new IGCItemList(true);
-        }
+        return searchItemList(likeConditions(property, name));
     }
 
     /**
      * Returns an IGCItemList of all Resources that are missing a given property.
      * @return IGCItemList of search results
      * @throws IOException: IOException thrown by makeHttpRequest()
-     * @throws IllegalArgumentException: Thrown by JsonToObject.toIGCItemList()
+     * @throws IllegalArgumentException: Thrown by JsonToObject.readIGCItemList()
      */
     public IGCItemList searchIGCResourceNullProp(String property) throws IOException, IllegalArgumentException {
-        PostCondition condition = new PostCondition(property, "isNull", null);
+        logger.info("Attempting to search IGCResource with 'NULL' for property: " + property);
+        return searchItemList(nullConditions(property));
+    }
 
-        List<PostCondition> conditions = new ArrayList<>();
-        conditions.add(condition);
+    /**
+     * Returns an IGCItemList of the categories named exactly 'name'. Unlike searchIGCResourceName(), names that
+     * only contain 'name' do not match, and only categories are searched. Used to look up parent categories.
+     * @param name Name of the categories to find.
+     * @return IGCItemList of search results. An IGCItemList with 'failedResponse' set if the search failed.
+     * @throws IOException: IOException thrown by makeHttpRequest()
+     * @throws IllegalArgumentException: Thrown by JsonToObject.readIGCItemList()
+     */
+    public IGCItemList searchIGCCategoryName(String name) throws IOException, IllegalArgumentException {
+        logger.debug("Attempting to search categories named: " + name);
+        Response response = searchIGC("searchIGC", Collections.singletonList("category"),
+                Collections.singletonList(new PostCondition("name", "=", name)), "and", DEFAULT_SEARCH_PROPERTIES,
+                PostSearchBody.DEFAULT_PAGE_SIZE, ITEM_LIST_DECODER);
+        if (response.getResponseCode() < 300) {
+            return (IGCItemList) response.getBody();
+        } else {
+            return new IGCItemList(true);
+        }
+    }
 
-        logger.info("Attempting to search IGCResource with 'NULL' for property: " + property);
-        Response response = searchIGC(this.postSearchTypes, conditions, "or");
+    /**
+     * POST search the default types for the default properties, returning the first page of results.
+     * @param conditions Search conditions, joined with "or".
+     * @return IGCItemList of search results. Returns an empty IGCItemList with 'failedRequest' set to true if the
+     *         search fails.
+     * @throws IOException: thrown by makeHttpRequest()
+     * @throws IllegalArgumentException: Thrown by JsonToObject.readIGCItemList()
+     */
+    private IGCItemList searchItemList(List<PostCondition> conditions) throws IOException, IllegalArgumentException {
+        Response response = searchIGC("searchIGC", this.postSearchTypes, conditions, "or",
+                DEFAULT_SEARCH_PROPERTIES, PostSearchBody.DEFAULT_PAGE_SIZE, ITEM_LIST_DECODER);
         if (response.getResponseCode() < 300) {
-            return JsonToObject.toIGCItemList(response.getMessage());
+            return (IGCItemList) response.getBody();
         } else {
             return new IGCItemList(true);
         }
     }
 
+    // Search conditions //
+
+    /**
+     * Conditions matching resources with the searchTerm in their name, short or long description.
+     * @param searchTerm String to search for.
+     * @return List of PostConditions, to be joined with "or".
+     */
+    private static List<PostCondition> searchTermConditions(String searchTerm) {
+        List<PostCondition> conditions = new ArrayList<>();
+        conditions.add(new PostCondition("name", "like %{0}%", searchTerm));
+        conditions.add(new PostCondition("short_description", "like %{0}%", searchTerm));
+        conditions.add(new PostCondition("long_description", "like %{0}%", searchTerm));
+        return conditions;
+    }
+
+    /**
+     * Condition matching resources where a property contains a value.
+     * @param property Property to search.
+     * @param value Value the property must contain.
+     * @return List with a single PostCondition.
+     */
+    private static List<PostCondition> likeConditions(String property, String value) {
+        List<PostCondition> conditions = new ArrayList<>();
+        conditions.add(new PostCondition(property, "like %{0}%", value));
+        return conditions;
+    }
+
+    /**
+     * Condition matching resources where a property is null.
+     * @param property Property that must be missing.
+     * @return List with a single PostCondition.
+     */
+    private static List<PostCondition> nullConditions(String property) {
+        List<PostCondition> conditions = new ArrayList<>();
+        conditions.add(new PostCondition(property, "isNull", null));
+        return conditions;
+    }
+
+    /**
+     * Condition matching resources where a date property is between two dates/times.
+     * @param property Date property to search (modified_on, created_on, ...).
+     * @param min String of lower bound time: 'yyyy/MM/dd HH:mm:ss'.
+     * @param max String of upper bound time: 'yyyy/MM/dd HH:mm:ss'.
+     * @return List with a single PostCondition.
+     * @throws ParseException: Thrown if dates cannot be properly parsed.
+     */
+    private List<PostCondition> betweenConditions(String property, String min, String max) throws ParseException {
+        //Parse dates.
+        SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy/MM/dd HH:mm:ss");
+        try {
+            Date date1 = dateFormat.parse(min);
+            Date date2 = dateFormat.parse(max);
+
+            List<PostCondition> conditions = new ArrayList<>();
+            conditions.add(new PostCondition(property, "between",
+                    null, false, date1.getTime(), date2.getTime()));
+            return conditions;
+        } catch (ParseException e) {
+            logger.error("Could not parse date String(s).");
+            throw e;
+        }
+    }
+
+    //// STREAMING METHODS - Every page of a search or list ////
+    /* Each method below lazily pages through every result. Once the first page reveals the total number of
+     * results, up to pagePrefetchWindow following pages are requested concurrently and returned in order.
+     * See IGCItemIterator for details, and for how failed requests are reported. */
+
+    /**
+     * @return Maximum number of page requests a streaming search or list keeps in flight.
+     */
+    public int getPagePrefetchWindow() {
+        return pagePrefetchWindow;
+    }
+
+    /**
+     * Set how many page requests a streaming search or list may keep in flight.
+     * Applies to streams created after this call.
+     * @param pagePrefetchWindow Maximum number of concurrent page requests. 0 to request pages one at a time.
+     */
+    public void setPagePrefetchWindow(int pagePrefetchWindow) {
+        this.pagePrefetchWindow = Math.max(pagePrefetchWindow, 0);
+    }
+
+    /**
+     * Stream every IGC category.
+     * @param pageSize Number of categories to request per page.
+     * @return Lazy Stream of IGCItems over every page of categories.
+     */
+    public Stream<IGCItem> streamIGCCategoryList(int pageSize) {
+        return streamGetPages(this.urlString + "search?types=category&pageSize=" + pageSize);
+    }
+
+    /**
+     * Stream every IGC term.
+     * @param pageSize Number of terms to request per page.
+     * @return Lazy Stream of IGCItems over every page of terms.
+     */
+    public Stream<IGCItem> streamIGCTermList(int pageSize) {
+        return streamGetPages(this.urlString + "search?types=term&pageSize=" + pageSize);
+    }
+
+    /**
+     * Stream every result of a POST search of the IGC API.
+     * @param types List(String) of types such as category, term, etc... to search for
+     * @param conditions List(PostCondition) of PostCondition objects, each of which define a search condition.
+     * @param operator Boolean operator ('or', 'and') for search conditions.
+     * @param properties List(String) of properties to return for each result, in addition to IGC's basic set.
+     * @param pageSize Number of results to request per page.
+     * @return Lazy Stream of IGCItems over every page of results.
+     */
+    public Stream<IGCItem> streamSearchIGC(List<String> types, List<PostCondition> conditions, String operator,
+                                           List<String> properties, int pageSize) {
+        return new IGCItemIterator(this,
+                () -> searchIGC("searchIGC", types, conditions, operator, properties, pageSize, ITEM_LIST_DECODER),
+                this.pageExecutor, this.pagePrefetchWindow).stream();
+    }
+
+    /**
+     * Streaming version of searchIGCResource().
+     * @param searchTerm String to search for in IGC Resources
+     * @return Lazy Stream of IGCItems over every page of results.
+     */
+    public Stream<IGCItem> streamSearchIGCResource(String searchTerm) {
+        return streamSearch(searchTermConditions(searchTerm));
+    }
+
+    /**
+     * Streaming version of searchIGCResourceName().
+     * @param name Name to search for.
+     * @return Lazy Stream of IGCItems over every page of results.
+     */
+    public Stream<IGCItem> streamSearchIGCResourceName(String name) {
+        return streamSearch(likeConditions("name", name));
+    }
+
+    /**
+     * Streaming version of searchIGCResourceModifiedBetween().
+     * @param min String of lower bound time: 'yyyy/MM/dd HH:mm:ss'.
+     * @param max String of upper bound time: 'yyyy/MM/dd HH:mm:ss'.
+     * @return Lazy Stream of IGCItems over every page of results.
+     * @throws ParseException: Thrown if dates cannot be properly parsed.
+     */
+    public Stream<IGCItem> streamSearchIGCResourceModifiedBetween(String min, String max) throws ParseException {
+        return streamSearch(betweenConditions("modified_on", min, max));
+    }
+
+    /**
+     * Streaming version of searchIGCResourceCreatedBetween().
+     * @param min String of lower bound time: 'yyyy/MM/dd HH:mm:ss'.
+     * @param max String of upper bound time: 'yyyy/MM/dd HH:mm:ss'.
+     * @return Lazy Stream of IGCItems over every page of results.
+     * @throws ParseException: Thrown if dates cannot be properly parsed.
+     */
+    public Stream<IGCItem> streamSearchIGCResourceCreatedBetween(String min, String max) throws ParseException {
+        return streamSearch(betweenConditions("created_on", min, max));
+    }
+
+    /**
+     * Streaming version of searchIGCResourceByUser().
+     * @param name Name of the user to search resources for.
+     * @return Lazy Stream of IGCItems over every page of results.
+     */
+    public Stream<IGCItem> streamSearchIGCResourceByUser(String name) {
+        return streamSearch(likeConditions("modified_by", name));
+    }
+
+    /**
+     * Streaming version of searchIGCResourceCustom().
+     * @param property Property to search the IGC API for (name, parent_category, parent_category._id, etc).
+     * @param name Search term.
+     * @return Lazy Stream of IGCItems over every page of results.
+     */
+    public Stream<IGCItem> streamSearchIGCResourceCustom(String property, String name) {
+        return streamSearch(likeConditions(property, name));
+    }
+
+    /**
+     * Streaming version of searchIGCResourceNullProp().
+     * @param property Property that results must be missing.
+     * @return Lazy Stream of IGCItems over every page of results.
+     */
+    public Stream<IGCItem> streamSearchIGCResourceNullProp(String property) {
+        return streamSearch(nullConditions(property));
+    }
+
+    /**
+     * Stream every result of a POST search of the default types, with the default properties and page size.
+     * @param conditions Search conditions, joined with "or".
+     * @return Lazy Stream of IGCItems over every page of results.
+     */
+    private Stream<IGCItem> streamSearch(List<PostCondition> conditions) {
+        return streamSearchIGC(this.postSearchTypes, conditions, "or", DEFAULT_SEARCH_PROPERTIES,
+                PostSearchBody.DEFAULT_PAGE_SIZE);
+    }
+
+    /**
+     * Stream every result of a GET search, starting at the given URL.
+     * @param firstPageUrl Full URL of the first page.
+     * @return Lazy Stream of IGCItems over every page of results.
+     */
+    private Stream<IGCItem> streamGetPages(String firstPageUrl) {
+        return new IGCItemIterator(this, () -> getSearchPage(firstPageUrl),
+                this.pageExecutor, this.pagePrefetchWindow).stream();
+    }
+
+    /**
+     * GET a page of search results. Used by IGCItemIterator to follow IGCPaging.next.
+     * @param pageUrl Full URL of the page.
+     * @return Response of the GET request, holding the page as an IGCItemList (see Response.getBody()).
+     * @throws IOException: thrown by makeHttpRequest()
+     */
+    Response getSearchPage(String pageUrl) throws IOException {
+        logger.debug("Requesting page of results: " + pageUrl);
+        return makeHttpRequest("getSearchPage", new URL(pageUrl), HttpMethod.GET, true, ITEM_LIST_DECODER);
+    }
+
     //// DELETE METHODS - Delete ////
 
     /**
@@ -775,7 +1589,12 @@ public class URLConnection {
         String urlWithExtension = this.urlString + "assets/" + id;
         URL deleteUrl = new URL(urlWithExtension);
         try {
-            return makeHttpRequest(deleteUrl, HttpMethod.DELETE, null);
+            Response response = makeHttpRequest("deleteIGCResource", deleteUrl, HttpMethod.DELETE);
+            if (response.getResponseCode() < 300) {
+                invalidateCachedResource(id);
+                typeIndex.remove(id);
+            }
+            return response;
         } catch (Exception e) {
             e.printStackTrace();
             throw e;
@@ -0,0 +1,429 @@
+package com.common.bulkimport;
+
+import com.Utility.Utility;
+import com.Utility.codec.Codecs;
+import com.common.URLConnection;
+import com.dataObjects.Category;
+import com.dataObjects.IGCResource;
+import com.dataObjects.Term;
+import com.dataObjects.requests.Response;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Creates Terms and Categories in bulk from a CSV or JSONL file (see ImportReader for the formats).
+ *
+ *  - Rows are mapped to the POJO of their '_type' (the '_type' column, or the default type), so any property the
+ *    POJO holds can be imported, custom fields included.
+ *  - The parent category is given by '_id' ('parent_id' column) or by name ('parent' column). Names are resolved
+ *    once each with a search and cached; categories created earlier in the same file are waited for rather than
+ *    searched for, so a file can create a hierarchy as long as parents come before their children.
+ *  - Rows are created by up to 'workers' concurrent requests. The file is read only as fast as rows are created,
+ *    and creates can be throttled to a maximum rate to spare IGC (on top of the transport's adaptive limits).
+ *  - With a checkpoint file, every created row is recorded as it succeeds. Running the same import again skips
+ *    them, so a crashed or interrupted run resumes where it stopped and failed rows are retried.
+ *  - Progress and throughput are logged every 'progressInterval', and summed up in the returned ImportSummary.
+ *
+ * A row that cannot be imported (malformed, unknown parent, error response, ...) is reported in the summary and
+ * does not stop the others.
+ */
+public class BulkImporter {
+    /**
+     * Default number of concurrent creates.
+     */
+    public static final int DEFAULT_WORKERS = 8;
+    /**
+     * Default interval between progress reports.
+     */
+    public static final Duration DEFAULT_PROGRESS_INTERVAL = Duration.ofSeconds(10);
+
+    private final URLConnection connection;
+    private int workers = DEFAULT_WORKERS;
+    /**
+     * Maximum number of creates started per second. 0 for no limit.
+     */
+    private double maxRatePerSecond;
+    private String defaultType = "term";
+    private Path checkpointPath;
+    private Duration progressInterval = DEFAULT_PROGRESS_INTERVAL;
+
+    /**
+     * Time at which the next throttled create may start. Guarded by 'throttleLock'.
+     */
+    private long nextCreateNanos;
+    private final Object throttleLock = new Object();
+    /**
+     * Columns already warned about as unknown, so each is only logged once.
+     */
+    private final Set<String> unknownColumns = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Properties the POJOs hold, plus the ImportRecord columns. Other columns are ignored with a warning.
+     */
+    private static final Set<String> KNOWN_COLUMNS = ConcurrentHashMap.newKeySet();
+    static {
+        KNOWN_COLUMNS.addAll(Utility.getPropertyNames(Term.class));
+        KNOWN_COLUMNS.addAll(Utility.getPropertyNames(Category.class));
+        KNOWN_COLUMNS.add(ImportRecord.TYPE_COLUMN);
+        KNOWN_COLUMNS.add(ImportRecord.PARENT_COLUMN);
+        KNOWN_COLUMNS.add(ImportRecord.PARENT_ID_COLUMN);
+    }
+
+    /**
+     * SLF4J logger initialization.
+     */
+    private final Logger logger = LoggerFactory.getLogger(BulkImporter.class);
+
+    /**
+     * Create a BulkImporter with DEFAULT_WORKERS workers, no throttling and no checkpoint.
+     * @param connection URLConnection to create the resources with.
+     */
+    public BulkImporter(URLConnection connection) {
+        this.connection = connection;
+    }
+
+    /**
+     * Import every row of a file.
+     * @param input CSV or JSONL file, told apart by its extension (see ImportReader.Format.forPath()).
+     * @return Summary of the run.
+     * @throws IOException: Thrown if the input or checkpoint cannot be read or written, or if interrupted.
+     */
+    public ImportSummary importFile(Path input) throws IOException {
+        logger.info("Importing " + input + (checkpointPath == null ? "" : ", checkpoint " + checkpointPath));
+        try (ImportReader reader = new ImportReader(input, ImportReader.Format.forPath(input))) {
+            return importRecords(reader);
+        }
+    }
+
+    /**
+     * Import every row of an ImportReader. Returns once every row has been created or has failed.
+     * @param reader Rows to import. Not closed.
+     * @return Summary of the run.
+     * @throws IOException: Thrown if the input or checkpoint cannot be read or written, or if interrupted.
+     *                      Creates in flight are cancelled.
+     */
+    public ImportSummary importRecords(ImportReader reader) throws IOException {
+        long start = System.nanoTime();
+        ParentResolver parents = new ParentResolver(connection);
+        Map<Long, String> failures = new ConcurrentSkipListMap<>();
+        Progress progress = new Progress(start, failures);
+        long skipped = 0;
+        synchronized (throttleLock) {
+            nextCreateNanos = start;
+        }
+
+        Semaphore places = new Semaphore(workers);
+        ExecutorService executor = Utility.newTaskExecutor("igc-import");
+        try (ImportCheckpoint checkpoint = checkpointPath == null ? null : new ImportCheckpoint(checkpointPath)) {
+            if (checkpoint != null && checkpoint.size() > 0) {
+                logger.info("Resuming: " + checkpoint.size() + " rows were created by earlier runs.");
+            }
+            while (reader.hasNext()) {
+                ImportRecord record = reader.next();
+                String type = record.getType(defaultType);
+                String name = record.getName();
+
+                ImportCheckpoint.Entry done = checkpoint == null ? null : checkpoint.get(record.getRow());
+                if (done != null) {
+                    if (name != null && !name.equals(done.name)) {
+                        logger.warn("Row " + record.getRow() + " is '" + name + "', but the checkpoint recorded '" +
+                                done.name + "' for it. Has the input changed since the last run?");
+                    }
+                    if ("category".equals(done.type) && name != null) {
+                        parents.put(name, done.id);
+                    }
+                    skipped++;
+                    continue;
+                }
+
+                String error = validate(record, type, name);
+                if (error != null) {
+                    fail(record, error, progress);
+                    continue;
+                }
+                warnUnknownColumns(record);
+                // Registered in file order, before any later row can look the category up.
+                CompletableFuture<String> creation = "category".equals(type) ? parents.expect(name) : null;
+
+                places.acquire();
+                executor.execute(() -> {
+                    try {
+                        String id = create(record, type, parents, progress);
+                        if (creation != null) {
+                            if (id != null) {
+                                creation.complete(id);
+                            } else {
+                                creation.completeExceptionally(new IOException("Parent category '" + name +
+                                        "' could not be created: " + failures.get(record.getRow())));
+                            }
+                        }
+                        if (id != null) {
+                            record(checkpoint, record, type, id, progress);
+                        }
+                    } finally {
+                        places.release();
+                    }
+                });
+            }
+            places.acquire(workers); // Wait for the last creates.
+            places.release(workers);
+        } catch (UncheckedIOException e) { // Thrown by the ImportReader.
+            throw e.getCause();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while importing.");
+        } finally {
+            executor.shutdownNow();
+        }
+
+        ImportSummary summary = new ImportSummary(progress.getCreated(), skipped, failures,
+                parents.getSearchCount(), System.nanoTime() - start);
+        logger.info("Import finished: " + summary);
+        return summary;
+    }
+
+    /**
+     * @return Why the row cannot be imported, or null if it can be tried.
+     */
+    private static String validate(ImportRecord record, String type, String name) {
+        if (record.getError() != null) {
+            return record.getError();
+        } else if (!Codecs.isResourceType(type)) {
+            return "No Java Object for _type '" + type + "'.";
+        } else if (name == null) {
+            return "Row has no name.";
+        } else if ("category".equals(type) && record.getParentId() == null && name.equals(record.getParentName())) {
+            return "Category '" + name + "' cannot be its own parent.";
+        }
+        return null;
+    }
+
+    /**
+     * Resolve the parent of a row, map it to its POJO and create it.
+     * @return '_id' of the new resource, or null if the row failed (recorded as a failure).
+     */
+    private String create(ImportRecord record, String type, ParentResolver parents, Progress progress) {
+        try {
+            String parentId = record.getParentId();
+            if (parentId == null && record.getParentName() != null) {
+                parentId = parents.resolve(record.getParentName());
+            }
+            IGCResource resource = toResource(record, type, parentId);
+            throttle();
+            Response response = connection.createIGCResource(resource);
+            if (response.getResponseCode() >= 300) {
+                fail(record, "Create failed with code " + response.getResponseCode() + " - " +
+                        response.getCodeMessage(), progress);
+                return null;
+            }
+            return response.get_id();
+        } catch (IOException | RuntimeException e) {
+            fail(record, e.getMessage() == null ? e.toString() : e.getMessage(), progress);
+            return null;
+        }
+    }
+
+    /**
+     * Record a created row in the checkpoint, and count it.
+     * @param checkpoint Checkpoint to record the row in. May be null.
+     */
+    private void record(ImportCheckpoint checkpoint, ImportRecord record, String type, String id,
+                        Progress progress) {
+        if (checkpoint != null) {
+            try {
+                checkpoint.record(record.getRow(), type, id, record.getName());
+            } catch (IOException e) {
+                // Counted as failed so it is noticed: a resumed run would create the resource again.
+                fail(record, "Created as " + id + ", but could not be recorded in the checkpoint: " + e, progress);
+                return;
+            }
+        }
+        progress.created();
+    }
+
+    /**
+     * @param record Row to map.
+     * @param type '_type' of the resource.
+     * @param parentId '_id' of the parent category, or null.
+     * @return POJO of the row.
+     * @throws JsonParseException: Thrown if a property does not fit the POJO (a list where a String is expected...).
+     */
+    private static IGCResource toResource(ImportRecord record, String type, String parentId)
+            throws JsonParseException {
+        JsonObject json = new JsonObject();
+        for (Map.Entry<String, JsonElement> property : record.getProperties().entrySet()) {
+            String column = property.getKey();
+            if (!column.equals(ImportRecord.TYPE_COLUMN) && !column.equals(ImportRecord.PARENT_COLUMN) &&
+                    !column.equals(ImportRecord.PARENT_ID_COLUMN)) {
+                json.add(column, property.getValue());
+            }
+        }
+        json.addProperty("_type", type);
+        if (parentId != null) {
+            JsonObject parent = new JsonObject();
+            parent.addProperty("_id", parentId);
+            json.add("parent_category", parent);
+        }
+        return Codecs.gson().fromJson(json, IGCResource.class);
+    }
+
+    /**
+     * Wait until the next create may start, if creates are throttled.
+     */
+    private void throttle() throws InterruptedIOException {
+        double rate = maxRatePerSecond;
+        if (rate <= 0) {
+            return;
+        }
+        long wait;
+        synchronized (throttleLock) {
+            long now = System.nanoTime();
+            nextCreateNanos = Math.max(nextCreateNanos, now);
+            wait = nextCreateNanos - now;
+            nextCreateNanos += (long) (1e9 / rate);
+        }
+        if (wait > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while throttling creates.");
+            }
+        }
+    }
+
+    private void warnUnknownColumns(ImportRecord record) {
+        for (Map.Entry<String, JsonElement> property : record.getProperties().entrySet()) {
+            String column = property.getKey();
+            if (!KNOWN_COLUMNS.contains(column) && unknownColumns.add(column)) {
+                logger.warn("Column '" + column + "' is not a property of Term or Category, and is ignored.");
+            }
+        }
+    }
+
+    private void fail(ImportRecord record, String error, Progress progress) {
+        logger.warn("Could not import " + record + ": " + error);
+        progress.failed(record.getRow(), error);
+    }
+
+    //// CONFIGURATION ////
+
+    /**
+     * @param workers Maximum number of creates in flight at once. At least 1.
+     */
+    public void setWorkers(int workers) {
+        if (workers < 1) {
+            throw new IllegalArgumentException("There must be at least 1 worker: " + workers);
+        }
+        this.workers = workers;
+    }
+
+    public int getWorkers() {
+        return workers;
+    }
+
+    /**
+     * @param maxRatePerSecond Maximum number of creates started per second, or 0 for no limit.
+     */
+    public void setMaxRatePerSecond(double maxRatePerSecond) {
+        this.maxRatePerSecond = Math.max(maxRatePerSecond, 0);
+    }
+
+    public double getMaxRatePerSecond() {
+        return maxRatePerSecond;
+    }
+
+    /**
+     * @param defaultType '_type' of rows without a '_type' column ('term' by default).
+     */
+    public void setDefaultType(String defaultType) {
+        this.defaultType = defaultType;
+    }
+
+    public String getDefaultType() {
+        return defaultType;
+    }
+
+    /**
+     * @param checkpointPath File to record created rows in and resume from (see ImportCheckpoint), or null to
+     *                       import without one.
+     */
+    public void setCheckpoint(Path checkpointPath) {
+        this.checkpointPath = checkpointPath;
+    }
+
+    public Path getCheckpoint() {
+        return checkpointPath;
+    }
+
+    /**
+     * @param progressInterval Minimum time between progress reports.
+     */
+    public void setProgressInterval(Duration progressInterval) {
+        this.progressInterval = progressInterval;
+    }
+
+    public Duration getProgressInterval() {
+        return progressInterval;
+    }
+
+    /**
+     * Counts the rows of a run, logging progress and throughput at most once per progressInterval from whichever
+     * thread finishes a row.
+     */
+    private class Progress {
+        private final long start;
+        private final Map<Long, String> failures;
+        private final LongAdder created = new LongAdder();
+        private final AtomicLong lastReport;
+
+        Progress(long start, Map<Long, String> failures) {
+            this.start = start;
+            this.failures = failures;
+            this.lastReport = new AtomicLong(start);
+        }
+
+        void created() {
+            created.increment();
+            report();
+        }
+
+        void failed(long row, String error) {
+            failures.put(row, error);
+            report();
+        }
+
+        long getCreated() {
+            return created.sum();
+        }
+
+        private void report() {
+            long now = System.nanoTime();
+            long last = lastReport.get();
+            if (now - last >= progressInterval.toNanos() && lastReport.compareAndSet(last, now)) {
+                long done = created.sum() + failures.size();
+                logger.info(String.format("Import progress: %d rows done (%d created, %d failed), %.1f rows/s",
+                        done, created.sum(), failures.size(), done * 1e9 / (now - start)));
+            }
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.common.bulkimport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Local file recording which rows of an import were created, so that an interrupted or crashed import can be run
+ * again and resume where it stopped, instead of creating its resources twice.
+ *
+ * One tab-separated line per created row: row number, '_type', '_id' and name. Lines are appended and flushed as
+ * each create succeeds, so the file stays valid if the process dies; a torn last line is ignored. Failed rows are
+ * not recorded, so they are tried again on the next run. Delete the file to import the input from scratch.
+ */
+class ImportCheckpoint implements Closeable {
+    private final Path path;
+    /**
+     * Rows recorded by earlier runs, by row number.
+     */
+    private final Map<Long, Entry> done = new HashMap<>();
+    /**
+     * Appends to the file. Guarded by 'this'.
+     */
+    private final BufferedWriter writer;
+
+    /**
+     * SLF4J logger initialization.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(ImportCheckpoint.class);
+
+    /**
+     * Open a checkpoint file, reading the rows it already holds. Created if it does not exist.
+     * @param path Path of the checkpoint file.
+     * @throws IOException: Thrown if the file cannot be read or opened for writing.
+     */
+    ImportCheckpoint(Path path) throws IOException {
+        this.path = path;
+        if (Files.exists(path)) {
+            try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    String[] fields = line.split("\t", -1);
+                    if (fields.length != 4) {
+                        logger.warn("Ignoring malformed line of checkpoint " + path + ": " + line);
+                        continue;
+                    }
+                    try {
+                        done.put(Long.parseLong(fields[0]), new Entry(fields[1], fields[2], unescape(fields[3])));
+                    } catch (NumberFormatException e) {
+                        logger.warn("Ignoring malformed line of checkpoint " + path + ": " + line);
+                    }
+                }
+            }
+        }
+        boolean torn = endsTorn(path);
+        this.writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                StandardOpenOption.APPEND);
+        if (torn) { // End the torn line, so it does not run into the next one.
+            writer.newLine();
+            writer.flush();
+        }
+    }
+
+    /**
+     * @param path Path of the checkpoint file.
+     * @return Whether the file ends with an incomplete line, left by a process that died while writing it.
+     */
+    private static boolean endsTorn(Path path) throws IOException {
+        if (!Files.exists(path) || Files.size(path) == 0) {
+            return false;
+        }
+        try (SeekableByteChannel channel = Files.newByteChannel(path)) {
+            ByteBuffer last = ByteBuffer.allocate(1);
+            channel.position(channel.size() - 1).read(last);
+            return last.get(0) != '\n';
+        }
+    }
+
+    /**
+     * @param row Row number.
+     * @return The row as created by an earlier run, or null if it was not.
+     */
+    Entry get(long row) {
+        return done.get(row);
+    }
+
+    /**
+     * @return Number of rows recorded by earlier runs.
+     */
+    int size() {
+        return done.size();
+    }
+
+    /**
+     * Record a created row.
+     * @param row Row number.
+     * @param type '_type' of the resource.
+     * @param id '_id' of the new resource.
+     * @param name Name of the resource. May be null.
+     * @throws IOException: Thrown if the line cannot be written.
+     */
+    synchronized void record(long row, String type, String id, String name) throws IOException {
+        writer.write(row + "\t" + type + "\t" + id + "\t" + escape(name));
+        writer.newLine();
+        writer.flush();
+    }
+
+    /**
+     * @return Path of the checkpoint file.
+     */
+    Path getPath() {
+        return path;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        writer.close();
+    }
+
+    private static String escape(String name) {
+        if (name == null) {
+            return "";
+        }
+        return name.replace("\\", "\\\\").replace("\t", "\\t").replace("\n", "\\n").replace("\r", "\\r");
+    }
+
+    private static String unescape(String name) {
+        StringBuilder builder = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c == '\\' && i + 1 < name.length()) {
+                char escaped = name.charAt(++i);
+                builder.append(escaped == 't' ? '\t' : escaped == 'n' ? '\n' : escaped == 'r' ? '\r' : escaped);
+            } else {
+                builder.append(c);
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * A row created by an earlier run.
+     */
+    static class Entry {
+        final String type;
+        final String id;
+        final String name;
+
+        Entry(String type, String id, String name) {
+            this.type = type;
+            this.id = id;
+            this.name = name;
+        }
+    }
+}
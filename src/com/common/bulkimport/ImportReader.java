@@ -0,0 +1,278 @@
+package com.common.bulkimport;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads the rows of an import file one at a time, so files of any size can be imported.
+ *
+ *  - CSV: The first row holds the column names (IGC property names, plus the ImportRecord columns). Fields may be
+ *    quoted with '"' (RFC 4180), so they can hold commas, quotes ('""') and line breaks. Empty fields are left
+ *    out. A field starting with '[' is read as a JSON array when it is one, for multi-valued properties such as
+ *    '["Finance","Risk"]'.
+ *  - JSONL: One JSON object per line, holding the properties as IGC would.
+ *
+ * Blank lines are skipped and not counted as rows. A row that cannot be read is returned with getError() set,
+ * so the rest of the file can still be imported. Reading errors are thrown as UncheckedIOExceptions.
+ */
+public class ImportReader implements Iterator<ImportRecord>, Closeable {
+
+    /**
+     * Formats of import files.
+     */
+    public enum Format {
+        CSV, JSONL;
+
+        /**
+         * @param path An import file.
+         * @return JSONL for '.jsonl', '.ndjson' and '.json' files, CSV otherwise.
+         */
+        public static Format forPath(Path path) {
+            String name = path.getFileName().toString().toLowerCase(Locale.ROOT);
+            if (name.endsWith(".jsonl") || name.endsWith(".ndjson") || name.endsWith(".json")) {
+                return JSONL;
+            }
+            return CSV;
+        }
+    }
+
+    private final BufferedReader reader;
+    private final Format format;
+    /**
+     * Column names of a CSV file. Null for JSONL.
+     */
+    private final List<String> header;
+    /**
+     * Number of the last row read.
+     */
+    private long row;
+    /**
+     * Next row, read ahead by hasNext(). Null if not read yet.
+     */
+    private ImportRecord next;
+    private boolean finished;
+
+    /**
+     * Open an import file.
+     * @param path UTF-8 CSV or JSONL file.
+     * @param format Format of the file, see Format.forPath().
+     * @throws IOException: Thrown if the file cannot be opened, or a CSV file has no header row.
+     */
+    public ImportReader(Path path, Format format) throws IOException {
+        this(Files.newBufferedReader(path, StandardCharsets.UTF_8), format);
+    }
+
+    /**
+     * Read an import file from a Reader.
+     * @param reader Reader of the file. Closed by close().
+     * @param format Format of the file.
+     * @throws IOException: Thrown if the Reader fails, or a CSV file has no header row.
+     */
+    public ImportReader(Reader reader, Format format) throws IOException {
+        this.reader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+        this.format = format;
+        if (format == Format.CSV) {
+            List<String> columns = new ArrayList<>();
+            if (readCsvRow(columns) == null) {
+                close();
+                throw new IOException("The CSV file has no header row.");
+            }
+            for (int i = 0; i < columns.size(); i++) {
+                columns.set(i, columns.get(i).replace("\uFEFF", "").trim()); // Byte order mark of the first.
+            }
+            this.header = columns;
+        } else {
+            this.header = null;
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null && !finished) {
+            try {
+                next = format == Format.CSV ? readCsvRecord() : readJsonRecord();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            finished = next == null;
+        }
+        return next != null;
+    }
+
+    @Override
+    public ImportRecord next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        ImportRecord record = next;
+        next = null;
+        return record;
+    }
+
+    /**
+     * @return Column names of a CSV file, or null for JSONL.
+     */
+    public List<String> getHeader() {
+        return header;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * @return The next JSONL row, or null at the end of the file.
+     */
+    private ImportRecord readJsonRecord() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+        } while (line.trim().isEmpty());
+        row++;
+        try {
+            JsonElement element = new JsonParser().parse(line);
+            if (!element.isJsonObject()) {
+                return new ImportRecord(row, null, "Not a JSON object.");
+            }
+            return new ImportRecord(row, element.getAsJsonObject(), null);
+        } catch (JsonParseException e) {
+            return new ImportRecord(row, null, "Malformed JSON: " + e.getMessage());
+        }
+    }
+
+    /**
+     * @return The next CSV row as an ImportRecord, or null at the end of the file.
+     */
+    private ImportRecord readCsvRecord() throws IOException {
+        List<String> fields = new ArrayList<>();
+        String error;
+        do {
+            error = readCsvRow(fields);
+            if (error == null) {
+                return null;
+            }
+        } while (fields.size() == 1 && fields.get(0).isEmpty() && error.isEmpty()); // Blank line.
+        row++;
+        if (!error.isEmpty()) {
+            return new ImportRecord(row, null, error);
+        }
+        if (fields.size() > header.size()) {
+            return new ImportRecord(row, null, "Row has " + fields.size() + " fields, but the header has " +
+                    header.size() + " columns.");
+        }
+        JsonObject properties = new JsonObject();
+        for (int i = 0; i < fields.size(); i++) {
+            String value = fields.get(i);
+            if (!value.isEmpty() && !header.get(i).isEmpty()) {
+                properties.add(header.get(i), toJson(value));
+            }
+        }
+        return new ImportRecord(row, properties, null);
+    }
+
+    /**
+     * @param value Value of a CSV field.
+     * @return The value as a JSON array if it is one, as a JSON String otherwise.
+     */
+    private static JsonElement toJson(String value) {
+        if (value.startsWith("[")) {
+            try {
+                JsonElement element = new JsonParser().parse(value);
+                if (element.isJsonArray()) {
+                    return element;
+                }
+            } catch (JsonParseException e) {
+                // Not JSON: a String that happens to start with '['.
+            }
+        }
+        return new JsonPrimitive(value);
+    }
+
+    /**
+     * Read one CSV row, which may span several lines if a quoted field holds line breaks.
+     * @param fields List to fill with the fields of the row. Cleared first.
+     * @return null at the end of the file, "" if the row was read, or why it is malformed.
+     */
+    private String readCsvRow(List<String> fields) throws IOException {
+        fields.clear();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean afterQuote = false; // Just closed a quoted field: only a separator may follow.
+        boolean any = false;
+        int c;
+        while ((c = reader.read()) != -1) {
+            any = true;
+            if (quoted) {
+                if (c != '"') {
+                    field.append((char) c);
+                } else {
+                    reader.mark(1);
+                    if (reader.read() == '"') {
+                        field.append('"');
+                    } else {
+                        reader.reset();
+                        quoted = false;
+                        afterQuote = true;
+                    }
+                }
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+                afterQuote = false;
+            } else if (c == '\n' || c == '\r') {
+                if (c == '\r') {
+                    reader.mark(1);
+                    if (reader.read() != '\n') {
+                        reader.reset();
+                    }
+                }
+                fields.add(field.toString());
+                return "";
+            } else if (c == '"' && field.length() == 0 && !afterQuote) {
+                quoted = true;
+            } else if (!afterQuote) {
+                field.append((char) c);
+            } else if (!Character.isWhitespace(c)) {
+                skipLine();
+                fields.add(field.toString());
+                return "Unexpected character after a quoted field.";
+            }
+        }
+        if (!any) {
+            return null;
+        }
+        fields.add(field.toString());
+        return quoted ? "Quoted field is not closed before the end of the file." : "";
+    }
+
+    /**
+     * Skip to the start of the next line.
+     */
+    private void skipLine() throws IOException {
+        int c;
+        while ((c = reader.read()) != -1 && c != '\n') {
+            // Skipped.
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.common.bulkimport;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+/**
+ * One row of an import file: the properties of a resource to create, by IGC property name.
+ * Besides IGC properties, a row may hold the import columns '_type' (term or category), 'parent' (name of the
+ * parent category) and 'parent_id' (its '_id').
+ */
+public class ImportRecord {
+    /**
+     * Column holding the '_type' of the resource.
+     */
+    public static final String TYPE_COLUMN = "_type";
+    /**
+     * Column holding the name of the parent category, resolved to its '_id' (see ParentResolver).
+     */
+    public static final String PARENT_COLUMN = "parent";
+    /**
+     * Column holding the '_id' of the parent category. Takes precedence over PARENT_COLUMN.
+     */
+    public static final String PARENT_ID_COLUMN = "parent_id";
+
+    private final long row;
+    private final JsonObject properties;
+    private final String error;
+
+    /**
+     * @param row Number of the row in the file, starting at 1. Header and blank lines are not counted.
+     * @param properties Properties of the row. Null if the row could not be read.
+     * @param error Why the row could not be read, or null.
+     */
+    ImportRecord(long row, JsonObject properties, String error) {
+        this.row = row;
+        this.properties = properties;
+        this.error = error;
+    }
+
+    /**
+     * @return Number of the row in the file, starting at 1. Used as its key in the checkpoint.
+     */
+    public long getRow() {
+        return row;
+    }
+
+    /**
+     * @return Properties of the row, by IGC property name. Null if the row could not be read.
+     */
+    public JsonObject getProperties() {
+        return properties;
+    }
+
+    /**
+     * @return Why the row could not be read (malformed JSON, unterminated quote, ...), or null.
+     */
+    public String getError() {
+        return error;
+    }
+
+    /**
+     * @param defaultType Type of rows without a '_type'.
+     * @return '_type' of the row.
+     */
+    public String getType(String defaultType) {
+        String type = getString(TYPE_COLUMN);
+        return type == null ? defaultType : type;
+    }
+
+    /**
+     * @return 'name' of the row, or null if it has none.
+     */
+    public String getName() {
+        return getString("name");
+    }
+
+    /**
+     * @return Name of the parent category, or null.
+     */
+    public String getParentName() {
+        return getString(PARENT_COLUMN);
+    }
+
+    /**
+     * @return '_id' of the parent category, or null.
+     */
+    public String getParentId() {
+        return getString(PARENT_ID_COLUMN);
+    }
+
+    /**
+     * @param column Name of a column.
+     * @return String value of the column, or null if it is missing, empty or not a String.
+     */
+    private String getString(String column) {
+        if (properties == null) {
+            return null;
+        }
+        JsonElement value = properties.get(column);
+        if (value == null || !value.isJsonPrimitive()) {
+            return null;
+        }
+        String string = value.getAsString().trim();
+        return string.isEmpty() ? null : string;
+    }
+
+    @Override
+    public String toString() {
+        return "row " + row + (getName() == null ? "" : " '" + getName() + "'");
+    }
+}
@@ -0,0 +1,80 @@
+package com.common.bulkimport;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Outcome of a BulkImporter run.
+ */
+public class ImportSummary {
+    private final long created;
+    private final long skipped;
+    private final Map<Long, String> failures;
+    private final long parentSearches;
+    private final long elapsedNanos;
+
+    ImportSummary(long created, long skipped, Map<Long, String> failures, long parentSearches, long elapsedNanos) {
+        this.created = created;
+        this.skipped = skipped;
+        this.failures = Collections.unmodifiableMap(failures);
+        this.parentSearches = parentSearches;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * @return Number of resources created by this run.
+     */
+    public long getCreated() {
+        return created;
+    }
+
+    /**
+     * @return Number of rows skipped because the checkpoint shows an earlier run created them.
+     */
+    public long getSkipped() {
+        return skipped;
+    }
+
+    /**
+     * @return Number of rows that could not be imported.
+     */
+    public long getFailed() {
+        return failures.size();
+    }
+
+    /**
+     * @return Why each failed row could not be imported, by row number in ascending order. Running the import
+     *         again retries them.
+     */
+    public Map<Long, String> getFailures() {
+        return failures;
+    }
+
+    /**
+     * @return Number of searches sent to IGC to resolve parent category names.
+     */
+    public long getParentSearches() {
+        return parentSearches;
+    }
+
+    /**
+     * @return Time taken by the run.
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * @return Rows created or failed per second: the throughput of the run, skipped rows excluded.
+     */
+    public double getRowsPerSecond() {
+        return elapsedNanos <= 0 ? 0 : (created + failures.size()) * 1e9 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d created, %d failed, %d skipped (checkpoint) in %.1f s (%.1f rows/s, " +
+                "%d parent searches)", created, failures.size(), skipped, elapsedNanos / 1e9, getRowsPerSecond(),
+                parentSearches);
+    }
+}
@@ -0,0 +1,113 @@
+package com.common.bulkimport;
+
+import com.common.URLConnection;
+import com.dataObjects.IGCItem;
+import com.dataObjects.IGCItemList;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Resolves parent category names to '_id's for a BulkImporter, searching IGC once per name.
+ * Categories created by the import are registered under their name before they are created (expect()), so rows
+ * that name them as their parent wait for their creation instead of searching IGC before they exist. Parents must
+ * therefore come before their children in the import file.
+ * Failed lookups are not remembered, so they are retried by the next row that needs them. Thread-safe.
+ */
+class ParentResolver {
+    private final URLConnection connection;
+    /**
+     * '_id' of each category name, or the lookup or creation in progress.
+     */
+    private final ConcurrentMap<String, CompletableFuture<String>> ids = new ConcurrentHashMap<>();
+    private final LongAdder searchCount = new LongAdder();
+
+    ParentResolver(URLConnection connection) {
+        this.connection = connection;
+    }
+
+    /**
+     * @param name Name of a category.
+     * @return '_id' of the category.
+     * @throws IOException: Thrown if the search fails, or the category's creation by this import failed.
+     * @throws IllegalArgumentException: Thrown if no category or several have the name.
+     */
+    String resolve(String name) throws IOException, IllegalArgumentException {
+        CompletableFuture<String> future = ids.get(name);
+        if (future == null) {
+            CompletableFuture<String> lookup = new CompletableFuture<>();
+            future = ids.putIfAbsent(name, lookup);
+            if (future == null) {
+                future = lookup;
+                try {
+                    lookup.complete(search(name));
+                } catch (IOException | RuntimeException e) {
+                    ids.remove(name, lookup);
+                    lookup.completeExceptionally(e);
+                }
+            }
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while resolving parent category '" + name + "'.");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            } else if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IOException(e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    /**
+     * Register a category that is about to be created, so rows naming it as their parent wait for it.
+     * @param name Name of the category.
+     * @return Future to complete with the new '_id', or exceptionally if the category could not be created.
+     */
+    CompletableFuture<String> expect(String name) {
+        CompletableFuture<String> creation = new CompletableFuture<>();
+        ids.put(name, creation);
+        return creation;
+    }
+
+    /**
+     * Remember the '_id' of a category, such as one created by an earlier run of the import.
+     * @param name Name of the category.
+     * @param id '_id' of the category.
+     */
+    void put(String name, String id) {
+        ids.put(name, CompletableFuture.completedFuture(id));
+    }
+
+    /**
+     * @return Number of searches sent to IGC.
+     */
+    long getSearchCount() {
+        return searchCount.sum();
+    }
+
+    private String search(String name) throws IOException {
+        searchCount.increment();
+        IGCItemList results = connection.searchIGCCategoryName(name);
+        if (results.isFailedResponse()) {
+            throw new IOException("Search for parent category '" + name + "' failed.");
+        }
+        List<IGCItem> items = results.getItems();
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("Parent category '" + name + "' not found.");
+        } else if (items.size() > 1) {
+            throw new IllegalArgumentException(items.size() + " categories are named '" + name + "'. Give the " +
+                    ImportRecord.PARENT_ID_COLUMN + " instead.");
+        }
+        return items.get(0).get_id();
+    }
+}
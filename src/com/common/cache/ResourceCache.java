@@ -0,0 +1,281 @@
+package com.common.cache;
+
+import com.dataObjects.IGCResource;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Optional read-through cache of IGCResources, keyed by '_id'.
+ * Enabled on a URLConnection with URLConnection.setResourceCache().
+ *
+ * Backed by Caffeine, whose W-TinyLFU eviction keeps frequently requested resources (the hot core terms and
+ * categories) over ones that were only requested once, so a scan of rarely used ids does not flush the cache.
+ * Bounded either by number of entries or by estimated bytes, and entries expire a fixed time after being stored.
+ *
+ * Entries can also be kept for a 'revalidation period' after they expire, along with the validators IGC sent
+ * with them ('ETag', 'Last-Modified', and the resource's 'modified_on'). get() no longer returns such a stale
+ * entry, but URLConnection uses it to make a conditional request: if IGC answers 304 Not Modified, or the
+ * resource still has the same 'modified_on', the cached resource is re-used (and is fresh again) instead of
+ * decoding the download. Useful when the same resources are read again periodically and rarely change.
+ *
+ * Cached resources are shared between callers. Treat them as read-only: to update a resource, create a new
+ * Term/Category with only the fields to change (see URLConnection.updateIGCResource()).
+ */
+public class ResourceCache {
+    /**
+     * Fixed per-entry overhead added to the estimated size of each cached resource.
+     */
+    private static final int ENTRY_OVERHEAD_BYTES = 128;
+
+    /**
+     * Underlying Caffeine cache.
+     */
+    private final Cache<String, Entry> cache;
+    /**
+     * Nanoseconds an entry is returned by get() after being stored.
+     */
+    private final long timeToLiveNanos;
+    /**
+     * Number of stale entries re-used after IGC confirmed they were unchanged.
+     */
+    private final LongAdder revalidatedCount = new LongAdder();
+    /**
+     * Number of get() calls that returned a fresh resource, and that returned null. Counted here rather than by
+     * Caffeine, which counts a get() of an entry kept only for revalidation as a hit.
+     */
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+
+    /**
+     * A cached resource along with its validators and estimated size.
+     */
+    public static final class Entry {
+        private final IGCResource resource;
+        private final String etag;
+        private final String lastModified;
+        private final int estimatedBytes;
+        /**
+         * System.nanoTime() at which the entry was stored or last revalidated.
+         */
+        private final long storedAt = System.nanoTime();
+
+        private Entry(IGCResource resource, String etag, String lastModified, int estimatedBytes) {
+            this.resource = resource;
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.estimatedBytes = estimatedBytes;
+        }
+
+        /**
+         * @return The cached resource.
+         */
+        public IGCResource getResource() {
+            return resource;
+        }
+
+        /**
+         * @return 'ETag' header sent with the resource, or null if there was none.
+         */
+        public String getEtag() {
+            return etag;
+        }
+
+        /**
+         * @return 'Last-Modified' header sent with the resource, or null if there was none.
+         */
+        public String getLastModified() {
+            return lastModified;
+        }
+
+        /**
+         * @return 'modified_on' of the resource, or null if it has none.
+         */
+        public String getModifiedOn() {
+            return resource.getModified_on();
+        }
+    }
+
+    /**
+     * Create a ResourceCache.
+     * @param maxEntries Maximum number of resources to keep, or -1 if bounded by maxBytes.
+     * @param maxBytes Maximum estimated bytes of resources to keep, or -1 if bounded by maxEntries.
+     * @param timeToLive How long an entry is returned by get() after being stored.
+     * @param revalidationPeriod How much longer an entry is kept for conditional requests.
+     */
+    private ResourceCache(long maxEntries, long maxBytes, Duration timeToLive, Duration revalidationPeriod) {
+        if (timeToLive.isNegative() || revalidationPeriod.isNegative()) {
+            throw new IllegalArgumentException("Cache durations cannot be negative.");
+        }
+        this.timeToLiveNanos = timeToLive.toNanos();
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .expireAfterWrite(timeToLive.plus(revalidationPeriod).toNanos(), TimeUnit.NANOSECONDS)
+                .recordStats();
+        if (maxBytes >= 0) {
+            this.cache = builder
+                    .maximumWeight(maxBytes)
+                    .weigher((String id, Entry entry) -> entry.estimatedBytes)
+                    .build();
+        } else {
+            this.cache = builder.maximumSize(maxEntries).build();
+        }
+    }
+
+    /**
+     * Create a ResourceCache bounded by number of entries.
+     * @param maxEntries Maximum number of resources to keep.
+     * @param timeToLive How long a resource is kept after being stored.
+     * @return A new, empty ResourceCache.
+     */
+    public static ResourceCache withMaxEntries(long maxEntries, Duration timeToLive) {
+        return new ResourceCache(maxEntries, -1, timeToLive, Duration.ZERO);
+    }
+
+    /**
+     * Create a ResourceCache bounded by number of entries, that keeps expired entries for revalidation.
+     * For example, a nightly job that reads the whole glossary can use a timeToLive of zero and a revalidation
+     * period of a few days: every read asks IGC whether the resource changed, but only changed ones are decoded.
+     * @param maxEntries Maximum number of resources to keep.
+     * @param timeToLive How long a resource is returned without a request after being stored.
+     * @param revalidationPeriod How much longer a resource is kept to be revalidated with a conditional request.
+     * @return A new, empty ResourceCache.
+     */
+    public static ResourceCache withMaxEntries(long maxEntries, Duration timeToLive, Duration revalidationPeriod) {
+        return new ResourceCache(maxEntries, -1, timeToLive, revalidationPeriod);
+    }
+
+    /**
+     * Create a ResourceCache bounded by the estimated memory used by its resources.
+     * A resource's size is estimated from the length of the JSON it was decoded from.
+     * @param maxBytes Maximum estimated bytes of resources to keep.
+     * @param timeToLive How long a resource is kept after being stored.
+     * @return A new, empty ResourceCache.
+     */
+    public static ResourceCache withMaxBytes(long maxBytes, Duration timeToLive) {
+        return new ResourceCache(-1, maxBytes, timeToLive, Duration.ZERO);
+    }
+
+    /**
+     * Create a ResourceCache bounded by estimated memory, that keeps expired entries for revalidation.
+     * See withMaxBytes(long, Duration) and withMaxEntries(long, Duration, Duration).
+     * @param maxBytes Maximum estimated bytes of resources to keep.
+     * @param timeToLive How long a resource is returned without a request after being stored.
+     * @param revalidationPeriod How much longer a resource is kept to be revalidated with a conditional request.
+     * @return A new, empty ResourceCache.
+     */
+    public static ResourceCache withMaxBytes(long maxBytes, Duration timeToLive, Duration revalidationPeriod) {
+        return new ResourceCache(-1, maxBytes, timeToLive, revalidationPeriod);
+    }
+
+    /**
+     * Get a cached resource.
+     * @param id '_id' of the resource.
+     * @return The cached IGCResource, or null if not cached (or expired, even if kept for revalidation).
+     */
+    public IGCResource get(String id) {
+        Entry entry = cache.getIfPresent(id);
+        if (entry == null || isStale(entry)) {
+            missCount.increment();
+            return null;
+        }
+        hitCount.increment();
+        return entry.resource;
+    }
+
+    /**
+     * Get the entry of a resource to revalidate, whether or not it has expired. Does not count as a hit or miss.
+     * @param id '_id' of the resource.
+     * @return The Entry, or null if not cached.
+     */
+    public Entry getEntry(String id) {
+        return cache.policy().getIfPresentQuietly(id);
+    }
+
+    /**
+     * Store a resource.
+     * @param id '_id' of the resource.
+     * @param resource Resource to store.
+     * @param jsonLength Length of the JSON the resource was decoded from, used to estimate its size.
+     */
+    public void put(String id, IGCResource resource, int jsonLength) {
+        put(id, resource, jsonLength, null, null);
+    }
+
+    /**
+     * Store a resource along with the validators of the response it was decoded from.
+     * @param id '_id' of the resource.
+     * @param resource Resource to store.
+     * @param jsonLength Length of the JSON the resource was decoded from, used to estimate its size.
+     * @param etag 'ETag' header of the response, or null.
+     * @param lastModified 'Last-Modified' header of the response, or null.
+     */
+    public void put(String id, IGCResource resource, int jsonLength, String etag, String lastModified) {
+        // Decoded Strings take about 2 bytes per JSON character.
+        int estimatedBytes = ENTRY_OVERHEAD_BYTES + 2 * Math.max(jsonLength, 0);
+        cache.put(id, new Entry(resource, etag, lastModified, estimatedBytes));
+    }
+
+    /**
+     * Mark an entry as fresh again, after IGC confirmed its resource is unchanged.
+     * Does nothing if the entry was replaced or invalidated in the meantime.
+     * @param id '_id' of the resource.
+     * @param entry Entry that was revalidated, from getEntry().
+     */
+    public void revalidated(String id, Entry entry) {
+        if (cache.asMap().replace(id, entry, new Entry(entry.resource, entry.etag, entry.lastModified,
+                entry.estimatedBytes))) {
+            revalidatedCount.increment();
+        }
+    }
+
+    /**
+     * @param entry A cached Entry.
+     * @return Whether the entry has outlived its time to live, and is only kept for revalidation.
+     */
+    private boolean isStale(Entry entry) {
+        return System.nanoTime() - entry.storedAt >= timeToLiveNanos;
+    }
+
+    /**
+     * Remove a resource, after it was updated or deleted.
+     * @param id '_id' of the resource.
+     */
+    public void invalidate(String id) {
+        cache.invalidate(id);
+    }
+
+    /**
+     * Remove every resource.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * @return Approximate number of cached resources.
+     */
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    /**
+     * @return Number of expired entries re-used because IGC confirmed they were unchanged.
+     */
+    public long getRevalidatedCount() {
+        return revalidatedCount.sum();
+    }
+
+    /**
+     * @return Hit, miss and eviction counts since the cache was created. A hit is a get() that returned a fresh
+     *         resource; a get() of an entry kept only for revalidation counts as a miss, as it returns null.
+     */
+    public CacheStats stats() {
+        CacheStats evictions = cache.stats();
+        return new CacheStats(hitCount.sum(), missCount.sum(), 0, 0, 0, evictions.evictionCount(),
+                evictions.evictionWeight());
+    }
+}
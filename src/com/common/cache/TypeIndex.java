@@ -0,0 +1,183 @@
+package com.common.cache;
+
+import com.dataObjects.IGCItem;
+import com.dataObjects.IGCItemList;
+import com.dataObjects.IGCResource;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Index of the '_type' of every IGC resource id seen in a response.
+ * Filled by URLConnection from full resources, search results and list pages (IGCItem._type), including the
+ * parent_category and _context references they hold, so that type checks become memory lookups.
+ *
+ * An IGC resource never changes type, so entries do not expire. Only the id is stored per entry: every type
+ * String is shared (there are only a handful of IGC types). The index can be saved to and loaded from a file
+ * to carry it between runs, see writeTo() and readFrom().
+ */
+public class TypeIndex {
+    /**
+     * Separates the id and type on each line of a saved index.
+     */
+    private static final char SEPARATOR = '\t';
+
+    /**
+     * '_type' by '_id'.
+     */
+    private final Map<String, String> types = new ConcurrentHashMap<>();
+    /**
+     * One shared instance of each type String.
+     */
+    private final Map<String, String> typeNames = new ConcurrentHashMap<>();
+
+    /**
+     * Create an empty TypeIndex.
+     */
+    public TypeIndex() {
+    }
+
+    /**
+     * @param id '_id' of a resource.
+     * @return '_type' of the resource, or null if not known.
+     */
+    public String get(String id) {
+        return id == null ? null : types.get(id);
+    }
+
+    /**
+     * Record the type of a resource. Ignored if either value is null or empty.
+     * @param id '_id' of the resource.
+     * @param type '_type' of the resource.
+     */
+    public void put(String id, String type) {
+        if (id == null || id.isEmpty() || type == null || type.isEmpty()) {
+            return;
+        }
+        types.put(id, typeNames.computeIfAbsent(type, name -> name));
+    }
+
+    /**
+     * Record the type of an item and of the items in its '_context'.
+     * @param item Item from a search result or resource. May be null.
+     */
+    public void putItem(IGCItem item) {
+        if (item == null) {
+            return;
+        }
+        put(item.get_id(), item.get_type());
+        putItems(item.get_context());
+    }
+
+    /**
+     * Record the types of a page of items.
+     * @param itemList Search result or list page. May be null.
+     */
+    public void putItemList(IGCItemList itemList) {
+        if (itemList != null) {
+            putItems(itemList.getItems());
+        }
+    }
+
+    /**
+     * Record the type of a resource, and of its parent category and '_context'.
+     * @param resource Full resource. May be null.
+     */
+    public void putResource(IGCResource resource) {
+        if (resource == null) {
+            return;
+        }
+        put(resource.get_id(), resource.get_type());
+        putItem(resource.getParent_category());
+        putItems(resource.get_context());
+    }
+
+    /**
+     * Forget a resource, after it was deleted.
+     * @param id '_id' of the resource.
+     */
+    public void remove(String id) {
+        if (id != null) {
+            types.remove(id);
+        }
+    }
+
+    /**
+     * Forget every resource.
+     */
+    public void clear() {
+        types.clear();
+    }
+
+    /**
+     * @return Number of ids in the index.
+     */
+    public int size() {
+        return types.size();
+    }
+
+    /**
+     * Save the index to a file, one 'id [tab] type' line per resource.
+     * The file is written to a temporary file first, then moved into place.
+     * @param file File to write.
+     * @throws IOException: Thrown if the file cannot be written.
+     */
+    public void writeTo(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            for (Map.Entry<String, String> entry : types.entrySet()) {
+                writer.write(entry.getKey());
+                writer.write(SEPARATOR);
+                writer.write(entry.getValue());
+                writer.newLine();
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Load a file saved by writeTo() into this index. Malformed lines are skipped.
+     * @param file File to read. Nothing is loaded if it does not exist.
+     * @return This TypeIndex.
+     * @throws IOException: Thrown if the file cannot be read.
+     */
+    public TypeIndex readFrom(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return this;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int separator = line.indexOf(SEPARATOR);
+                if (separator > 0) {
+                    put(line.substring(0, separator), line.substring(separator + 1));
+                }
+            }
+        }
+        return this;
+    }
+
+    /**
+     * @param items Items to record. May be null.
+     */
+    private void putItems(Collection<IGCItem> items) {
+        if (items == null) {
+            return;
+        }
+        for (IGCItem item : items) {
+            putItem(item);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.common.export;
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of a GlossaryExporter run.
+ */
+public class ExportSummary {
+    private final Path output;
+    private final long categories;
+    private final long terms;
+    private final List<String> failedIds;
+    private final long uncompressedBytes;
+    private final long fileBytes;
+    private final long elapsedNanos;
+
+    ExportSummary(Path output, long categories, long terms, List<String> failedIds, long uncompressedBytes,
+                  long fileBytes, long elapsedNanos) {
+        this.output = output;
+        this.categories = categories;
+        this.terms = terms;
+        this.failedIds = Collections.unmodifiableList(failedIds);
+        this.uncompressedBytes = uncompressedBytes;
+        this.fileBytes = fileBytes;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * @return The file written.
+     */
+    public Path getOutput() {
+        return output;
+    }
+
+    /**
+     * @return Number of categories written.
+     */
+    public long getCategories() {
+        return categories;
+    }
+
+    /**
+     * @return Number of terms written.
+     */
+    public long getTerms() {
+        return terms;
+    }
+
+    /**
+     * @return IDs of the resources that could not be hydrated, and so are missing from the file. Always empty
+     *         when not hydrating.
+     */
+    public List<String> getFailedIds() {
+        return failedIds;
+    }
+
+    /**
+     * @return Bytes of JSONL written, before compression.
+     */
+    public long getUncompressedBytes() {
+        return uncompressedBytes;
+    }
+
+    /**
+     * @return Size of the file written.
+     */
+    public long getFileBytes() {
+        return fileBytes;
+    }
+
+    /**
+     * @return Time taken by the run.
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * @return Records written per second.
+     */
+    public double getRecordsPerSecond() {
+        return elapsedNanos <= 0 ? 0 : (categories + terms) * 1e9 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d categories and %d terms to %s, %d failed, in %.1f s (%.1f records/s, %d B " +
+                "JSONL in %d B)", categories, terms, output, failedIds.size(), elapsedNanos / 1e9,
+                getRecordsPerSecond(), uncompressedBytes, fileBytes);
+    }
+}
@@ -0,0 +1,275 @@
+package com.common.export;
+
+import com.common.BulkFetchResult;
+import com.common.BulkFetcher;
+import com.common.URLConnection;
+import com.dataObjects.IGCItem;
+import com.dataObjects.IGCResource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * Exports every category and term of the glossary to a JSONL file (one JSON object per line), gzip compressed
+ * when the file name ends with '.gz'.
+ *
+ *  - Categories, then terms, are paged through with streamIGCCategoryList() / streamIGCTermList(), so only the
+ *    pages in flight (see URLConnection.setPagePrefetchWindow()) are held in memory.
+ *  - Without hydration each line is the IGCItem of the listing ('_type', '_id', '_name', '_url'). With it, the
+ *    ids are handed to a BulkFetcher as they are paged through and each line is the full Term or Category, in
+ *    completion order. Resources that cannot be fetched are left out and listed in the ExportSummary.
+ *  - Lines are written through a FileChannel with bounded buffers (see JsonlChannelWriter), so memory stays the
+ *    same whatever the size of the glossary.
+ *  - The file is written next to the output as '<output>.part' and moved over the output only once complete, so
+ *    readers of the output never see a partial export. A failed page request fails the whole export.
+ *  - Progress is logged every 'progressInterval'.
+ */
+public class GlossaryExporter {
+    /**
+     * Default number of resources per listing page.
+     */
+    public static final int DEFAULT_PAGE_SIZE = 1000;
+    /**
+     * Default size of the write buffers.
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+    /**
+     * Default interval between progress reports.
+     */
+    public static final Duration DEFAULT_PROGRESS_INTERVAL = Duration.ofSeconds(10);
+
+    private final URLConnection connection;
+    private boolean hydrate;
+    private int pageSize = DEFAULT_PAGE_SIZE;
+    private int fetchWindow = BulkFetcher.DEFAULT_WINDOW;
+    private int bufferSize = DEFAULT_BUFFER_SIZE;
+    private Duration progressInterval = DEFAULT_PROGRESS_INTERVAL;
+
+    /**
+     * SLF4J logger initialization.
+     */
+    private final Logger logger = LoggerFactory.getLogger(GlossaryExporter.class);
+
+    /**
+     * Create a GlossaryExporter writing listing items (not hydrated).
+     * @param connection URLConnection to read the glossary with.
+     */
+    public GlossaryExporter(URLConnection connection) {
+        this.connection = connection;
+    }
+
+    /**
+     * Export the glossary.
+     * @param output File to write. Gzip compressed if its name ends with '.gz'. Replaced if it exists.
+     * @return Summary of the run.
+     * @throws IOException: Thrown if the file cannot be written, a page of the glossary cannot be read, or if
+     *                      interrupted. The output is then left as it was.
+     */
+    public ExportSummary export(Path output) throws IOException {
+        long start = System.nanoTime();
+        boolean gzip = output.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".gz");
+        Path part = output.resolveSibling(output.getFileName() + ".part");
+        logger.info("Exporting the glossary to " + output + (hydrate ? ", hydrated" : ""));
+
+        Progress progress = new Progress(start);
+        List<String> failedIds = new ArrayList<>();
+        JsonlChannelWriter writer = new JsonlChannelWriter(part, gzip, bufferSize);
+        boolean complete = false;
+        try {
+            if (hydrate) {
+                writeHydrated(writer, progress, failedIds);
+            } else {
+                writeItems(writer, progress);
+            }
+            writer.close();
+            complete = true;
+        } finally {
+            if (!complete) {
+                writer.abort();
+                Files.deleteIfExists(part);
+            }
+        }
+        try {
+            Files.move(part, output, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(part, output, StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        ExportSummary summary = new ExportSummary(output, progress.categories, progress.terms, failedIds,
+                writer.getUncompressedBytes(), writer.getFileBytes(), System.nanoTime() - start);
+        if (!failedIds.isEmpty()) {
+            logger.warn(failedIds.size() + " resources could not be fetched and are missing from the export: " +
+                    failedIds);
+        }
+        logger.info("Export finished: " + summary);
+        return summary;
+    }
+
+    /**
+     * Write the listing item of every category and term.
+     */
+    private void writeItems(JsonlChannelWriter writer, Progress progress) throws IOException {
+        try (Stream<IGCItem> items = listing()) {
+            Iterator<IGCItem> iterator = items.iterator();
+            while (iterator.hasNext()) {
+                IGCItem item = iterator.next();
+                writer.write(item);
+                progress.written(item.get_type());
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } catch (IllegalStateException e) { // A failed page request, see IGCItemIterator.
+            throw new IOException("Could not page through the glossary: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Fetch and write the full resource of every category and term.
+     */
+    private void writeHydrated(JsonlChannelWriter writer, Progress progress, List<String> failedIds)
+            throws IOException {
+        BulkFetcher fetcher = new BulkFetcher(connection, fetchWindow);
+        try (Stream<IGCItem> items = listing()) {
+            fetcher.fetch(items.map(IGCItem::get_id).iterator(), (BulkFetchResult result) -> {
+                if (!result.isSuccess()) {
+                    failedIds.add(result.getId());
+                    return;
+                }
+                IGCResource resource = result.getResource();
+                try {
+                    writer.write(resource);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                progress.written(resource.get_type());
+            });
+        } catch (UncheckedIOException e) { // Thrown by the callback or a page request: stops the fetch.
+            throw e.getCause();
+        } catch (IllegalStateException e) {
+            throw new IOException("Could not page through the glossary: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * @return Lazy Stream of every category, then every term.
+     */
+    private Stream<IGCItem> listing() {
+        return Stream.concat(connection.streamIGCCategoryList(pageSize), connection.streamIGCTermList(pageSize));
+    }
+
+    //// Settings ////
+
+    /**
+     * @return Whether the full resources are exported, rather than the listing items.
+     */
+    public boolean isHydrate() {
+        return hydrate;
+    }
+
+    /**
+     * @param hydrate Whether to fetch and export the full Term / Category of each item, rather than its listing
+     *                item. One GET per resource.
+     */
+    public void setHydrate(boolean hydrate) {
+        this.hydrate = hydrate;
+    }
+
+    /**
+     * @return Number of resources per listing page.
+     */
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    /**
+     * @param pageSize Number of resources per listing page. At least 1.
+     */
+    public void setPageSize(int pageSize) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("The page size must be at least 1: " + pageSize);
+        }
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * @return Maximum number of resources fetched at once when hydrating.
+     */
+    public int getFetchWindow() {
+        return fetchWindow;
+    }
+
+    /**
+     * @param fetchWindow Maximum number of resources fetched at once when hydrating, see BulkFetcher. At least 1.
+     */
+    public void setFetchWindow(int fetchWindow) {
+        if (fetchWindow < 1) {
+            throw new IllegalArgumentException("The fetch window must be at least 1: " + fetchWindow);
+        }
+        this.fetchWindow = fetchWindow;
+    }
+
+    /**
+     * @return Size of the write buffers, in bytes.
+     */
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    /**
+     * @param bufferSize Size of the write buffers, in bytes. At least 512.
+     */
+    public void setBufferSize(int bufferSize) {
+        if (bufferSize < 512) {
+            throw new IllegalArgumentException("The buffer size must be at least 512: " + bufferSize);
+        }
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * @param progressInterval Time between progress reports.
+     */
+    public void setProgressInterval(Duration progressInterval) {
+        this.progressInterval = progressInterval;
+    }
+
+    /**
+     * Counts of the records written, logged every progressInterval. Only used by the exporting thread.
+     */
+    private class Progress {
+        private final long start;
+        private long categories;
+        private long terms;
+        private long lastReport;
+
+        Progress(long start) {
+            this.start = start;
+            this.lastReport = start;
+        }
+
+        void written(String type) {
+            if ("category".equals(type)) {
+                categories++;
+            } else {
+                terms++;
+            }
+            long now = System.nanoTime();
+            if (now - lastReport >= progressInterval.toNanos()) {
+                lastReport = now;
+                logger.info(String.format("Export progress: %d categories, %d terms, %.1f records/s", categories,
+                        terms, (categories + terms) * 1e9 / (now - start)));
+            }
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.common.export;
+
+import com.Utility.codec.Codecs;
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes objects as JSONL (one compact JSON object per line, UTF-8) to a file through a FileChannel, optionally
+ * gzip compressed.
+ *
+ * Each object is encoded by the shared Gson straight into a char buffer, encoded into a byte buffer, compressed
+ * and written to the channel as the buffers fill, so no String of the JSON is built and memory stays the same
+ * (a few 'bufferSize' buffers) however many objects are written. Not thread-safe.
+ */
+class JsonlChannelWriter implements Closeable {
+    private final FileChannel channel;
+    private final CountingChannelStream channelStream;
+    /**
+     * Uncompressed bytes handed to the compressor (or the channel, when not compressing).
+     */
+    private final CountingStream uncompressed;
+    private final Writer writer;
+    private final JsonWriter jsonWriter;
+    private final Gson gson = Codecs.gson();
+    private long lines;
+    private boolean closed;
+
+    /**
+     * Create or truncate a file and open it for writing.
+     * @param path File to write.
+     * @param gzip Whether to gzip compress the file.
+     * @param bufferSize Size of each buffer, in bytes (chars for the encoding buffer).
+     * @throws IOException: Thrown if the file cannot be opened.
+     */
+    JsonlChannelWriter(Path path, boolean gzip, int bufferSize) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            this.channelStream = new CountingChannelStream(channel, bufferSize);
+            OutputStream compressed = gzip ? new GZIPOutputStream(channelStream, bufferSize) : channelStream;
+            this.uncompressed = new CountingStream(compressed);
+            this.writer = new BufferedWriter(new OutputStreamWriter(uncompressed, StandardCharsets.UTF_8),
+                    bufferSize);
+            this.jsonWriter = gson.newJsonWriter(writer);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Write an object as one line.
+     * @param value Object to write, with a TypeAdapter in Codecs (IGCItem, Term, Category, ...).
+     * @throws IOException: Thrown if the file cannot be written.
+     */
+    void write(Object value) throws IOException {
+        gson.toJson(value, value.getClass(), jsonWriter);
+        writer.write('\n');
+        lines++;
+    }
+
+    /**
+     * @return Number of lines written.
+     */
+    long getLines() {
+        return lines;
+    }
+
+    /**
+     * @return Bytes of JSON written, before compression. Final once closed.
+     */
+    long getUncompressedBytes() {
+        return uncompressed.count;
+    }
+
+    /**
+     * @return Bytes written to the file so far. Final once closed.
+     */
+    long getFileBytes() {
+        return channelStream.count;
+    }
+
+    /**
+     * Write everything still buffered, finish the gzip stream and force the file to storage, then close it.
+     * @throws IOException: Thrown if the file cannot be written.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            writer.close(); // Finishes the gzip stream, then flushes the channel buffer.
+            channel.force(true);
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Close without finishing the file, after a failure. Errors are ignored.
+     */
+    void abort() {
+        closed = true;
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // The file is deleted anyway.
+        }
+    }
+
+    /**
+     * OutputStream that counts the bytes written to it.
+     */
+    private static class CountingStream extends OutputStream {
+        private final OutputStream out;
+        private long count;
+
+        CountingStream(OutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+
+    /**
+     * OutputStream that gathers bytes into a direct ByteBuffer and writes it to the channel when full.
+     * Closing flushes the buffer but leaves the channel open, for JsonlChannelWriter.close() to force it.
+     */
+    private static class CountingChannelStream extends OutputStream {
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+        private long count;
+
+        CountingChannelStream(FileChannel channel, int bufferSize) {
+            this.channel = channel;
+            this.buffer = ByteBuffer.allocateDirect(bufferSize);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (!buffer.hasRemaining()) {
+                drain();
+            }
+            buffer.put((byte) b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            while (len > 0) {
+                if (!buffer.hasRemaining()) {
+                    drain();
+                }
+                int chunk = Math.min(len, buffer.remaining());
+                buffer.put(b, off, chunk);
+                off += chunk;
+                len -= chunk;
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            drain();
+        }
+
+        @Override
+        public void close() throws IOException {
+            drain();
+        }
+
+        private void drain() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                count += channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+}
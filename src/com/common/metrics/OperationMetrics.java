@@ -0,0 +1,199 @@
+package com.common.metrics;
+
+import com.dataObjects.requests.RequestTimings;
+import com.dataObjects.requests.RequestTimings.Phase;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and latency histograms of the requests of one operation. Thread-safe: recording is lock free.
+ * Histograms are in microseconds, with SIGNIFICANT_DIGITS digits of precision and no upper bound.
+ */
+final class OperationMetrics implements OperationMetricsMXBean {
+    /**
+     * Precision of the histograms: 3 digits keeps every percentile within 0.1% of the recorded value.
+     */
+    static final int SIGNIFICANT_DIGITS = 3;
+
+    private final String operation;
+    /**
+     * Latency of every request, from the first attempt to the decoded response (retries included), failed
+     * requests included.
+     */
+    private final Histogram latency = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+    /**
+     * Time spent in each phase of the requests (RequestTimings), for the requests the phase was measured for.
+     * Filled in the constructor, never modified afterwards.
+     */
+    private final Map<Phase, Histogram> phases = new EnumMap<>(Phase.class);
+    private final LongAdder requestCount = new LongAdder();
+    private final LongAdder failureCount = new LongAdder();
+    private final LongAdder bytesIn = new LongAdder();
+    private final LongAdder bytesOut = new LongAdder();
+    private final Map<Integer, LongAdder> statusCounts = new ConcurrentHashMap<>();
+
+    OperationMetrics(String operation) {
+        this.operation = operation;
+        for (Phase phase : Phase.values()) {
+            phases.put(phase, new ConcurrentHistogram(SIGNIFICANT_DIGITS));
+        }
+    }
+
+    /**
+     * Record a request that received a response.
+     * @param status HTTP status code of the response.
+     * @param latencyNanos Time from sending the request to the decoded response.
+     * @param responseBytes Bytes of the response body received, or a negative number if unknown.
+     * @param requestBytes Bytes of the request body sent.
+     * @param timings Phases of the request, or null if unknown. Unmeasured phases are not recorded.
+     */
+    void record(int status, long latencyNanos, long responseBytes, long requestBytes, RequestTimings timings) {
+        requestCount.increment();
+        statusCounts.computeIfAbsent(status, code -> new LongAdder()).increment();
+        latency.recordValue(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+        if (timings != null) {
+            phases.forEach((phase, histogram) -> {
+                long nanos = timings.getNanos(phase);
+                if (nanos >= 0) {
+                    histogram.recordValue(TimeUnit.NANOSECONDS.toMicros(nanos));
+                }
+            });
+        }
+        bytesIn.add(Math.max(responseBytes, 0));
+        bytesOut.add(requestBytes);
+    }
+
+    /**
+     * Record a request that failed without a response.
+     * @param latencyNanos Time from sending the request to the failure.
+     */
+    void recordFailure(long latencyNanos) {
+        failureCount.increment();
+        latency.recordValue(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+    }
+
+    /**
+     * @return A copy of the current counters and histograms.
+     */
+    OperationSnapshot snapshot() {
+        Map<Integer, Long> statuses = new TreeMap<>();
+        statusCounts.forEach((status, count) -> statuses.put(status, count.sum()));
+        Map<Phase, Histogram> phaseCopies = new EnumMap<>(Phase.class);
+        phases.forEach((phase, histogram) -> phaseCopies.put(phase, histogram.copy()));
+        return new OperationSnapshot(operation, requestCount.sum(), failureCount.sum(), statuses,
+                bytesIn.sum(), bytesOut.sum(), latency.copy(), phaseCopies);
+    }
+
+    String getOperation() {
+        return operation;
+    }
+
+    @Override
+    public long getRequestCount() {
+        return requestCount.sum();
+    }
+
+    @Override
+    public long getFailureCount() {
+        return failureCount.sum();
+    }
+
+    @Override
+    public Map<String, Long> getStatusCounts() {
+        Map<String, Long> statuses = new TreeMap<>();
+        statusCounts.forEach((status, count) -> statuses.put(String.valueOf(status), count.sum()));
+        return statuses;
+    }
+
+    @Override
+    public long getBytesIn() {
+        return bytesIn.sum();
+    }
+
+    @Override
+    public long getBytesOut() {
+        return bytesOut.sum();
+    }
+
+    @Override
+    public double getLatencyMeanMillis() {
+        return latency.getMean() / 1000;
+    }
+
+    @Override
+    public double getLatencyP50Millis() {
+        return latency.getValueAtPercentile(50) / 1000.0;
+    }
+
+    @Override
+    public double getLatencyP90Millis() {
+        return latency.getValueAtPercentile(90) / 1000.0;
+    }
+
+    @Override
+    public double getLatencyP99Millis() {
+        return latency.getValueAtPercentile(99) / 1000.0;
+    }
+
+    @Override
+    public double getLatencyP999Millis() {
+        return latency.getValueAtPercentile(99.9) / 1000.0;
+    }
+
+    @Override
+    public double getLatencyMaxMillis() {
+        return latency.getMaxValue() / 1000.0;
+    }
+
+    @Override
+    public double getParseP50Millis() {
+        return phases.get(Phase.PARSE).getValueAtPercentile(50) / 1000.0;
+    }
+
+    @Override
+    public double getParseP99Millis() {
+        return phases.get(Phase.PARSE).getValueAtPercentile(99) / 1000.0;
+    }
+
+    @Override
+    public Map<String, Double> getPhaseP50Millis() {
+        return phasePercentile(50);
+    }
+
+    @Override
+    public Map<String, Double> getPhaseP99Millis() {
+        return phasePercentile(99);
+    }
+
+    /**
+     * @return Percentile of every phase measured at least once, by label in the order of the phases.
+     */
+    private Map<String, Double> phasePercentile(double percentile) {
+        Map<String, Double> millis = new LinkedHashMap<>();
+        phases.forEach((phase, histogram) -> {
+            if (histogram.getTotalCount() > 0) {
+                millis.put(phase.getLabel(), histogram.getValueAtPercentile(percentile) / 1000.0);
+            }
+        });
+        return millis;
+    }
+
+    @Override
+    public void reset() {
+        requestCount.reset();
+        failureCount.reset();
+        bytesIn.reset();
+        bytesOut.reset();
+        statusCounts.clear();
+        latency.reset();
+        phases.values().forEach(Histogram::reset);
+    }
+}
@@ -0,0 +1,68 @@
+package com.common.metrics;
+
+import java.util.Map;
+
+/**
+ * JMX view of the requests of one URLConnection operation (see RequestMetrics.registerMBeans()).
+ * Latencies, parse and phase times are cumulative since the last reset(), in milliseconds.
+ */
+public interface OperationMetricsMXBean {
+
+    /**
+     * @return Number of requests that received a response, whatever its status code.
+     */
+    long getRequestCount();
+
+    /**
+     * @return Number of requests that received no response (IOException, decoding error, open circuit, ...).
+     */
+    long getFailureCount();
+
+    /**
+     * @return Number of responses by status code ("200", "404", ...).
+     */
+    Map<String, Long> getStatusCounts();
+
+    /**
+     * @return Response bytes received, as read from the network (before decompression).
+     */
+    long getBytesIn();
+
+    /**
+     * @return Request body bytes sent.
+     */
+    long getBytesOut();
+
+    double getLatencyMeanMillis();
+
+    double getLatencyP50Millis();
+
+    double getLatencyP90Millis();
+
+    double getLatencyP99Millis();
+
+    double getLatencyP999Millis();
+
+    double getLatencyMaxMillis();
+
+    /**
+     * @return Median time spent decompressing and decoding response bodies, excluding the time spent waiting
+     *         for them to arrive.
+     */
+    double getParseP50Millis();
+
+    double getParseP99Millis();
+
+    /**
+     * @return Median time spent in each phase of the requests ("queue", "connect", "first byte", ...), for the
+     *         phases that were measured (see RequestTimings).
+     */
+    Map<String, Double> getPhaseP50Millis();
+
+    Map<String, Double> getPhaseP99Millis();
+
+    /**
+     * Clear the counters and histograms of this operation.
+     */
+    void reset();
+}
@@ -0,0 +1,154 @@
+package com.common.metrics;
+
+import com.dataObjects.requests.RequestTimings.Phase;
+import org.HdrHistogram.Histogram;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counters and histograms of one operation at the time RequestMetrics.snapshot() was called.
+ * Does not change as more requests are recorded.
+ */
+public class OperationSnapshot {
+    private final String operation;
+    private final long requestCount;
+    private final long failureCount;
+    private final Map<Integer, Long> statusCounts;
+    private final long bytesIn;
+    private final long bytesOut;
+    private final Histogram latency;
+    private final Map<Phase, Histogram> phases;
+
+    OperationSnapshot(String operation, long requestCount, long failureCount, Map<Integer, Long> statusCounts,
+                      long bytesIn, long bytesOut, Histogram latency, Map<Phase, Histogram> phases) {
+        this.operation = operation;
+        this.requestCount = requestCount;
+        this.failureCount = failureCount;
+        this.statusCounts = Collections.unmodifiableMap(statusCounts);
+        this.bytesIn = bytesIn;
+        this.bytesOut = bytesOut;
+        this.latency = latency;
+        this.phases = phases;
+    }
+
+    /**
+     * @return Name of the operation: the URLConnection method that sent the requests (getIGCResourceById, ...).
+     */
+    public String getOperation() {
+        return operation;
+    }
+
+    /**
+     * @return Number of requests that received a response, whatever its status code.
+     */
+    public long getRequestCount() {
+        return requestCount;
+    }
+
+    /**
+     * @return Number of requests that received no response.
+     */
+    public long getFailureCount() {
+        return failureCount;
+    }
+
+    /**
+     * @return Number of responses by HTTP status code, in ascending order of code.
+     */
+    public Map<Integer, Long> getStatusCounts() {
+        return statusCounts;
+    }
+
+    /**
+     * @return Number of responses with a status code of 400 or higher.
+     */
+    public long getErrorCount() {
+        return statusCounts.entrySet().stream()
+                .filter(entry -> entry.getKey() >= 400)
+                .mapToLong(Map.Entry::getValue)
+                .sum();
+    }
+
+    /**
+     * @return Response bytes received, as read from the network (before decompression).
+     */
+    public long getBytesIn() {
+        return bytesIn;
+    }
+
+    /**
+     * @return Request body bytes sent.
+     */
+    public long getBytesOut() {
+        return bytesOut;
+    }
+
+    /**
+     * @param percentile Percentile, from 0 to 100 (99.9 for the 99.9th percentile).
+     * @return Latency at the percentile, in nanoseconds (microsecond resolution). 0 if there were no requests.
+     */
+    public long getLatencyNanos(double percentile) {
+        return TimeUnit.MICROSECONDS.toNanos(latency.getValueAtPercentile(percentile));
+    }
+
+    /**
+     * @param percentile Percentile, from 0 to 100.
+     * @return Decoding time at the percentile, in nanoseconds (microsecond resolution).
+     */
+    public long getParseNanos(double percentile) {
+        return getPhaseNanos(Phase.PARSE, percentile);
+    }
+
+    /**
+     * @param phase A phase of the requests.
+     * @param percentile Percentile, from 0 to 100.
+     * @return Time spent in the phase at the percentile, in nanoseconds (microsecond resolution), over the
+     *         requests the phase was measured for. 0 if there were none.
+     */
+    public long getPhaseNanos(Phase phase, double percentile) {
+        return TimeUnit.MICROSECONDS.toNanos(phases.get(phase).getValueAtPercentile(percentile));
+    }
+
+    /**
+     * @return Histogram of the latencies, in microseconds. A copy: for other percentiles, or to be added to
+     *         the histograms of other URLConnections.
+     */
+    public Histogram getLatencyHistogram() {
+        return latency.copy();
+    }
+
+    /**
+     * @return Histogram of the decoding times, in microseconds.
+     */
+    public Histogram getParseHistogram() {
+        return getPhaseHistogram(Phase.PARSE);
+    }
+
+    /**
+     * @param phase A phase of the requests.
+     * @return Histogram of the time spent in the phase, in microseconds.
+     */
+    public Histogram getPhaseHistogram(Phase phase) {
+        return phases.get(phase).copy();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder(String.format("%s: %d requests, %d failed, status %s, " +
+                        "in %d B, out %d B, latency p50 %.1f ms, p90 %.1f ms, p99 %.1f ms, max %.1f ms, p50 by phase",
+                operation, requestCount, failureCount, statusCounts, bytesIn, bytesOut,
+                latency.getValueAtPercentile(50) / 1000.0, latency.getValueAtPercentile(90) / 1000.0,
+                latency.getValueAtPercentile(99) / 1000.0, latency.getMaxValue() / 1000.0));
+        String separator = " ";
+        for (Map.Entry<Phase, Histogram> entry : phases.entrySet()) {
+            if (entry.getValue().getTotalCount() > 0) {
+                builder.append(separator).append(entry.getKey().getLabel()).append(' ')
+                        .append(String.format("%.1f ms", entry.getValue().getValueAtPercentile(50) / 1000.0));
+                separator = ", ";
+            }
+        }
+        return builder.toString();
+    }
+}
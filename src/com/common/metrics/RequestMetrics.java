@@ -0,0 +1,170 @@
+package com.common.metrics;
+
+import com.dataObjects.requests.RequestTimings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Latency histograms (HdrHistogram) and counters of the requests a URLConnection sends, per operation: the
+ * public method that sent them (getIGCResourceById, searchIGC, createIGCResource, ...). For each operation:
+ * requests by status code, failures, bytes in and out, latency and the time spent in each phase of the requests
+ * (RequestTimings: queue, connect, first byte, download, parse, ...).
+ * Only requests actually sent are recorded: cache hits and GETs merged into an identical request in flight are
+ * not.
+ *
+ * Read with snapshot(), or expose through JMX with registerMBeans() (one OperationMetricsMXBean per operation,
+ * e.g. 'com.igc:type=RequestMetrics,name="igc",operation="searchIGC"'). Thread-safe.
+ */
+public class RequestMetrics {
+    /**
+     * JMX domain of the MBeans registered by registerMBeans().
+     */
+    public static final String JMX_DOMAIN = "com.igc";
+
+    private final ConcurrentMap<String, OperationMetrics> operations = new ConcurrentHashMap<>();
+
+    /**
+     * Name the MBeans are registered under, or null if they are not registered.
+     */
+    private volatile String mbeanName;
+    /**
+     * Operations whose MBean is registered. Guarded by 'this'.
+     */
+    private final Set<String> registered = new HashSet<>();
+
+    /**
+     * SLF4J logger initialization.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(RequestMetrics.class);
+
+    /**
+     * Record a request that received a response.
+     * @param operation Name of the operation that sent the request.
+     * @param status HTTP status code of the response.
+     * @param latencyNanos Time from sending the request to the decoded response, retries included.
+     * @param responseBytes Bytes of the response body received, or a negative number if unknown.
+     * @param requestBytes Bytes of the request body sent.
+     * @param timings Phases of the request (Response.getTimings()), or null if unknown.
+     */
+    public void record(String operation, int status, long latencyNanos, long responseBytes, long requestBytes,
+                       RequestTimings timings) {
+        operation(operation).record(status, latencyNanos, responseBytes, requestBytes, timings);
+    }
+
+    /**
+     * Record a request that failed without a response (IOException, decoding error, open circuit, ...).
+     * @param operation Name of the operation that sent the request.
+     * @param latencyNanos Time from sending the request to the failure.
+     */
+    public void recordFailure(String operation, long latencyNanos) {
+        operation(operation).recordFailure(latencyNanos);
+    }
+
+    /**
+     * @return Snapshot of every operation with a recorded request, by operation name in alphabetical order.
+     */
+    public Map<String, OperationSnapshot> snapshot() {
+        Map<String, OperationSnapshot> snapshots = new TreeMap<>();
+        operations.forEach((name, metrics) -> snapshots.put(name, metrics.snapshot()));
+        return Collections.unmodifiableMap(snapshots);
+    }
+
+    /**
+     * @param operation Name of an operation.
+     * @return Snapshot of the operation, or null if none of its requests were recorded.
+     */
+    public OperationSnapshot snapshot(String operation) {
+        OperationMetrics metrics = operations.get(operation);
+        return metrics == null ? null : metrics.snapshot();
+    }
+
+    /**
+     * Clear the counters and histograms of every operation, for example at the start of a measurement window.
+     */
+    public void reset() {
+        operations.values().forEach(OperationMetrics::reset);
+    }
+
+    /**
+     * Register an OperationMetricsMXBean for every operation with the platform MBeanServer, now and as new
+     * operations are recorded. Registration failures are logged, never thrown.
+     * @param name Value of the 'name' key of the ObjectNames, to tell URLConnections apart (e.g. the IGC host).
+     */
+    public synchronized void registerMBeans(String name) {
+        unregisterMBeans();
+        this.mbeanName = name;
+        operations.values().forEach(this::register);
+    }
+
+    /**
+     * Unregister the MBeans registered by registerMBeans(), if any.
+     */
+    public synchronized void unregisterMBeans() {
+        String name = this.mbeanName;
+        if (name == null) {
+            return;
+        }
+        this.mbeanName = null;
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        for (String operation : registered) {
+            try {
+                server.unregisterMBean(objectName(name, operation));
+            } catch (JMException e) {
+                logger.warn("Could not unregister the MBean of " + operation + ": " + e);
+            }
+        }
+        registered.clear();
+    }
+
+    /**
+     * @return ObjectName of the MBean of an operation.
+     */
+    public static ObjectName objectName(String name, String operation) throws JMException {
+        return new ObjectName(JMX_DOMAIN + ":type=RequestMetrics,name=" + ObjectName.quote(name) +
+                ",operation=" + ObjectName.quote(operation));
+    }
+
+    private OperationMetrics operation(String operation) {
+        OperationMetrics metrics = operations.get(operation);
+        if (metrics == null) {
+            metrics = operations.computeIfAbsent(operation, OperationMetrics::new);
+            if (mbeanName != null) {
+                register(metrics);
+            }
+        }
+        return metrics;
+    }
+
+    private synchronized void register(OperationMetrics metrics) {
+        String name = this.mbeanName;
+        if (name == null || registered.contains(metrics.getOperation())) { // Raced with registerMBeans().
+            return;
+        }
+        try {
+            ObjectName objectName = objectName(name, metrics.getOperation());
+            ManagementFactory.getPlatformMBeanServer().registerMBean(metrics, objectName);
+            registered.add(metrics.getOperation());
+        } catch (JMException e) {
+            logger.warn("Could not register the MBean of " + metrics.getOperation() + ": " + e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("RequestMetrics:");
+        snapshot().values().forEach(snapshot -> builder.append("\n\t").append(snapshot));
+        return builder.toString();
+    }
+}
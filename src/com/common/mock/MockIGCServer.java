@@ -0,0 +1,549 @@
+package com.common.mock;
+
+import com.Utility.Utility;
+import com.Utility.codec.Codecs;
+import com.dataObjects.requests.PostSearchBody;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Embedded stand-in for the IGC REST API, serving a SyntheticGlossary over HTTP on the loopback interface.
+ * Lets URLConnection (and its caching, batching, retry and streaming features) be exercised and timed without
+ * a live IGC server. Start it, then point a URLConnection at getBaseUrl().
+ *
+ * Endpoints, relative to getBaseUrl():
+ *  - GET    assets/{id}                      Full resource. Sends 'ETag' / 'Last-Modified', and answers 304 to
+ *                                            a matching 'If-None-Match'.
+ *  - POST   assets                           Create a term or category. 201 with the new id in 'Location'.
+ *  - PUT    assets/{id}                      Update a resource. 200 with the updated resource.
+ *  - DELETE assets/{id}                      Delete a resource.
+ *  - GET    search?types=term&pageSize=100   List every resource of the given types.
+ *  - POST   search                           PostSearchBody search. Supports '=', 'like' ('like %{0}%', ...),
+ *                                            'isNull', 'between', '<', '<=', '>', '>=' and 'negated', on
+ *                                            properties and dotted paths such as 'parent_category._id'.
+ * Search results are paged like IGC's: 'paging.next' is the URL of the next page, with a 'begin' parameter.
+ * Requests are not authenticated, but a session cookie is handed out as IGC does.
+ *
+ * Injected conditions, which can be changed while the server runs:
+ *  - Latency:    Every response is delayed by a fixed latency plus a random jitter.
+ *  - Errors:     A fraction of requests are answered with an error code (503 by default) instead.
+ *  - Bandwidth:  Response bodies are written no faster than a number of bytes per second, per response.
+ *  - Compression: Response bodies are gzipped for clients that accept it, when enabled.
+ */
+public class MockIGCServer implements AutoCloseable {
+    /**
+     * Path of the API on an IGC server.
+     */
+    public static final String API_PATH = "/ibm/iis/igc-rest/v1/";
+    /**
+     * Page size of searches that do not give one.
+     */
+    private static final int DEFAULT_PAGE_SIZE = 10;
+    /**
+     * Number of POST searches remembered for paging.
+     */
+    private static final int MAX_REMEMBERED_SEARCHES = 1000;
+    /**
+     * Size of the chunks throttled response bodies are written in.
+     */
+    private static final int THROTTLE_CHUNK_BYTES = 8192;
+
+    static {
+        // The JDK HttpServer leaves Nagle's algorithm on, which holds every small response for the client's
+        // delayed ACK (~40ms on loopback) and hides the client's own latency. Read once, by the first server.
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final SyntheticGlossary glossary;
+
+    //// Injected conditions ////
+    private volatile long latencyNanos;
+    private volatile long jitterNanos;
+    private volatile double errorRate;
+    private volatile int errorCode = 503;
+    private volatile long bytesPerSecond;
+    private volatile boolean compression;
+
+    /**
+     * POST searches by id, so their following pages can be requested with a GET of 'paging.next'.
+     * Oldest searches are forgotten first.
+     */
+    private final Map<String, PostSearchBody> searches = Collections.synchronizedMap(
+            new LinkedHashMap<String, PostSearchBody>() {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, PostSearchBody> eldest) {
+                    return size() > MAX_REMEMBERED_SEARCHES;
+                }
+            });
+    private final AtomicLong searchSequence = new AtomicLong();
+    private final AtomicLong sessionSequence = new AtomicLong();
+
+    //// Metrics ////
+    private final LongAdder requestCount = new LongAdder();
+    private final LongAdder injectedErrorCount = new LongAdder();
+    private final LongAdder bytesSent = new LongAdder();
+
+    /**
+     * SLF4J logger initialization.
+     */
+    private final Logger logger = LoggerFactory.getLogger(MockIGCServer.class);
+
+    /**
+     * Create a MockIGCServer on a free port, with a generated glossary. Call start() to serve requests.
+     * @param termCount Number of terms to generate (see SyntheticGlossary).
+     * @throws IOException: Thrown if the server cannot be bound.
+     */
+    public MockIGCServer(int termCount) throws IOException {
+        this(0, termCount);
+    }
+
+    /**
+     * Create a MockIGCServer with a generated glossary. Call start() to serve requests.
+     * @param port Port to listen on, or 0 for a free port.
+     * @param termCount Number of terms to generate (see SyntheticGlossary).
+     * @throws IOException: Thrown if the server cannot be bound.
+     */
+    public MockIGCServer(int port, int termCount) throws IOException {
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        this.glossary = new SyntheticGlossary(getBaseUrl(), termCount);
+        this.executor = Utility.newTaskExecutor("mock-igc");
+        server.setExecutor(executor);
+        server.createContext(API_PATH, this::handle);
+    }
+
+    /**
+     * Start serving requests.
+     */
+    public void start() {
+        server.start();
+        logger.info("Mock IGC server serving " + glossary.size() + " resources at " + getBaseUrl());
+    }
+
+    /**
+     * Stop serving requests, closing open connections.
+     */
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    /**
+     * @return Base URL of the API, to give to URLConnection.
+     */
+    public String getBaseUrl() {
+        InetSocketAddress address = server.getAddress();
+        return "http://" + address.getHostString() + ":" + address.getPort() + API_PATH;
+    }
+
+    /**
+     * @return The glossary served, for looking up generated ids.
+     */
+    public SyntheticGlossary getGlossary() {
+        return glossary;
+    }
+
+    /**
+     * Delay every response.
+     * @param latency Fixed delay.
+     * @param jitter Largest random delay added to it.
+     */
+    public void setLatency(Duration latency, Duration jitter) {
+        this.latencyNanos = latency.toNanos();
+        this.jitterNanos = jitter.toNanos();
+    }
+
+    /**
+     * Answer a fraction of requests with an error.
+     * @param errorRate Fraction of requests to fail, between 0 and 1.
+     * @param errorCode HTTP code to answer with (503, 429, 500...).
+     */
+    public void setErrorRate(double errorRate, int errorCode) {
+        if (errorRate < 0 || errorRate > 1) {
+            throw new IllegalArgumentException("errorRate must be between 0 and 1.");
+        }
+        this.errorRate = errorRate;
+        this.errorCode = errorCode;
+    }
+
+    /**
+     * Limit how fast each response body is written.
+     * @param bytesPerSecond Bytes per second of each response, or 0 for no limit.
+     */
+    public void setBandwidth(long bytesPerSecond) {
+        this.bytesPerSecond = bytesPerSecond;
+    }
+
+    /**
+     * @param compression Whether to gzip response bodies for clients that send 'Accept-Encoding: gzip'.
+     */
+    public void setCompression(boolean compression) {
+        this.compression = compression;
+    }
+
+    /**
+     * @return Number of requests received.
+     */
+    public long getRequestCount() {
+        return requestCount.sum();
+    }
+
+    /**
+     * @return Number of requests answered with an injected error.
+     */
+    public long getInjectedErrorCount() {
+        return injectedErrorCount.sum();
+    }
+
+    /**
+     * @return Number of response body bytes written (after compression).
+     */
+    public long getBytesSent() {
+        return bytesSent.sum();
+    }
+
+    //// REQUEST HANDLING ////
+
+    /**
+     * Answer a request, applying the injected conditions.
+     * @param exchange Request to answer.
+     */
+    private void handle(HttpExchange exchange) throws IOException {
+        requestCount.increment();
+        try {
+            byte[] body = exchange.getRequestBody().readAllBytes();
+            delay();
+            if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+                injectedErrorCount.increment();
+                send(exchange, errorCode, error("Injected error."));
+                return;
+            }
+            if (exchange.getRequestHeaders().getFirst("Cookie") == null) {
+                exchange.getResponseHeaders().add("Set-Cookie",
+                        "LtpaToken2=mock" + sessionSequence.incrementAndGet() + "; Path=/; HttpOnly");
+            }
+            route(exchange, body);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IllegalArgumentException | JsonParseException | IllegalStateException e) {
+            send(exchange, 400, error(e.getMessage()));
+        } catch (IOException e) {
+            logger.debug("Mock IGC server could not answer " + exchange.getRequestURI() + ": " + e);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Call the handler matching the request's path and method.
+     */
+    private void route(HttpExchange exchange, byte[] body) throws IOException {
+        String path = exchange.getRequestURI().getPath().substring(API_PATH.length());
+        String method = exchange.getRequestMethod();
+        if (path.equals("search") || path.equals("search/")) {
+            if (method.equals("GET")) {
+                getSearch(exchange);
+                return;
+            } else if (method.equals("POST")) {
+                postSearch(exchange, body);
+                return;
+            }
+        } else if (path.equals("assets") || path.equals("assets/")) {
+            if (method.equals("POST")) {
+                createAsset(exchange, body);
+                return;
+            }
+        } else if (path.startsWith("assets/")) {
+            String id = path.substring("assets/".length());
+            switch (method) {
+                case "GET": getAsset(exchange, id); return;
+                case "PUT": updateAsset(exchange, id, body); return;
+                case "DELETE": deleteAsset(exchange, id); return;
+                default: break;
+            }
+        } else {
+            send(exchange, 404, error("Unknown path: " + path));
+            return;
+        }
+        send(exchange, 405, error(method + " not allowed on " + path));
+    }
+
+    private void getAsset(HttpExchange exchange, String id) throws IOException {
+        JsonObject resource = glossary.get(id);
+        if (resource == null) {
+            send(exchange, 404, error("No asset with id: " + id));
+            return;
+        }
+        String modifiedOn = resource.get("modified_on").getAsString();
+        String etag = "\"" + modifiedOn + "\"";
+        exchange.getResponseHeaders().add("ETag", etag);
+        exchange.getResponseHeaders().add("Last-Modified",
+                DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.ofInstant(
+                        Instant.ofEpochMilli(Long.parseLong(modifiedOn)), ZoneOffset.UTC)));
+        if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+            exchange.sendResponseHeaders(304, -1);
+            return;
+        }
+        send(exchange, 200, resource);
+    }
+
+    private void createAsset(HttpExchange exchange, byte[] body) throws IOException {
+        String id = glossary.create(parseObject(body));
+        exchange.getResponseHeaders().add("Location", getBaseUrl() + "assets/" + id);
+        exchange.sendResponseHeaders(201, -1);
+    }
+
+    private void updateAsset(HttpExchange exchange, String id, byte[] body) throws IOException {
+        JsonObject updated = glossary.update(id, parseObject(body));
+        if (updated == null) {
+            send(exchange, 404, error("No asset with id: " + id));
+        } else {
+            send(exchange, 200, updated);
+        }
+    }
+
+    private void deleteAsset(HttpExchange exchange, String id) throws IOException {
+        if (glossary.delete(id)) {
+            exchange.sendResponseHeaders(200, -1);
+        } else {
+            send(exchange, 404, error("No asset with id: " + id));
+        }
+    }
+
+    /**
+     * GET search: either a list of every resource of some types ('types', 'properties', 'pageSize' and 'begin'
+     * parameters), or a further page of a POST search ('searchId', 'pageSize' and 'begin').
+     */
+    private void getSearch(HttpExchange exchange) throws IOException {
+        Map<String, String> parameters = getParameters(exchange);
+        int begin = Integer.parseInt(parameters.getOrDefault("begin", "0"));
+        String searchId = parameters.get("searchId");
+        if (searchId != null) {
+            PostSearchBody search = searches.get(searchId);
+            if (search == null) {
+                send(exchange, 404, error("Search expired: " + searchId));
+                return;
+            }
+            send(exchange, 200, page(search, searchId, begin));
+            return;
+        }
+        List<String> types = splitParameter(parameters.get("types"));
+        List<String> properties = splitParameter(parameters.get("properties"));
+        int pageSize = Integer.parseInt(parameters.getOrDefault("pageSize", String.valueOf(DEFAULT_PAGE_SIZE)));
+        List<JsonObject> found = glossary.find(types, resource -> true);
+        String nextUrl = getBaseUrl() + "search?types=" + String.join(",", types) +
+                (properties.isEmpty() ? "" : "&properties=" + String.join(",", properties)) +
+                "&pageSize=" + pageSize + "&begin=";
+        send(exchange, 200, itemList(found, properties, begin, pageSize, nextUrl));
+    }
+
+    /**
+     * POST search: remembered under a new searchId, so its further pages can be requested with GETs.
+     */
+    private void postSearch(HttpExchange exchange, byte[] body) throws IOException {
+        PostSearchBody search = Codecs.gson().fromJson(parseObject(body), PostSearchBody.class);
+        if (search == null || search.getTypes() == null || search.getTypes().isEmpty()) {
+            throw new IllegalArgumentException("A search needs 'types'.");
+        }
+        String searchId = String.valueOf(searchSequence.incrementAndGet());
+        searches.put(searchId, search);
+        send(exchange, 200, page(search, searchId, 0));
+    }
+
+    /**
+     * @return A page of the results of a POST search.
+     */
+    private JsonObject page(PostSearchBody search, String searchId, int begin) {
+        int pageSize = search.getPageSize() > 0 ? search.getPageSize() : DEFAULT_PAGE_SIZE;
+        List<JsonObject> found = glossary.find(search.getTypes(), SearchConditions.of(search.getWhere()));
+        List<String> properties = search.getProperties() == null ? Collections.emptyList() : search.getProperties();
+        String nextUrl = getBaseUrl() + "search?searchId=" + searchId + "&pageSize=" + pageSize + "&begin=";
+        return itemList(found, properties, begin, pageSize, nextUrl);
+    }
+
+    /**
+     * Build a page of search results, as IGC does: a reference to each resource, its '_context', and the
+     * properties asked for.
+     * @param found Every result.
+     * @param properties Properties to add to each item.
+     * @param begin Index of the first result of the page.
+     * @param pageSize Number of results per page.
+     * @param nextUrl URL of the following pages, to which 'begin' is appended.
+     * @return The page, with its 'paging'.
+     */
+    private JsonObject itemList(List<JsonObject> found, List<String> properties, int begin, int pageSize,
+                                String nextUrl) {
+        int end = Math.min(found.size(), begin + pageSize);
+        JsonArray items = new JsonArray();
+        for (JsonObject resource : found.subList(Math.min(begin, end), end)) {
+            JsonObject item = glossary.reference(resource);
+            if (resource.has("_context")) {
+                item.add("_context", resource.get("_context"));
+            }
+            for (String property : properties) {
+                if (resource.has(property)) {
+                    item.add(property, resource.get(property));
+                }
+            }
+            items.add(item);
+        }
+        JsonObject paging = new JsonObject();
+        paging.addProperty("numTotal", found.size());
+        paging.addProperty("pageSize", pageSize);
+        paging.addProperty("begin", begin);
+        paging.addProperty("end", end - 1);
+        if (end < found.size()) {
+            paging.addProperty("next", nextUrl + end);
+        }
+        JsonObject itemList = new JsonObject();
+        itemList.add("paging", paging);
+        itemList.add("items", items);
+        return itemList;
+    }
+
+    //// HELPERS ////
+
+    /**
+     * Sleep for the injected latency and jitter.
+     */
+    private void delay() throws InterruptedException {
+        long nanos = latencyNanos;
+        long jitter = jitterNanos;
+        if (jitter > 0) {
+            nanos += ThreadLocalRandom.current().nextLong(jitter + 1);
+        }
+        if (nanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        }
+    }
+
+    /**
+     * Send a JSON response body, compressed and throttled as configured.
+     */
+    private void send(HttpExchange exchange, int code, JsonElement json) throws IOException {
+        byte[] body = Codecs.toJsonBytes(json);
+        String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+        if (compression && acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip")) {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(body.length / 4);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                gzip.write(body);
+            }
+            body = compressed.toByteArray();
+            exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+        }
+        exchange.getResponseHeaders().add("Content-Type", "application/json;charset=UTF-8");
+        exchange.sendResponseHeaders(code, body.length);
+        OutputStream out = exchange.getResponseBody();
+        long limit = bytesPerSecond;
+        if (limit <= 0) {
+            out.write(body);
+        } else {
+            long start = System.nanoTime();
+            for (int offset = 0; offset < body.length; offset += THROTTLE_CHUNK_BYTES) {
+                int length = Math.min(THROTTLE_CHUNK_BYTES, body.length - offset);
+                out.write(body, offset, length);
+                out.flush();
+                long due = start + TimeUnit.SECONDS.toNanos(offset + length) / limit;
+                long wait = due - System.nanoTime();
+                if (wait > 0) {
+                    try {
+                        TimeUnit.NANOSECONDS.sleep(wait);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new IOException("Interrupted while throttling a response.");
+                    }
+                }
+            }
+        }
+        bytesSent.add(body.length);
+    }
+
+    /**
+     * @param body A request body.
+     * @return The body as a JSON object.
+     * @throws IllegalArgumentException: Thrown if the body is not a JSON object.
+     */
+    private static JsonObject parseObject(byte[] body) throws IllegalArgumentException {
+        JsonElement json = new JsonParser().parse(new String(body, StandardCharsets.UTF_8));
+        if (!json.isJsonObject()) {
+            throw new IllegalArgumentException("Request body is not a JSON object.");
+        }
+        return json.getAsJsonObject();
+    }
+
+    /**
+     * @return An error body.
+     */
+    private static JsonObject error(String message) {
+        JsonObject error = new JsonObject();
+        error.addProperty("message", message);
+        return error;
+    }
+
+    /**
+     * @return The query parameters of a request.
+     */
+    private static Map<String, String> getParameters(HttpExchange exchange) {
+        Map<String, String> parameters = new HashMap<>();
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query == null) {
+            return parameters;
+        }
+        for (String parameter : query.split("&")) {
+            int equals = parameter.indexOf('=');
+            if (equals > 0) {
+                parameters.put(URLDecoder.decode(parameter.substring(0, equals), StandardCharsets.UTF_8),
+                        URLDecoder.decode(parameter.substring(equals + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return parameters;
+    }
+
+    /**
+     * @return The values of a comma separated parameter.
+     */
+    private static List<String> splitParameter(String value) {
+        if (value == null || value.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return new ArrayList<>(Arrays.asList(value.split(",")));
+    }
+}
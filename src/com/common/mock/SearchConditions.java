@@ -0,0 +1,151 @@
+package com.common.mock;
+
+import com.dataObjects.requests.PostCondition;
+import com.dataObjects.requests.PostWhere;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Predicate;
+
+/**
+ * Evaluates the 'where' of a PostSearchBody against resource JSON, for MockIGCServer.
+ * Covers the operators URLConnection uses (see the PostCondition 'operator' JavaDoc): '=', the 'like' forms,
+ * 'isNull', 'between' and the numeric comparisons, each optionally 'negated'. Other operators are rejected.
+ * A property can be a dotted path ('parent_category._id'), matching if any value along it matches.
+ */
+final class SearchConditions implements Predicate<JsonObject> {
+    private final List<Predicate<JsonObject>> conditions = new ArrayList<>();
+    private final boolean and;
+
+    private SearchConditions(PostWhere where) {
+        this.and = "and".equalsIgnoreCase(where.getOperator());
+        for (PostCondition condition : where.getConditions()) {
+            Predicate<JsonObject> predicate = condition(condition);
+            conditions.add(condition.isNegated() ? predicate.negate() : predicate);
+        }
+    }
+
+    /**
+     * @param where 'where' of a search. May be null.
+     * @return Predicate matching the resources the search finds. Matches everything if there are no conditions.
+     * @throws IllegalArgumentException: Thrown if an operator is not supported.
+     */
+    static Predicate<JsonObject> of(PostWhere where) throws IllegalArgumentException {
+        if (where == null || where.getConditions() == null || where.getConditions().isEmpty()) {
+            return resource -> true;
+        }
+        return new SearchConditions(where);
+    }
+
+    @Override
+    public boolean test(JsonObject resource) {
+        for (Predicate<JsonObject> condition : conditions) {
+            if (condition.test(resource) != and) {
+                return !and;
+            }
+        }
+        return and;
+    }
+
+    /**
+     * @return Predicate of a single condition, before negation.
+     */
+    private static Predicate<JsonObject> condition(PostCondition condition) throws IllegalArgumentException {
+        String property = condition.getProperty();
+        String operator = condition.getOperator() == null ? "" : condition.getOperator().trim();
+        String value = condition.getValue();
+        switch (operator) {
+            case "=":
+            case "like {0}":
+                return resource -> anyValue(resource, property, text -> text.equals(value));
+            case "like {0}%":
+                return resource -> anyValue(resource, property, text -> startsWithIgnoreCase(text, value));
+            case "like %{0}":
+                return resource -> anyValue(resource, property, text -> endsWithIgnoreCase(text, value));
+            case "like %{0}%":
+                String lowerValue = value == null ? "" : value.toLowerCase(Locale.ROOT);
+                return resource -> anyValue(resource, property,
+                        text -> text.toLowerCase(Locale.ROOT).contains(lowerValue));
+            case "isNull":
+                return resource -> values(resource, property).isEmpty();
+            case "between":
+                return resource -> anyNumber(resource, property,
+                        number -> number >= condition.getMin() && number <= condition.getMax());
+            case "<":
+                return resource -> anyNumber(resource, property, number -> number < Double.parseDouble(value));
+            case "<=":
+                return resource -> anyNumber(resource, property, number -> number <= Double.parseDouble(value));
+            case ">":
+                return resource -> anyNumber(resource, property, number -> number > Double.parseDouble(value));
+            case ">=":
+                return resource -> anyNumber(resource, property, number -> number >= Double.parseDouble(value));
+            default:
+                throw new IllegalArgumentException("Operator not supported by the mock IGC server: " + operator);
+        }
+    }
+
+    private static boolean anyValue(JsonObject resource, String property, Predicate<String> test) {
+        for (JsonElement value : values(resource, property)) {
+            if (value.isJsonPrimitive() && test.test(value.getAsString())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean anyNumber(JsonObject resource, String property, Predicate<Double> test) {
+        return anyValue(resource, property, text -> {
+            try {
+                return test.test(Double.parseDouble(text));
+            } catch (NumberFormatException e) {
+                return false;
+            }
+        });
+    }
+
+    /**
+     * @return The non-null values at a dotted path. Arrays along the path are searched element by element.
+     */
+    private static List<JsonElement> values(JsonObject resource, String property) {
+        List<JsonElement> current = Collections.singletonList(resource);
+        for (String name : property.split("\\.")) {
+            List<JsonElement> next = new ArrayList<>();
+            for (JsonElement element : current) {
+                if (element.isJsonObject()) {
+                    addValue(next, element.getAsJsonObject().get(name));
+                }
+            }
+            current = next;
+        }
+        return current;
+    }
+
+    private static void addValue(List<JsonElement> values, JsonElement value) {
+        if (value == null || value.isJsonNull()) {
+            return;
+        }
+        if (value.isJsonArray()) {
+            for (JsonElement element : (JsonArray) value) {
+                addValue(values, element);
+            }
+        } else if (value.isJsonObject() && value.getAsJsonObject().has("items")) {
+            addValue(values, value.getAsJsonObject().get("items")); // IGCItemList property.
+        } else {
+            values.add(value);
+        }
+    }
+
+    private static boolean startsWithIgnoreCase(String text, String prefix) {
+        return prefix != null && text.regionMatches(true, 0, prefix, 0, prefix.length());
+    }
+
+    private static boolean endsWithIgnoreCase(String text, String suffix) {
+        return suffix != null && text.length() >= suffix.length()
+                && text.regionMatches(true, text.length() - suffix.length(), suffix, 0, suffix.length());
+    }
+}
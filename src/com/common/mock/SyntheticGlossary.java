@@ -0,0 +1,338 @@
+package com.common.mock;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * In-memory glossary of categories and terms served by MockIGCServer, held as the JSON IGC would return for
+ * 'assets/{id}'.
+ *
+ * The generated glossary has the same '_id's and names for a given size: root categories, sub-categories under them,
+ * and terms spread evenly over every category, with descriptions of varying length. It also holds the
+ * 'Data Dictionary' category, the 'Fouls' category and the 'Technical Foul' term that Main.tests() refers to.
+ *
+ * Resources are kept in '_id' order, so paging over them is stable. Thread-safe: every stored JsonObject is
+ * replaced rather than modified.
+ */
+public class SyntheticGlossary {
+    /**
+     * Average number of terms per generated category.
+     */
+    private static final int TERMS_PER_CATEGORY = 25;
+    /**
+     * '_id' prefixes IGC uses for each type.
+     */
+    private static final String TERM_ID_PREFIX = "6662c0f2.e1b1ec6c.";
+    private static final String CATEGORY_ID_PREFIX = "6662c0f2.ee6a64fe.";
+    /**
+     * Resources that Main.tests() refers to by '_id'.
+     */
+    static final String DATA_DICTIONARY_ID = CATEGORY_ID_PREFIX + "00t6cc6op.9eo1d2k.skhof8.dgog8qrnvlvm4pglk887k";
+    static final String FOULS_ID = CATEGORY_ID_PREFIX + "00t6i4b6l.2q3r1c0.javi8g.f6vf7ssaf75b7ed3btpqr";
+    static final String TECHNICAL_FOUL_ID = TERM_ID_PREFIX + "00t6i4b9s.oc1te9k.igov6t.hqctlblmgp8tjbb6ad4el";
+    /**
+     * Words descriptions are made of.
+     */
+    private static final String[] WORDS = {"customer", "account", "balance", "ledger", "payment", "invoice",
+            "product", "order", "region", "revenue", "margin", "policy", "claim", "premium", "risk", "party",
+            "address", "contract", "asset", "liability", "rate", "currency", "branch", "segment", "channel"};
+
+    /**
+     * Resource JSON by '_id'.
+     */
+    private final ConcurrentSkipListMap<String, JsonObject> resources = new ConcurrentSkipListMap<>();
+    /**
+     * Sequence of generated and created '_id's.
+     */
+    private final AtomicLong idSequence = new AtomicLong();
+    /**
+     * Base URL of the server, used to build '_url' properties.
+     */
+    private final String baseUrl;
+
+    /**
+     * Create a glossary holding only the resources Main.tests() refers to.
+     * @param baseUrl Base URL of the server, up to '.../v1/'. Used to build '_url' properties.
+     */
+    public SyntheticGlossary(String baseUrl) {
+        this.baseUrl = baseUrl;
+        long now = System.currentTimeMillis();
+        put(category(DATA_DICTIONARY_ID, "Data Dictionary", "Root of the data dictionary.", null, now));
+        put(category(FOULS_ID, "Fouls", "Fouls and penalties.", DATA_DICTIONARY_ID, now));
+        put(term(TECHNICAL_FOUL_ID, "Technical Foul", "A foul that does not involve contact.", FOULS_ID, now));
+    }
+
+    /**
+     * Create a glossary with generated categories and terms.
+     * @param baseUrl Base URL of the server, up to '.../v1/'. Used to build '_url' properties.
+     * @param termCount Number of terms to generate. One category is generated per TERMS_PER_CATEGORY terms.
+     */
+    public SyntheticGlossary(String baseUrl, int termCount) {
+        this(baseUrl);
+        Random random = new Random(termCount);
+        long now = System.currentTimeMillis();
+        int categoryCount = Math.max(1, termCount / TERMS_PER_CATEGORY);
+        int rootCount = Math.max(1, (int) Math.sqrt(categoryCount));
+        List<String> categoryIds = new ArrayList<>();
+        for (int i = 0; i < categoryCount; i++) {
+            String parentId = i < rootCount ? DATA_DICTIONARY_ID : categoryIds.get(i % rootCount);
+            String id = nextId(CATEGORY_ID_PREFIX);
+            put(category(id, "Category " + i, description(random, 8), parentId, now - random.nextInt(1_000_000)));
+            categoryIds.add(id);
+        }
+        for (int i = 0; i < termCount; i++) {
+            JsonObject term = term(nextId(TERM_ID_PREFIX), "Term " + i, description(random, 12),
+                    categoryIds.get(i % categoryCount), now - random.nextInt(1_000_000));
+            term.addProperty("long_description", description(random, 20 + random.nextInt(200)));
+            term.addProperty("status", i % 3 == 0 ? "CANDIDATE" : "ACCEPTED");
+            put(term);
+        }
+    }
+
+    /**
+     * @param id '_id' of a resource.
+     * @return The resource's JSON, or null if there is none. Do not modify it.
+     */
+    public JsonObject get(String id) {
+        return resources.get(id);
+    }
+
+    /**
+     * @param types Types to include ('term', 'category', ...).
+     * @param filter Condition resources must meet.
+     * @return Every matching resource, in '_id' order.
+     */
+    public List<JsonObject> find(Collection<String> types, Predicate<JsonObject> filter) {
+        List<JsonObject> found = new ArrayList<>();
+        for (JsonObject resource : resources.values()) {
+            if (types.contains(resource.get("_type").getAsString()) && filter.test(resource)) {
+                found.add(resource);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Create a resource from the body of a POST to 'assets'.
+     * @param body JSON of the new resource. Must have a '_type' of 'term' or 'category'.
+     * @return '_id' of the new resource.
+     * @throws IllegalArgumentException: Thrown if the type is not supported or the parent category is unknown.
+     */
+    public String create(JsonObject body) throws IllegalArgumentException {
+        String type = getString(body, "_type");
+        String parentId = getParentId(body);
+        if (parentId == null || !resources.containsKey(parentId)) {
+            throw new IllegalArgumentException("Unknown parent_category: " + parentId);
+        }
+        String name = getString(body, "name");
+        String shortDescription = getString(body, "short_description");
+        long now = System.currentTimeMillis();
+        JsonObject resource;
+        if ("term".equals(type)) {
+            resource = term(nextId(TERM_ID_PREFIX), name, shortDescription, parentId, now);
+        } else if ("category".equals(type)) {
+            resource = category(nextId(CATEGORY_ID_PREFIX), name, shortDescription, parentId, now);
+        } else {
+            throw new IllegalArgumentException("Cannot create resources of type: " + type);
+        }
+        copyProperties(body, resource);
+        put(resource);
+        return resource.get("_id").getAsString();
+    }
+
+    /**
+     * Apply the body of a PUT to 'assets/{id}' to a resource. Properties in the body replace the resource's.
+     * @param id '_id' of the resource.
+     * @param body JSON of the properties to change.
+     * @return The updated resource, or null if there is none.
+     * @throws IllegalArgumentException: Thrown if the new parent category is unknown.
+     */
+    public JsonObject update(String id, JsonObject body) throws IllegalArgumentException {
+        JsonObject existing = resources.get(id);
+        if (existing == null) {
+            return null;
+        }
+        JsonObject updated = new JsonObject(); // Shallow copy: stored elements are never modified.
+        for (Map.Entry<String, JsonElement> property : existing.entrySet()) {
+            updated.add(property.getKey(), property.getValue());
+        }
+        String parentId = getParentId(body);
+        if (parentId != null) {
+            if (!resources.containsKey(parentId)) {
+                throw new IllegalArgumentException("Unknown parent_category: " + parentId);
+            }
+            setParent(updated, parentId);
+        }
+        copyProperties(body, updated);
+        if (body.has("name") && !body.get("name").isJsonNull()) {
+            updated.add("_name", body.get("name"));
+        }
+        updated.addProperty("modified_on", Math.max(System.currentTimeMillis(),
+                existing.get("modified_on").getAsLong() + 1));
+        updated.addProperty("modified_by", "mock");
+        resources.put(id, updated);
+        return updated;
+    }
+
+    /**
+     * @param id '_id' of the resource to delete.
+     * @return Whether the resource existed.
+     */
+    public boolean delete(String id) {
+        return resources.remove(id) != null;
+    }
+
+    /**
+     * @return Number of resources held.
+     */
+    public int size() {
+        return resources.size();
+    }
+
+    /**
+     * @return Base URL of the server, up to '.../v1/'.
+     */
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    /**
+     * Build the JSON of a category.
+     */
+    private JsonObject category(String id, String name, String shortDescription, String parentId, long modifiedOn) {
+        JsonObject category = resource("category", id, name, shortDescription, modifiedOn);
+        if (parentId != null) {
+            setParent(category, parentId);
+        } else {
+            category.add("_context", new JsonArray());
+        }
+        category.addProperty("custom_Owner", "Data Governance");
+        return category;
+    }
+
+    /**
+     * Build the JSON of a term.
+     */
+    private JsonObject term(String id, String name, String shortDescription, String parentId, long modifiedOn) {
+        JsonObject term = resource("term", id, name, shortDescription, modifiedOn);
+        setParent(term, parentId);
+        term.addProperty("status", "ACCEPTED");
+        term.addProperty("custom_Owner", "Data Governance");
+        return term;
+    }
+
+    /**
+     * Build the properties every resource has.
+     */
+    private JsonObject resource(String type, String id, String name, String shortDescription, long modifiedOn) {
+        JsonObject resource = new JsonObject();
+        resource.addProperty("_type", type);
+        resource.addProperty("_id", id);
+        resource.addProperty("_name", name);
+        resource.addProperty("_url", baseUrl + "assets/" + id);
+        resource.addProperty("name", name);
+        resource.addProperty("short_description", shortDescription);
+        resource.addProperty("created_by", "mock");
+        resource.addProperty("created_on", modifiedOn);
+        resource.addProperty("modified_by", "mock");
+        resource.addProperty("modified_on", modifiedOn);
+        return resource;
+    }
+
+    /**
+     * Set a resource's 'parent_category', and its '_context' to the path of categories down to that parent.
+     */
+    private void setParent(JsonObject resource, String parentId) {
+        JsonObject parent = resources.get(parentId);
+        resource.add("parent_category", reference(parent));
+        JsonArray context = new JsonArray();
+        JsonElement parentContext = parent.get("_context");
+        if (parentContext != null && parentContext.isJsonArray()) {
+            context.addAll(parentContext.getAsJsonArray());
+        }
+        context.add(reference(parent));
+        resource.add("_context", context);
+    }
+
+    /**
+     * @param resource A resource.
+     * @return Reference to the resource, as IGC writes it in 'parent_category', '_context' and search results.
+     */
+    JsonObject reference(JsonObject resource) {
+        JsonObject reference = new JsonObject();
+        reference.add("_type", resource.get("_type"));
+        reference.add("_id", resource.get("_id"));
+        reference.add("_name", resource.get("_name"));
+        reference.add("_url", resource.get("_url"));
+        return reference;
+    }
+
+    /**
+     * Copy the properties of a request body a client may set, skipping those IGC sets itself.
+     */
+    private static void copyProperties(JsonObject body, JsonObject resource) {
+        for (Map.Entry<String, JsonElement> property : body.entrySet()) {
+            String name = property.getKey();
+            if (!name.startsWith("_") && !name.equals("parent_category") && !property.getValue().isJsonNull()) {
+                resource.add(name, property.getValue());
+            }
+        }
+    }
+
+    /**
+     * @return '_id' of the body's 'parent_category', given either as a reference or as an id String. Null if none.
+     */
+    private static String getParentId(JsonObject body) {
+        JsonElement parent = body.get("parent_category");
+        if (parent == null || parent.isJsonNull()) {
+            return null;
+        } else if (parent.isJsonObject()) {
+            return getString(parent.getAsJsonObject(), "_id");
+        }
+        return parent.getAsString();
+    }
+
+    /**
+     * @return A String property, or null if missing.
+     */
+    private static String getString(JsonObject object, String name) {
+        JsonElement value = object.get(name);
+        return value == null || value.isJsonNull() ? null : value.getAsString();
+    }
+
+    /**
+     * Store a resource under its '_id'.
+     */
+    private void put(JsonObject resource) {
+        resources.put(resource.get("_id").getAsString(), resource);
+    }
+
+    /**
+     * @param prefix '_id' prefix of the type.
+     * @return A new '_id' in IGC's format.
+     */
+    private String nextId(String prefix) {
+        return prefix + String.format("mock.%010d", idSequence.incrementAndGet());
+    }
+
+    /**
+     * @return A description of 'words' words.
+     */
+    private static String description(Random random, int words) {
+        StringBuilder description = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            description.append(i == 0 ? "" : " ").append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return description.append('.').toString();
+    }
+}
@@ -0,0 +1,196 @@
+package com.common.transport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Circuit breaker that stops requests to IGC while it is unhealthy.
+ *
+ *  - CLOSED:    Normal. Opens after 'failureThreshold' consecutive failures (connection errors, timeouts and
+ *               502/503/504 responses).
+ *  - OPEN:      Every request is rejected straight away, for 'openDuration'.
+ *  - HALF_OPEN: After openDuration a single trial request is let through, while others are still rejected.
+ *               Closes if it succeeds, re-opens if it fails.
+ *
+ * Thread-safe. State changes are logged and counted.
+ */
+public class CircuitBreaker {
+    /**
+     * Default number of consecutive failures that opens the circuit.
+     */
+    public static final int DEFAULT_FAILURE_THRESHOLD = 5;
+    /**
+     * Default time the circuit stays open before a trial request.
+     */
+    public static final Duration DEFAULT_OPEN_DURATION = Duration.ofSeconds(10);
+
+    /**
+     * Circuit states.
+     */
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    /**
+     * Consecutive failures that open the circuit.
+     */
+    private final int failureThreshold;
+    /**
+     * Nanoseconds the circuit stays open before a trial request.
+     */
+    private final long openNanos;
+
+    /**
+     * Current state. Guarded by 'this', like the fields below.
+     */
+    private State state = State.CLOSED;
+    /**
+     * Consecutive failures while closed.
+     */
+    private int consecutiveFailures;
+    /**
+     * System.nanoTime() at which the circuit last opened.
+     */
+    private long openedAt;
+    /**
+     * Whether the half-open trial request is in flight.
+     */
+    private boolean trialInFlight;
+
+    /**
+     * Number of times the circuit has opened.
+     */
+    private final LongAdder openCount = new LongAdder();
+    /**
+     * Number of requests rejected while open.
+     */
+    private final LongAdder rejectedCount = new LongAdder();
+
+    /**
+     * SLF4J logger initialization.
+     */
+    private final Logger logger = LoggerFactory.getLogger(CircuitBreaker.class);
+
+    /**
+     * Create a CircuitBreaker with the default threshold and open duration.
+     */
+    public CircuitBreaker() {
+        this(DEFAULT_FAILURE_THRESHOLD, DEFAULT_OPEN_DURATION);
+    }
+
+    /**
+     * Create a CircuitBreaker.
+     * @param failureThreshold Consecutive failures that open the circuit. At least 1.
+     * @param openDuration Time the circuit stays open before a trial request.
+     */
+    public CircuitBreaker(int failureThreshold, Duration openDuration) {
+        if (failureThreshold < 1) {
+            throw new IllegalArgumentException("failureThreshold must be at least 1.");
+        }
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openDuration.toNanos();
+    }
+
+    /**
+     * Ask to make a request. Every call that returns true must be followed by onSuccess(), onFailure() or onIgnored().
+     * @return Whether the request may be made. False while open (or while the half-open trial is in flight).
+     */
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN && System.nanoTime() - openedAt >= openNanos) {
+            changeState(State.HALF_OPEN);
+        }
+        if (state == State.CLOSED) {
+            return true;
+        }
+        if (state == State.HALF_OPEN && !trialInFlight) {
+            trialInFlight = true;
+            return true;
+        }
+        rejectedCount.increment();
+        return false;
+    }
+
+    /**
+     * Record a request that reached a healthy IGC.
+     */
+    public synchronized void onSuccess() {
+        consecutiveFailures = 0;
+        if (state == State.HALF_OPEN) {
+            trialInFlight = false;
+            changeState(State.CLOSED);
+        }
+    }
+
+    /**
+     * Record a request that failed because IGC is unreachable or unhealthy.
+     */
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            trialInFlight = false;
+            open();
+        } else if (state == State.CLOSED && ++consecutiveFailures >= failureThreshold) {
+            open();
+        }
+    }
+
+    /**
+     * Record a request that ended without telling anything about IGC's health (interrupted, or failed to decode).
+     */
+    public synchronized void onIgnored() {
+        if (state == State.HALF_OPEN) {
+            trialInFlight = false;
+        }
+    }
+
+    /**
+     * @return The current state.
+     */
+    public synchronized State getState() {
+        if (state == State.OPEN && System.nanoTime() - openedAt >= openNanos) {
+            return State.HALF_OPEN; // Next request is the trial.
+        }
+        return state;
+    }
+
+    /**
+     * @return Number of times the circuit has opened.
+     */
+    public long getOpenCount() {
+        return openCount.sum();
+    }
+
+    /**
+     * @return Number of requests rejected while the circuit was open.
+     */
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    /**
+     * Open the circuit, starting the open duration.
+     */
+    private void open() {
+        openedAt = System.nanoTime();
+        consecutiveFailures = 0;
+        openCount.increment();
+        changeState(State.OPEN);
+    }
+
+    /**
+     * @param newState State to move to. Logged if it differs from the current state.
+     */
+    private void changeState(State newState) {
+        if (state == newState) {
+            return;
+        }
+        if (newState == State.OPEN) {
+            logger.warn("IGC circuit breaker OPEN: failing requests fast for " + (openNanos / 1_000_000) + " ms");
+        } else {
+            logger.info("IGC circuit breaker " + newState);
+        }
+        state = newState;
+    }
+}
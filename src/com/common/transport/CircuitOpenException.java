@@ -0,0 +1,18 @@
+package com.common.transport;
+
+import java.io.IOException;
+
+/**
+ * Thrown by ResilientTransport instead of making a request while its CircuitBreaker is open, that is while IGC
+ * is considered unhealthy. Fails immediately rather than waiting on a connection that is likely to time out.
+ */
+public class CircuitOpenException extends IOException {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * @param message Detail message.
+     */
+    public CircuitOpenException(String message) {
+        super(message);
+    }
+}
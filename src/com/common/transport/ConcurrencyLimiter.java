@@ -0,0 +1,304 @@
+package com.common.transport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.InterruptedIOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Adaptive limit on the number of requests in flight to one IGC endpoint (AIMD, in the style of Netflix's
+ * concurrency-limits).
+ *
+ *  - Additive increase: While latency stays flat and the window is in use, the limit grows by about one request
+ *    per full window of successful requests.
+ *  - Multiplicative decrease: The limit is halved when IGC pushes back (429/503 responses, timeouts), and
+ *    reduced by 10% when the short-term latency climbs past LATENCY_TOLERANCE times the long-term latency
+ *    (as in the 'gradient' limit), a sign that requests are queueing on the server.
+ * A decrease is applied at most once per window: only requests that started after the last decrease can cause
+ * another one, so a burst of failures from the same overload does not collapse the limit to the minimum.
+ *
+ * Requests over the limit wait in acquire() until a request finishes. Thread-safe.
+ */
+public class ConcurrencyLimiter {
+    /**
+     * Default starting limit.
+     */
+    public static final int DEFAULT_INITIAL_LIMIT = 10;
+    /**
+     * Default lowest limit.
+     */
+    public static final int DEFAULT_MIN_LIMIT = 1;
+    /**
+     * Default highest limit.
+     */
+    public static final int DEFAULT_MAX_LIMIT = 100;
+
+    /**
+     * Factor the limit is multiplied by when IGC pushes back.
+     */
+    private static final double DROP_BACKOFF = 0.5;
+    /**
+     * Factor the limit is multiplied by when latency rises.
+     */
+    private static final double LATENCY_BACKOFF = 0.9;
+    /**
+     * Latency rise (short-term / long-term) taken as queueing on the server.
+     */
+    private static final double LATENCY_TOLERANCE = 2.0;
+    /**
+     * Weight of each new sample in the short-term latency.
+     */
+    private static final double SHORT_SMOOTHING = 0.1;
+    /**
+     * Time over which the long-term latency rises to a higher latency. It falls as fast as the short-term latency,
+     * but rises this slowly whatever the request rate, so it tracks the latency of an unloaded IGC rather than
+     * following a growing queue, while still adapting to a lasting change within a minute or so.
+     */
+    private static final long LONG_RISE_NANOS = TimeUnit.SECONDS.toNanos(30);
+    /**
+     * Number of samples taken before latency can decrease the limit, so connection set-up and warm-up of the
+     * first requests are not mistaken for queueing.
+     */
+    private static final int WARM_UP_SAMPLES = 20;
+
+    /**
+     * Endpoint name, used in logs.
+     */
+    private final String name;
+    /**
+     * Bounds of the limit.
+     */
+    private final int minLimit;
+    private final int maxLimit;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    /**
+     * Signalled when a request finishes or the limit grows.
+     */
+    private final Condition belowLimit = lock.newCondition();
+
+    //// Guarded by lock ////
+    private double limit;
+    private int inFlight;
+    private int samples;
+    /**
+     * Exponentially smoothed latencies, in nanoseconds. 0 until the first sample.
+     */
+    private double shortLatency;
+    private double longLatency;
+    /**
+     * System.nanoTime() of the last sample.
+     */
+    private long lastSample;
+    /**
+     * System.nanoTime() of the last decrease.
+     */
+    private long lastDecrease = System.nanoTime();
+
+    /**
+     * SLF4J logger initialization.
+     */
+    private final Logger logger = LoggerFactory.getLogger(ConcurrencyLimiter.class);
+
+    /**
+     * Create a ConcurrencyLimiter with the default limits.
+     * @param name Endpoint name, used in logs.
+     */
+    public ConcurrencyLimiter(String name) {
+        this(name, DEFAULT_INITIAL_LIMIT, DEFAULT_MIN_LIMIT, DEFAULT_MAX_LIMIT);
+    }
+
+    /**
+     * Create a ConcurrencyLimiter.
+     * @param name Endpoint name, used in logs.
+     * @param initialLimit Starting limit.
+     * @param minLimit Lowest limit. At least 1.
+     * @param maxLimit Highest limit.
+     */
+    public ConcurrencyLimiter(String name, int initialLimit, int minLimit, int maxLimit) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= minLimit <= maxLimit.");
+        }
+        this.name = name;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = Math.max(minLimit, Math.min(initialLimit, maxLimit));
+    }
+
+    /**
+     * A request holding a place in the window. Release it exactly once with success(), dropped() or ignored().
+     */
+    public final class Permit {
+        /**
+         * System.nanoTime() at which the request started.
+         */
+        private final long start = System.nanoTime();
+
+        private Permit() {
+        }
+
+        /**
+         * The request completed normally. Its latency is used to adjust the limit.
+         */
+        public void success() {
+            release(start, System.nanoTime() - start, false);
+        }
+
+        /**
+         * IGC pushed back on the request (429/503, timeout). Decreases the limit.
+         */
+        public void dropped() {
+            release(start, 0, true);
+        }
+
+        /**
+         * The request ended without saying anything about IGC's load (interrupted, connection refused...).
+         */
+        public void ignored() {
+            lock.lock();
+            try {
+                inFlight--;
+                belowLimit.signal();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Take a place in the window, waiting while the limit is reached.
+     * @return Permit to release when the request finishes.
+     * @throws InterruptedIOException: Thrown if interrupted while waiting.
+     */
+    public Permit acquire() throws InterruptedIOException {
+        lock.lock();
+        try {
+            while (inFlight >= (int) limit) {
+                belowLimit.await();
+            }
+            inFlight++;
+            return new Permit();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a free " + name + " request slot.");
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Release a place in the window and adjust the limit.
+     * @param start System.nanoTime() at which the request started.
+     * @param latency Latency of the request in nanoseconds. Unused if dropped.
+     * @param dropped Whether IGC pushed back on the request.
+     */
+    private void release(long start, long latency, boolean dropped) {
+        lock.lock();
+        try {
+            boolean windowInUse = inFlight * 2 >= limit;
+            inFlight--;
+            double oldLimit = limit;
+            if (dropped) {
+                decrease(start, DROP_BACKOFF);
+            } else {
+                sample(latency);
+                if (samples > WARM_UP_SAMPLES && shortLatency > LATENCY_TOLERANCE * longLatency) {
+                    decrease(start, LATENCY_BACKOFF);
+                } else if (windowInUse) {
+                    limit = Math.min(maxLimit, limit + 1.0 / limit);
+                }
+            }
+            if ((int) limit != (int) oldLimit) {
+                logger.debug("IGC " + name + " concurrency limit " + (int) oldLimit + " -> " + (int) limit);
+            }
+            belowLimit.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Multiply the limit by a factor, unless the request started before the last decrease.
+     */
+    private void decrease(long start, double factor) {
+        if (start - lastDecrease < 0) {
+            return; // Already reacted to this overload.
+        }
+        limit = Math.max(minLimit, limit * factor);
+        lastDecrease = System.nanoTime();
+    }
+
+    /**
+     * Record a latency sample in the short and long-term latencies.
+     */
+    private void sample(long latency) {
+        long now = System.nanoTime();
+        long sinceLast = now - lastSample;
+        lastSample = now;
+        if (samples++ == 0) {
+            shortLatency = latency;
+            longLatency = latency;
+            return;
+        }
+        shortLatency += SHORT_SMOOTHING * (latency - shortLatency);
+        if (latency < longLatency) {
+            longLatency += SHORT_SMOOTHING * (latency - longLatency);
+        } else {
+            longLatency += Math.min(1.0, (double) sinceLast / LONG_RISE_NANOS) * (latency - longLatency);
+        }
+        if (samples <= WARM_UP_SAMPLES) {
+            longLatency = shortLatency; // Settle on the warmed-up latency.
+        }
+    }
+
+    /**
+     * @return Endpoint name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return Current limit.
+     */
+    public int getLimit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return Number of requests currently in flight.
+     */
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return Short-term smoothed latency, in milliseconds.
+     */
+    public double getSmoothedLatencyMillis() {
+        lock.lock();
+        try {
+            return shortLatency / TimeUnit.MILLISECONDS.toNanos(1);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return name + " limit=" + getLimit() + " inFlight=" + getInFlight();
+    }
+}
@@ -0,0 +1,329 @@
+package com.common.transport;
+
+import com.Utility.JsonResponseBuilder;
+import com.Utility.ResponseDecoder;
+import com.Utility.Utility;
+import com.common.HttpMethod;
+import com.dataObjects.requests.RequestTimings;
+import com.dataObjects.requests.RequestTimings.Phase;
+import com.dataObjects.requests.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HttpTransport built on java.net.http.HttpClient.
+ * A single HttpClient is kept for the life of the transport, so connections to the IGC host are pooled
+ * and kept alive between requests (negotiating HTTP/2 when the server supports it) rather than paying
+ * for a new TCP connection and TLS handshake on every call.
+ * HttpClient does not expose connection set-up, so the first byte phase of its requests (Response.getTimings())
+ * includes connecting and sending the request body.
+ * HttpClient's request timeout only covers the wait for the response headers, so the body stream is closed by a
+ * timer once no data has arrived for the timeout (see IdleTimeoutInputStream), like the read timeout of
+ * HttpURLConnection: a server stalling mid-body fails the request with an HttpTimeoutException instead of blocking
+ * the caller forever, while a slow body that keeps arriving is read to the end however long it takes.
+ */
+public class HttpClientTransport implements HttpTransport {
+    /**
+     * Default connect and request timeout, matching the legacy HttpURLConnection timeouts.
+     */
+    public static final Duration DEFAULT_TIMEOUT = Duration.ofMillis(5000);
+    /**
+     * Closes the body streams on which no data has arrived in time. Shared by every transport; its tasks only
+     * check the time of a stream's last read and close it.
+     */
+    private static final ScheduledExecutorService READ_TIMERS = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "igc-read-timeout");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Shared, thread-safe client holding the connection pool.
+     */
+    private final HttpClient client;
+    /**
+     * Time allowed for each request to receive its response headers, and between two reads of its body.
+     */
+    private final Duration requestTimeout;
+    /**
+     * Credentials and session cookies used to authenticate requests. Null if unauthenticated.
+     */
+    private volatile IGCSession session;
+
+    /**
+     * SLF4J logger initialization.
+     */
+    private final Logger logger = LoggerFactory.getLogger(HttpClientTransport.class);
+
+    /**
+     * Create a new HttpClientTransport using the default timeouts.
+     * @param disableSslVerification Set to true to trust all certificates (see Utility.disableSslVerification()).
+     */
+    public HttpClientTransport(boolean disableSslVerification) {
+        this(disableSslVerification, DEFAULT_TIMEOUT);
+    }
+
+    /**
+     * Create a new HttpClientTransport.
+     * @param disableSslVerification Set to true to trust all certificates (see Utility.disableSslVerification()).
+     * @param timeout Connect timeout, time allowed for each request to receive its response headers, and time
+     *                allowed between two reads of the response body. A body still arriving is never cut short.
+     */
+    public HttpClientTransport(boolean disableSslVerification, Duration timeout) {
+        HttpClient.Builder builder = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2) // Falls back to HTTP/1.1 keep-alive if not negotiated.
+                .connectTimeout(timeout)
+                .followRedirects(HttpClient.Redirect.NORMAL);
+        if (disableSslVerification) {
+            builder.sslContext(Utility.getTrustAllSslContext());
+        }
+        this.client = builder.build();
+        this.requestTimeout = timeout;
+    }
+
+    @Override
+    public Response execute(URL url, HttpMethod method, Object requestBody) throws IOException {
+        return execute(url, method, requestBody, null);
+    }
+
+    /**
+     * Make an HTTP request. The response body is read straight from the connection's InputStream.
+     * @param url: Full URL to make request to.
+     * @param method: HttpMethod Enum (GET, PUT, POST, DELETE)
+     * @param requestBody Object to be formatted into the body of the request. Only sent for POST and PUT.
+     *                    May be null.
+     * @param decoder Decoder for the body of a successful response, or null to read the body as the message.
+     * @return Response object of HTTP response body and ID of any new resource that was created.
+     * @throws IOException: Thrown if the request cannot be completed.
+     * @throws IllegalArgumentException: Thrown by the decoder.
+     */
+    @Override
+    public Response execute(URL url, HttpMethod method, Object requestBody, ResponseDecoder<?> decoder)
+            throws IOException, IllegalArgumentException {
+        return execute(url, method, requestBody, decoder, Collections.emptyMap());
+    }
+
+    @Override
+    public Response execute(URL url, HttpMethod method, Object requestBody, ResponseDecoder<?> decoder,
+                            Map<String, String> headers) throws IOException, IllegalArgumentException {
+        long start = System.nanoTime();
+        RequestTimings timings = new RequestTimings();
+        URI uri;
+        try {
+            uri = url.toURI();
+        } catch (URISyntaxException e) {
+            throw new IOException("Invalid request URL: " + url, e);
+        }
+        byte[] body = RequestBodies.encode(method, requestBody);
+        if (body != null && logger.isDebugEnabled()) {
+            logger.debug("About to " + method.name() + ":\n" + RequestBodies.describe(body));
+        }
+
+        logger.debug("Retrieving response code for call to: " + url.toString());
+        IGCSession session = this.session;
+        String cookieHeader = session == null ? null : session.getCookieHeader();
+        HttpResponse<InputStream> response =
+                send(buildRequest(uri, method, body, headers, session, cookieHeader), timings);
+
+        if (response.statusCode() == 401 && cookieHeader != null) {
+            // Session expired. Log in again with the credentials.
+            response.body().close();
+            session.invalidate(cookieHeader);
+            response = send(buildRequest(uri, method, body, headers, session, null), timings);
+        }
+        if (session != null) {
+            session.storeCookies(response.headers().allValues("Set-Cookie"));
+        }
+        Response built = JsonResponseBuilder.getResponseObject(response, decoder, timings);
+        built.setRequestLength(body == null ? 0 : body.length);
+        timings.setTotalNanos(System.nanoTime() - start);
+        return built;
+    }
+
+    @Override
+    public void setSession(IGCSession session) {
+        this.session = session;
+    }
+
+    /**
+     * Build an HttpRequest with authentication headers applied.
+     * @param uri URI to make the request to.
+     * @param method HttpMethod Enum (GET, PUT, POST, DELETE)
+     * @param body Encoded request body, or null if the request has no body. Sent with its Content-Length.
+     * @param headers Extra headers to send.
+     * @param session IGCSession to authenticate with. May be null.
+     * @param cookieHeader Session cookies to send. If null, preemptive Basic credentials are sent instead.
+     * @return HttpRequest ready to send.
+     */
+    private HttpRequest buildRequest(URI uri, HttpMethod method, byte[] body, Map<String, String> headers,
+                                     IGCSession session, String cookieHeader) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri)
+                .timeout(this.requestTimeout)
+                .header("Content-Type", RequestBodies.CONTENT_TYPE)
+                .header("Accept-Encoding", JsonResponseBuilder.ACCEPT_ENCODING);
+        headers.forEach(request::header);
+        if (cookieHeader != null) {
+            request.header("Cookie", cookieHeader);
+        } else if (session != null) {
+            request.header("Authorization", session.getAuthorizationHeader());
+        }
+        if (body != null) {
+            request.method(method.name(), HttpRequest.BodyPublishers.ofByteArray(body));
+        } else {
+            request.method(method.name(), HttpRequest.BodyPublishers.noBody());
+        }
+        return request.build();
+    }
+
+    /**
+     * Send a request on the pooled client, waiting for the response headers.
+     * @param request HttpRequest to send.
+     * @param timings Timings to add the first byte phase to.
+     * @return The HttpResponse, whose body must be read or closed by the caller. The body throws an
+     *         HttpTimeoutException once no data has arrived on it for requestTimeout.
+     * @throws IOException: Thrown by HttpClient.send(), or if interrupted while waiting.
+     */
+    private HttpResponse<InputStream> send(HttpRequest request, RequestTimings timings) throws IOException {
+        long start = System.nanoTime();
+        long timeout = this.requestTimeout.toNanos();
+        HttpResponse.BodyHandler<InputStream> bodyHandler = responseInfo -> HttpResponse.BodySubscribers.mapping(
+                HttpResponse.BodySubscribers.ofInputStream(),
+                body -> new IdleTimeoutInputStream(body, timeout, request.uri()));
+        try {
+            HttpResponse<InputStream> response = this.client.send(request, bodyHandler);
+            timings.add(Phase.FIRST_BYTE, System.nanoTime() - start);
+            return response;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting on response from: " + request.uri());
+        }
+    }
+
+    /**
+     * Body stream that is closed once no read has returned data for 'timeout', waking up a read blocked on a
+     * stalled server. Reads then throw an HttpTimeoutException, so the ResilientTransport treats the request as
+     * timed out. A single timer task per stream checks the time of the last read and re-arms itself until then.
+     */
+    private static class IdleTimeoutInputStream extends FilterInputStream {
+        private final URI uri;
+        private final long timeoutNanos;
+        private volatile long lastReadNanos;
+        private volatile boolean expired;
+        private ScheduledFuture<?> timer;
+        private boolean closed;
+
+        IdleTimeoutInputStream(InputStream body, long timeoutNanos, URI uri) {
+            super(body);
+            this.uri = uri;
+            this.timeoutNanos = timeoutNanos;
+            this.lastReadNanos = System.nanoTime();
+            this.timer = READ_TIMERS.schedule(this::checkIdle, timeoutNanos, TimeUnit.NANOSECONDS);
+        }
+
+        /**
+         * Close the stream if nothing was read for the timeout, or check again when it would run out.
+         */
+        private void checkIdle() {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                long remaining = lastReadNanos + timeoutNanos - System.nanoTime();
+                if (remaining > 0) {
+                    timer = READ_TIMERS.schedule(this::checkIdle, remaining, TimeUnit.NANOSECONDS);
+                    return;
+                }
+                expired = true;
+            }
+            try {
+                in.close();
+            } catch (IOException e) {
+                // Reads fail with a timeout anyway.
+            }
+        }
+
+        @Override
+        public int read() throws IOException {
+            try {
+                return checkExpired(in.read());
+            } catch (IOException e) {
+                throw timeoutOr(e);
+            }
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            try {
+                return checkExpired(in.read(b, off, len));
+            } catch (IOException e) {
+                throw timeoutOr(e);
+            }
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            try {
+                long skipped = in.skip(n);
+                lastReadNanos = System.nanoTime();
+                return skipped;
+            } catch (IOException e) {
+                throw timeoutOr(e);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            synchronized (this) {
+                closed = true;
+                timer.cancel(false);
+            }
+            in.close();
+        }
+
+        /**
+         * @return The result of a read, unless the stream was closed by the timer (which can look like the end of
+         *         the body). Records the time of the read.
+         */
+        private int checkExpired(int result) throws IOException {
+            if (result < 0 && expired) {
+                throw timeoutOr(null);
+            }
+            lastReadNanos = System.nanoTime();
+            return result;
+        }
+
+        /**
+         * @return A timeout if the stream was closed by the timer, the read's own exception otherwise.
+         */
+        private IOException timeoutOr(IOException e) {
+            if (!expired) {
+                return e;
+            }
+            HttpTimeoutException timeout = new HttpTimeoutException("No response data received for " +
+                    timeoutNanos / 1_000_000 + " ms from: " + uri);
+            if (e != null) {
+                timeout.initCause(e);
+            }
+            return timeout;
+        }
+    }
+}
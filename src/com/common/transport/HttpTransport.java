@@ -0,0 +1,88 @@
+package com.common.transport;
+
+import com.Utility.ResponseDecoder;
+import com.common.HttpMethod;
+import com.dataObjects.requests.Response;
+import com.google.gson.stream.JsonReader;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.net.URL;
+import java.util.Map;
+
+/**
+ * The HTTP layer used by URLConnection to talk to the IGC API.
+ * Implementations open (or re-use) a connection to the IGC host, send the request and build a Response
+ * object from the result.
+ *
+ * Available implementations:
+ *  - HttpClientTransport:        Default. java.net.http.HttpClient with pooled keep-alive / HTTP/2 connections.
+ *  - HttpURLConnectionTransport: Legacy fallback. One HttpURLConnection per request.
+ */
+public interface HttpTransport {
+
+    /**
+     * Make an HTTP request.
+     * @param url: Full URL to make request to.
+     * @param method: HttpMethod Enum (GET, PUT, POST, DELETE)
+     * @param requestBody Object to be formatted into the body of the request. Only sent for POST and PUT.
+     *                    May be null.
+     * @return Response object of HTTP response message and ID of any new resource that was created.
+     * @throws IOException: Thrown if the request cannot be completed.
+     */
+    Response execute(URL url, HttpMethod method, Object requestBody) throws IOException;
+
+    /**
+     * Make an HTTP request, decoding a successful response body as it is read from the connection.
+     * The decoded body is available from Response.getBody(), and the message String is only built if asked for.
+     * Failed responses (code 300 or higher) are not decoded; their body is read as the message as usual.
+     *
+     * The default implementation reads the whole body as a String and then decodes it. Implementations should
+     * override it to decode straight from the connection's InputStream.
+     * @param url: Full URL to make request to.
+     * @param method: HttpMethod Enum (GET, PUT, POST, DELETE)
+     * @param requestBody Object to be formatted into the body of the request. Only sent for POST and PUT.
+     *                    May be null.
+     * @param decoder Decoder for the body of a successful response.
+     * @return Response object holding the decoded body.
+     * @throws IOException: Thrown if the request cannot be completed.
+     * @throws IllegalArgumentException: Thrown by the decoder.
+     */
+    default Response execute(URL url, HttpMethod method, Object requestBody, ResponseDecoder<?> decoder)
+            throws IOException, IllegalArgumentException {
+        Response response = execute(url, method, requestBody);
+        if (response.getResponseCode() > 299) {
+            return response;
+        }
+        Object body = decoder.decode(new JsonReader(new StringReader(response.getMessage())));
+        return new Response(body, response.get_id(), response.getResponseCode(), response.getCodeMessage(),
+                response.getContentLength());
+    }
+
+    /**
+     * Make an HTTP request with extra request headers, such as the 'If-None-Match' / 'If-Modified-Since'
+     * validators of a conditional GET. A conditional GET of an unchanged resource returns code 304 with no body.
+     *
+     * The default implementation ignores the headers, so conditional GETs through it always download the body.
+     * @param url: Full URL to make request to.
+     * @param method: HttpMethod Enum (GET, PUT, POST, DELETE)
+     * @param requestBody Object to be formatted into the body of the request. Only sent for POST and PUT.
+     *                    May be null.
+     * @param decoder Decoder for the body of a successful response, or null to read the body as the message.
+     * @param headers Header names and values to add to the request.
+     * @return Response object holding the decoded body.
+     * @throws IOException: Thrown if the request cannot be completed.
+     * @throws IllegalArgumentException: Thrown by the decoder.
+     */
+    default Response execute(URL url, HttpMethod method, Object requestBody, ResponseDecoder<?> decoder,
+                             Map<String, String> headers) throws IOException, IllegalArgumentException {
+        return decoder == null ? execute(url, method, requestBody) : execute(url, method, requestBody, decoder);
+    }
+
+    /**
+     * Set the IGCSession used to authenticate requests.
+     * Requests carry the session's cookies once a session exists, and preemptive Basic credentials otherwise.
+     * @param session IGCSession to authenticate with, or null to send requests unauthenticated.
+     */
+    void setSession(IGCSession session);
+}
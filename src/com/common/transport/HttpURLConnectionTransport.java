@@ -0,0 +1,232 @@
+package com.common.transport;
+
+import com.Utility.JsonResponseBuilder;
+import com.Utility.ResponseDecoder;
+import com.common.HttpMethod;
+import com.dataObjects.requests.RequestTimings;
+import com.dataObjects.requests.RequestTimings.Phase;
+import com.dataObjects.requests.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Legacy HttpTransport that opens a new HttpURLConnection for every request.
+ * Relies on the JVM-wide SSL defaults installed by Utility.disableSslVerification().
+ * Kept as a fallback for environments where java.net.http.HttpClient cannot be used.
+ * Records the connect, send and first byte phases of its requests (Response.getTimings()).
+ */
+public class HttpURLConnectionTransport implements HttpTransport {
+    /**
+     * Connect and read timeout in milliseconds.
+     */
+    private final int timeout;
+    /**
+     * Credentials and session cookies used to authenticate requests. Null if unauthenticated.
+     */
+    private volatile IGCSession session;
+
+    /**
+     * SLF4J logger initialization.
+     */
+    private final Logger logger = LoggerFactory.getLogger(HttpURLConnectionTransport.class);
+
+    /**
+     * Create a new HttpURLConnectionTransport with 5 second connect and read timeouts.
+     */
+    public HttpURLConnectionTransport() {
+        this(5000); //Setting to 5 seconds for default.
+    }
+
+    /**
+     * Create a new HttpURLConnectionTransport.
+     * @param timeout Connect and read timeout in milliseconds.
+     */
+    public HttpURLConnectionTransport(int timeout) {
+        this.timeout = timeout;
+    }
+
+    /**
+     * Make an HTTP request, using an object to populate the body.
+     *
+     * @param url URL at which to make the request.
+     * @param method: HttpMethod Enum (GET, PUT, POST, DELETE)
+     * @param requestBody Resource to be formatted into the body of the request.
+     * @return Response object of HTTP response message and ID if any new resource that was created.
+     * @throws IOException: Thrown by JsonResponseBuilder.getResponseObject()
+     */
+    @Override
+    public Response execute(URL url, HttpMethod method, Object requestBody) throws IOException {
+        return execute(url, method, requestBody, null);
+    }
+
+    /**
+     * Make an HTTP request, decoding a successful response body straight from the connection's InputStream.
+     *
+     * @param url URL at which to make the request.
+     * @param method: HttpMethod Enum (GET, PUT, POST, DELETE)
+     * @param requestBody Resource to be formatted into the body of the request.
+     * @param decoder Decoder for the body of a successful response, or null to read the body as the message.
+     * @return Response object of HTTP response body and ID if any new resource that was created.
+     * @throws IOException: Thrown by JsonResponseBuilder.getResponseObject()
+     * @throws IllegalArgumentException: Thrown by the decoder.
+     */
+    @Override
+    public Response execute(URL url, HttpMethod method, Object requestBody, ResponseDecoder<?> decoder)
+            throws IOException, IllegalArgumentException {
+        return execute(url, method, requestBody, decoder, Collections.emptyMap());
+    }
+
+    @Override
+    public Response execute(URL url, HttpMethod method, Object requestBody, ResponseDecoder<?> decoder,
+                            Map<String, String> headers) throws IOException, IllegalArgumentException {
+        long start = System.nanoTime();
+        RequestTimings timings = new RequestTimings();
+        byte[] body = RequestBodies.encode(method, requestBody);
+        IGCSession session = this.session;
+        String cookieHeader = session == null ? null : session.getCookieHeader();
+        HttpURLConnection connection = sendRequest(url, method, body, headers, session, cookieHeader, timings);
+
+        // Reading the Response Code //
+        logger.debug("Retrieving response code for call to: " + url.toString());
+        int status = readResponseCode(connection, timings);
+
+        if (status == HttpURLConnection.HTTP_UNAUTHORIZED && cookieHeader != null) {
+            // Session expired. Log in again with the credentials.
+            connection.disconnect();
+            session.invalidate(cookieHeader);
+            connection = sendRequest(url, method, body, headers, session, null, timings);
+            status = readResponseCode(connection, timings);
+        }
+        storeCookies(connection, session);
+
+        // Check response code for a redirect indication
+        if (status == HttpURLConnection.HTTP_MOVED_TEMP
+                || status == HttpURLConnection.HTTP_MOVED_PERM) {
+            String location = connection.getHeaderField("Location");
+            logger.warn("Http request resulted in a redirect.");
+            logger.warn("Redirecting to: " + location);
+            URL newUrl = new URL(location);
+            connection = (HttpURLConnection) newUrl.openConnection();
+            connection.setRequestProperty("Accept-Encoding", JsonResponseBuilder.ACCEPT_ENCODING);
+            headers.forEach(connection::setRequestProperty);
+            applyAuthentication(connection, session, session == null ? null : session.getCookieHeader());
+        }
+
+        //Use this to return a Response object.
+        Response response = JsonResponseBuilder.getResponseObject(connection, decoder, timings);
+        response.setRequestLength(body == null ? 0 : body.length);
+        timings.setTotalNanos(System.nanoTime() - start);
+        return response;
+    }
+
+    @Override
+    public void setSession(IGCSession session) {
+        this.session = session;
+    }
+
+    /**
+     * Open a new connection, apply headers and write the request body (if any).
+     * @param url URL at which to make the request.
+     * @param method HttpMethod Enum (GET, PUT, POST, DELETE)
+     * @param body Encoded request body, or null if the request has no body.
+     * @param headers Extra headers to send.
+     * @param session IGCSession to authenticate with. May be null.
+     * @param cookieHeader Session cookies to send. If null, preemptive Basic credentials are sent instead.
+     * @param timings Timings to add the connect and send phases to.
+     * @return HttpURLConnection that has sent its request.
+     * @throws IOException: Thrown when opening or writing to the connection.
+     */
+    private HttpURLConnection sendRequest(URL url, HttpMethod method, byte[] body, Map<String, String> headers,
+                                          IGCSession session, String cookieHeader, RequestTimings timings)
+            throws IOException {
+        // Establish connection and request method //
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        connection.setRequestMethod(method.name());
+        connection.setConnectTimeout(this.timeout);
+        connection.setReadTimeout(this.timeout);
+
+        // Setting Request Headers //
+        connection.setRequestProperty("Content-Type", RequestBodies.CONTENT_TYPE);
+        connection.setRequestProperty("Accept-Encoding", JsonResponseBuilder.ACCEPT_ENCODING);
+        headers.forEach(connection::setRequestProperty);
+        applyAuthentication(connection, session, cookieHeader);
+
+        // Handling Redirects //
+        connection.setInstanceFollowRedirects(true); //Allow redirects for this object's connection
+
+        if (body != null) {
+            // Apply parameters to connection object if request body is required.
+            if (logger.isDebugEnabled()) {
+                logger.debug("About to " + method.name() + ":\n" + RequestBodies.describe(body));
+            }
+            connection.setDoOutput(true);
+            // Declare the length, so the body is streamed rather than buffered by HttpURLConnection.
+            connection.setFixedLengthStreamingMode(body.length);
+        }
+
+        // Connect explicitly, so connection set-up (DNS, TCP, TLS) is timed apart from the request itself.
+        long start = System.nanoTime();
+        connection.connect();
+        timings.add(Phase.CONNECT, System.nanoTime() - start);
+
+        if (body != null) {
+            start = System.nanoTime();
+            try (OutputStream out = connection.getOutputStream()) {
+                out.write(body);
+            }
+            timings.add(Phase.SEND, System.nanoTime() - start);
+        }
+        return connection;
+    }
+
+    /**
+     * Wait for the response headers of a connection that has sent its request.
+     * @param connection HttpURLConnection that has sent its request.
+     * @param timings Timings to add the first byte phase to.
+     * @return HTTP status code of the response.
+     * @throws IOException: Thrown by HttpURLConnection.getResponseCode().
+     */
+    private int readResponseCode(HttpURLConnection connection, RequestTimings timings) throws IOException {
+        long start = System.nanoTime();
+        int status = connection.getResponseCode();
+        timings.add(Phase.FIRST_BYTE, System.nanoTime() - start);
+        return status;
+    }
+
+    /**
+     * Add the session cookie, or preemptive Basic credentials if there is no session, to a connection.
+     * @param connection HttpURLConnection that has not yet sent its request.
+     * @param session IGCSession to authenticate with. May be null.
+     * @param cookieHeader Session cookies to send. May be null.
+     */
+    private void applyAuthentication(HttpURLConnection connection, IGCSession session, String cookieHeader) {
+        if (cookieHeader != null) {
+            connection.setRequestProperty("Cookie", cookieHeader);
+        } else if (session != null) {
+            connection.setRequestProperty("Authorization", session.getAuthorizationHeader());
+        }
+    }
+
+    /**
+     * Capture any session cookies set by the server.
+     * @param connection HttpURLConnection that has received its response.
+     * @param session IGCSession to store the cookies in. May be null.
+     */
+    private void storeCookies(HttpURLConnection connection, IGCSession session) {
+        if (session == null) {
+            return;
+        }
+        connection.getHeaderFields().forEach((key, values) -> {
+            if ("Set-Cookie".equalsIgnoreCase(key)) {
+                session.storeCookies(values);
+            }
+        });
+    }
+}
@@ -0,0 +1,109 @@
+package com.common.transport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.HttpCookie;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Holds the credentials and the current IGC session for an HttpTransport.
+ *
+ * The first request is sent with a preemptive Basic 'Authorization' header, so the server never has to send a
+ * 401 challenge first. The session cookies returned by IGC (LtpaToken2, JSESSIONID, ...) are captured and sent
+ * on every following request instead of the credentials.
+ * When the session expires (401 on a request that carried the cookies), the transport calls invalidate() and
+ * re-sends the request with Basic credentials, which logs in again and captures a fresh session.
+ *
+ * Thread-safe. One IGCSession is shared by every thread using the same URLConnection.
+ */
+public class IGCSession {
+    /**
+     * Pre-computed value of the Basic 'Authorization' header.
+     */
+    private final String authorizationHeader;
+    /**
+     * Current session cookies by name. Empty until the server starts a session.
+     */
+    private final Map<String, HttpCookie> cookies = new ConcurrentHashMap<>();
+
+    /**
+     * SLF4J logger initialization.
+     */
+    private final Logger logger = LoggerFactory.getLogger(IGCSession.class);
+
+    /**
+     * Create a new IGCSession.
+     * @param username Username for all HTTP requests.
+     * @param password Password for all HTTP requests.
+     */
+    public IGCSession(String username, String password) {
+        String credentials = username + ":" + password;
+        this.authorizationHeader = "Basic " +
+                Base64.getEncoder().encodeToString(credentials.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return Value for a preemptive Basic 'Authorization' header.
+     */
+    public String getAuthorizationHeader() {
+        return authorizationHeader;
+    }
+
+    /**
+     * @return Value for the 'Cookie' header of the current session, or null if there is no live session
+     *         (the request should then be sent with getAuthorizationHeader()).
+     */
+    public String getCookieHeader() {
+        cookies.values().removeIf(HttpCookie::hasExpired);
+        if (cookies.isEmpty()) {
+            return null;
+        }
+        return cookies.values().stream()
+                .map(cookie -> cookie.getName() + "=" + cookie.getValue())
+                .collect(Collectors.joining("; "));
+    }
+
+    /**
+     * Capture any session cookies set by a response.
+     * @param setCookieHeaders Values of every 'Set-Cookie' header in the response. May be null.
+     */
+    public void storeCookies(List<String> setCookieHeaders) {
+        if (setCookieHeaders == null) {
+            return;
+        }
+        for (String header : setCookieHeaders) {
+            try {
+                for (HttpCookie cookie : HttpCookie.parse(header)) {
+                    if (cookie.hasExpired() || cookie.getValue().isEmpty()) {
+                        cookies.remove(cookie.getName()); // Server cleared the cookie (logout).
+                    } else {
+                        if (!cookies.containsKey(cookie.getName())) {
+                            logger.debug("Captured IGC session cookie: " + cookie.getName());
+                        }
+                        cookies.put(cookie.getName(), cookie);
+                    }
+                }
+            } catch (IllegalArgumentException e) {
+                logger.warn("Ignoring malformed Set-Cookie header: " + header);
+            }
+        }
+    }
+
+    /**
+     * Drop the current session after the server rejected it, so the next request logs in again.
+     * Does nothing if another thread has already replaced the session that was rejected.
+     * @param rejectedCookieHeader The 'Cookie' header value that was sent with the rejected request.
+     */
+    public synchronized void invalidate(String rejectedCookieHeader) {
+        if (rejectedCookieHeader != null && rejectedCookieHeader.equals(getCookieHeader())) {
+            logger.info("IGC session expired. Logging in again.");
+            cookies.clear();
+        }
+    }
+}
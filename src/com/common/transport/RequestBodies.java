@@ -0,0 +1,45 @@
+package com.common.transport;
+
+import com.Utility.codec.Codecs;
+import com.common.HttpMethod;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Encodes request bodies for the HttpTransports.
+ * Bodies are compact UTF-8 JSON from the shared Gson (see Codecs), encoded once into a byte array so that the
+ * request can declare its Content-Length and be re-sent unchanged if the session has to be re-established.
+ */
+final class RequestBodies {
+    /**
+     * Content-Type of every request.
+     */
+    static final String CONTENT_TYPE = "application/json; charset=UTF-8";
+
+    private RequestBodies() {
+    }
+
+    /**
+     * Encode the body of a request.
+     * @param method HttpMethod Enum (GET, PUT, POST, DELETE). Only POST and PUT requests have a body.
+     * @param requestBody POJO to encode as JSON, or a String that is already JSON. May be null.
+     * @return UTF-8 bytes of the body, or null if the request has no body.
+     */
+    static byte[] encode(HttpMethod method, Object requestBody) {
+        if ((method != HttpMethod.POST && method != HttpMethod.PUT) || requestBody == null) {
+            return null;
+        }
+        if (requestBody instanceof String) {
+            return ((String) requestBody).getBytes(StandardCharsets.UTF_8);
+        }
+        return Codecs.toJsonBytes(requestBody);
+    }
+
+    /**
+     * @param body Encoded body.
+     * @return The body as a String, for debug logging.
+     */
+    static String describe(byte[] body) {
+        return new String(body, StandardCharsets.UTF_8);
+    }
+}
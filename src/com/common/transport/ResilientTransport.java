@@ -0,0 +1,479 @@
+package com.common.transport;
+
+import com.Utility.ResponseDecoder;
+import com.common.HttpMethod;
+import com.dataObjects.requests.RequestTimings;
+import com.dataObjects.requests.RequestTimings.Phase;
+import com.dataObjects.requests.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.ConnectException;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.net.URL;
+import java.net.http.HttpTimeoutException;
+import java.nio.channels.UnresolvedAddressException;
+import java.util.Locale;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * HttpTransport that adds retries, a circuit breaker and adaptive concurrency limits to another HttpTransport.
+ * URLConnection wraps its transport in one of these, so every request goes through it.
+ *
+ *  - Retries: Timeouts, refused or reset connections, and 429/502/503/504 responses are retried according to the
+ *    RetryPolicy of the request's method, waiting an exponential, jittered backoff between attempts. Other
+ *    errors (TLS, unknown host, unsupported encoding, ...) would fail again, so fail straight away without
+ *    counting against the circuit breaker.
+ *    By default GETs and POST searches (which do not change anything) are retried, while creates (POST),
+ *    updates (PUT) and deletes are made only once. See setRetryPolicy() and setSearchRetryPolicy().
+ *  - Circuit breaker: Once IGC keeps failing, requests fail straight away with a CircuitOpenException instead of
+ *    each waiting on its own timeout. See CircuitBreaker.
+ *  - Concurrency limits: Each attempt waits for a place in the ConcurrencyLimiter of its endpoint ('search',
+ *    'assets' or 'other'), whose limit grows while latency stays flat and shrinks when latency rises or IGC
+ *    answers 429/503/504 or times out. Waits between retries do not hold a place.
+ *  - Metrics: Attempt, retry and failure counts are kept, along with the breaker's state and counts, and the
+ *    response bytes received on the wire versus after decompression. The time spent waiting for a place and
+ *    backing off is added to the RequestTimings of each Response, with the number of attempts.
+ */
+public class ResilientTransport implements HttpTransport {
+    /**
+     * Default policy of GETs and POST searches.
+     */
+    public static final RetryPolicy DEFAULT_SAFE_RETRY_POLICY =
+            RetryPolicy.of(3, Duration.ofMillis(200), Duration.ofSeconds(5));
+    /**
+     * Endpoint of searches and lists ('search', 'search/').
+     */
+    public static final String SEARCH_ENDPOINT = "search";
+    /**
+     * Endpoint of single resources ('assets/...').
+     */
+    public static final String ASSETS_ENDPOINT = "assets";
+    /**
+     * Any other endpoint.
+     */
+    public static final String OTHER_ENDPOINT = "other";
+
+    /**
+     * Transport that makes each attempt.
+     */
+    private final HttpTransport delegate;
+    /**
+     * Breaker shared by every request made through this transport.
+     */
+    private final CircuitBreaker circuitBreaker;
+    /**
+     * Retry policy of each method. POST searches use searchRetryPolicy instead.
+     */
+    private final Map<HttpMethod, RetryPolicy> retryPolicies = new EnumMap<>(HttpMethod.class);
+    /**
+     * Retry policy of POST searches.
+     */
+    private volatile RetryPolicy searchRetryPolicy = DEFAULT_SAFE_RETRY_POLICY;
+    /**
+     * Concurrency limiter of each endpoint. A null limiter leaves the endpoint unlimited.
+     */
+    private final Map<String, ConcurrencyLimiter> limiters = new LinkedHashMap<>();
+
+    //// Metrics, see the getters below ////
+    private final LongAdder requestCount = new LongAdder();
+    private final LongAdder attemptCount = new LongAdder();
+    private final LongAdder retryCount = new LongAdder();
+    private final LongAdder failureCount = new LongAdder();
+    private final LongAdder wireBytes = new LongAdder();
+    private final LongAdder decodedBytes = new LongAdder();
+
+    /**
+     * SLF4J logger initialization.
+     */
+    private final Logger logger = LoggerFactory.getLogger(ResilientTransport.class);
+
+    /**
+     * Create a ResilientTransport with the default retry policies and a default CircuitBreaker.
+     * @param delegate Transport that makes each attempt.
+     */
+    public ResilientTransport(HttpTransport delegate) {
+        this(delegate, new CircuitBreaker());
+    }
+
+    /**
+     * Create a ResilientTransport with the default retry policies.
+     * @param delegate Transport that makes each attempt.
+     * @param circuitBreaker Breaker to use.
+     */
+    public ResilientTransport(HttpTransport delegate, CircuitBreaker circuitBreaker) {
+        this.delegate = delegate;
+        this.circuitBreaker = circuitBreaker;
+        retryPolicies.put(HttpMethod.GET, DEFAULT_SAFE_RETRY_POLICY);
+        retryPolicies.put(HttpMethod.POST, RetryPolicy.none());
+        retryPolicies.put(HttpMethod.PUT, RetryPolicy.none());
+        retryPolicies.put(HttpMethod.DELETE, RetryPolicy.none());
+        for (String endpoint : new String[]{SEARCH_ENDPOINT, ASSETS_ENDPOINT, OTHER_ENDPOINT}) {
+            limiters.put(endpoint, new ConcurrencyLimiter(endpoint));
+        }
+    }
+
+    @Override
+    public Response execute(URL url, HttpMethod method, Object requestBody) throws IOException {
+        return execute(url, method, requestBody, null);
+    }
+
+    @Override
+    public Response execute(URL url, HttpMethod method, Object requestBody, ResponseDecoder<?> decoder)
+            throws IOException, IllegalArgumentException {
+        return execute(url, method, requestBody, decoder, Collections.emptyMap());
+    }
+
+    @Override
+    public Response execute(URL url, HttpMethod method, Object requestBody, ResponseDecoder<?> decoder,
+                            Map<String, String> headers) throws IOException, IllegalArgumentException {
+        requestCount.increment();
+        long start = System.nanoTime();
+        long queueNanos = -1; // Unmeasured while no limiter was waited on.
+        long backoffNanos = 0;
+        RetryPolicy policy = getRetryPolicy(url, method);
+        for (int attempt = 1; ; attempt++) {
+            if (!circuitBreaker.tryAcquire()) {
+                failureCount.increment();
+                throw new CircuitOpenException("IGC is unavailable, not sending " + method.name() + " " + url +
+                        " (circuit breaker open).");
+            }
+            ConcurrencyLimiter limiter = getConcurrencyLimiter(getEndpoint(url));
+            ConcurrencyLimiter.Permit permit = null;
+            if (limiter != null) {
+                long queueStart = System.nanoTime();
+                try {
+                    permit = limiter.acquire();
+                } catch (InterruptedIOException e) {
+                    circuitBreaker.onIgnored();
+                    throw e;
+                }
+                queueNanos = Math.max(queueNanos, 0) + System.nanoTime() - queueStart;
+            }
+            attemptCount.increment();
+            boolean lastAttempt = attempt >= policy.getMaxAttempts();
+            Response response;
+            try {
+                if (!headers.isEmpty()) {
+                    response = delegate.execute(url, method, requestBody, decoder, headers);
+                } else if (decoder == null) {
+                    response = delegate.execute(url, method, requestBody);
+                } else {
+                    response = delegate.execute(url, method, requestBody, decoder);
+                }
+            } catch (IOException e) {
+                boolean timedOut = e instanceof SocketTimeoutException || e instanceof HttpTimeoutException;
+                if (permit != null) {
+                    if (timedOut) {
+                        permit.dropped();
+                    } else {
+                        permit.ignored();
+                    }
+                }
+                if (!isRetryable(e)) { // Interrupted or misconfigured: says nothing about IGC's health.
+                    circuitBreaker.onIgnored();
+                    if (!(e instanceof InterruptedIOException)) {
+                        failureCount.increment();
+                    }
+                    throw e;
+                }
+                circuitBreaker.onFailure();
+                if (lastAttempt) {
+                    failureCount.increment();
+                    throw e;
+                }
+                logger.warn("Attempt " + attempt + " of " + method.name() + " " + url + " failed: " + e +
+                        ". Retrying.");
+                backoffNanos += backOff(policy, attempt);
+                continue;
+            } catch (RuntimeException e) { // IGC answered, but the body could not be decoded.
+                if (permit != null) {
+                    permit.success();
+                }
+                circuitBreaker.onSuccess();
+                throw e;
+            }
+
+            if (response.getWireLength() >= 0 && response.getContentLength() >= 0) {
+                wireBytes.add(response.getWireLength());
+                decodedBytes.add(response.getContentLength());
+            }
+            int code = response.getResponseCode();
+            if (permit != null) {
+                if (code == 429 || code == 503 || code == 504) {
+                    permit.dropped();
+                } else {
+                    permit.success();
+                }
+            }
+            if (isUnhealthy(code)) {
+                circuitBreaker.onFailure();
+            } else {
+                circuitBreaker.onSuccess();
+            }
+            if (!isRetryable(code) || lastAttempt) {
+                if (code > 499) {
+                    failureCount.increment();
+                }
+                RequestTimings timings = response.getTimings();
+                if (timings == null) { // Delegate that does not time its requests.
+                    timings = new RequestTimings();
+                    response.setTimings(timings);
+                }
+                if (queueNanos >= 0) {
+                    timings.add(Phase.QUEUE, queueNanos);
+                }
+                if (attempt > 1) {
+                    timings.add(Phase.BACKOFF, backoffNanos);
+                }
+                timings.setAttempts(attempt);
+                timings.setTotalNanos(System.nanoTime() - start);
+                return response;
+            }
+            logger.warn("Attempt " + attempt + " of " + method.name() + " " + url + " returned " + code + " - " +
+                    response.getCodeMessage() + ". Retrying.");
+            backoffNanos += backOff(policy, attempt);
+        }
+    }
+
+    /**
+     * Wait before a retry.
+     * @param policy RetryPolicy of the request.
+     * @param attempt Number of the attempt that failed, starting at 1.
+     * @return Nanoseconds waited.
+     * @throws InterruptedIOException: Thrown if interrupted while waiting.
+     */
+    private long backOff(RetryPolicy policy, int attempt) throws InterruptedIOException {
+        retryCount.increment();
+        long delay = policy.delayMillis(attempt);
+        if (delay <= 0) {
+            return 0;
+        }
+        long start = System.nanoTime();
+        try {
+            Thread.sleep(delay);
+            return System.nanoTime() - start;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting to retry a request to IGC.");
+        }
+    }
+
+    /**
+     * @param e Exception thrown by an attempt.
+     * @return Whether the attempt is worth retrying: true for timeouts and refused, reset or closed connections.
+     *         False if the thread was interrupted, and for errors that would happen again (TLS handshake and
+     *         certificates, unknown host, unsupported Content-Encoding, ...).
+     */
+    private static boolean isRetryable(IOException e) {
+        if (Thread.currentThread().isInterrupted()) {
+            return false;
+        }
+        if (e instanceof SocketTimeoutException || e instanceof HttpTimeoutException) {
+            return true;
+        }
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof UnresolvedAddressException) { // HttpClient's unknown host, as a ConnectException.
+                return false;
+            }
+        }
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConnectException) {
+                return true;
+            } else if (cause instanceof SocketException) {
+                String message = String.valueOf(cause.getMessage()).toLowerCase(Locale.ROOT);
+                if (message.contains("reset") || message.contains("closed") || message.contains("broken pipe")) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param code HTTP response code.
+     * @return Whether the response may succeed if the request is made again.
+     */
+    private static boolean isRetryable(int code) {
+        return code == 429 || isUnhealthy(code);
+    }
+
+    /**
+     * @param code HTTP response code.
+     * @return Whether the response means IGC (or a proxy in front of it) is down or overloaded.
+     */
+    private static boolean isUnhealthy(int code) {
+        return code == 502 || code == 503 || code == 504;
+    }
+
+    /**
+     * @param url URL of a request.
+     * @return Endpoint of the request, used to pick its ConcurrencyLimiter.
+     */
+    private static String getEndpoint(URL url) {
+        String path = url.getPath();
+        if (path.contains("/search")) {
+            return SEARCH_ENDPOINT;
+        } else if (path.contains("/assets")) {
+            return ASSETS_ENDPOINT;
+        }
+        return OTHER_ENDPOINT;
+    }
+
+    /**
+     * @param endpoint SEARCH_ENDPOINT, ASSETS_ENDPOINT or OTHER_ENDPOINT.
+     * @return The endpoint's ConcurrencyLimiter, or null if the endpoint is unlimited.
+     */
+    public ConcurrencyLimiter getConcurrencyLimiter(String endpoint) {
+        synchronized (limiters) {
+            return limiters.get(endpoint);
+        }
+    }
+
+    /**
+     * Replace the ConcurrencyLimiter of an endpoint, for example to change its limits.
+     * @param endpoint SEARCH_ENDPOINT, ASSETS_ENDPOINT or OTHER_ENDPOINT.
+     * @param limiter ConcurrencyLimiter to use, or null to leave the endpoint unlimited.
+     */
+    public void setConcurrencyLimiter(String endpoint, ConcurrencyLimiter limiter) {
+        synchronized (limiters) {
+            if (!limiters.containsKey(endpoint)) {
+                throw new IllegalArgumentException("Unknown endpoint: " + endpoint);
+            }
+            limiters.put(endpoint, limiter);
+        }
+    }
+
+    /**
+     * @return Copy of the ConcurrencyLimiter of each endpoint (null if unlimited), for monitoring.
+     */
+    public Map<String, ConcurrencyLimiter> getConcurrencyLimiters() {
+        synchronized (limiters) {
+            return Collections.unmodifiableMap(new LinkedHashMap<>(limiters));
+        }
+    }
+
+    /**
+     * @param url URL of the request.
+     * @param method Method of the request.
+     * @return Policy for the request. POSTs to 'search' are searches and use the search policy.
+     */
+    private RetryPolicy getRetryPolicy(URL url, HttpMethod method) {
+        if (method == HttpMethod.POST) {
+            String path = url.getPath();
+            if (path.endsWith("/search") || path.endsWith("/search/")) {
+                return searchRetryPolicy;
+            }
+        }
+        synchronized (retryPolicies) {
+            return retryPolicies.get(method);
+        }
+    }
+
+    /**
+     * Set how requests of a method are retried. Only set a retrying policy for POST if repeating every POST
+     * (including creates) is safe; POST searches have their own policy, see setSearchRetryPolicy().
+     * @param method Method to set the policy of.
+     * @param policy RetryPolicy to use. RetryPolicy.none() to make a single attempt.
+     */
+    public void setRetryPolicy(HttpMethod method, RetryPolicy policy) {
+        synchronized (retryPolicies) {
+            retryPolicies.put(method, policy);
+        }
+    }
+
+    /**
+     * @param method HTTP method.
+     * @return How requests of the method are retried.
+     */
+    public RetryPolicy getRetryPolicy(HttpMethod method) {
+        synchronized (retryPolicies) {
+            return retryPolicies.get(method);
+        }
+    }
+
+    /**
+     * Set how POST searches are retried.
+     * @param policy RetryPolicy to use. RetryPolicy.none() to make a single attempt.
+     */
+    public void setSearchRetryPolicy(RetryPolicy policy) {
+        this.searchRetryPolicy = policy;
+    }
+
+    /**
+     * @return How POST searches are retried.
+     */
+    public RetryPolicy getSearchRetryPolicy() {
+        return searchRetryPolicy;
+    }
+
+    /**
+     * @return The transport that makes each attempt.
+     */
+    public HttpTransport getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * @return The CircuitBreaker, for its state, open count and rejected count.
+     */
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    /**
+     * @return Number of requests made through this transport.
+     */
+    public long getRequestCount() {
+        return requestCount.sum();
+    }
+
+    /**
+     * @return Number of attempts sent to the delegate, including retries.
+     */
+    public long getAttemptCount() {
+        return attemptCount.sum();
+    }
+
+    /**
+     * @return Number of retries made.
+     */
+    public long getRetryCount() {
+        return retryCount.sum();
+    }
+
+    /**
+     * @return Number of requests that failed after their last attempt, or were rejected by the circuit breaker.
+     */
+    public long getFailureCount() {
+        return failureCount.sum();
+    }
+
+    /**
+     * @return Total bytes of response bodies received on the wire (compressed, when IGC compresses them).
+     */
+    public long getWireByteCount() {
+        return wireBytes.sum();
+    }
+
+    /**
+     * @return Total bytes of response bodies after decompression. Divide by getWireByteCount() for the
+     *         compression ratio.
+     */
+    public long getDecodedByteCount() {
+        return decodedBytes.sum();
+    }
+
+    @Override
+    public void setSession(IGCSession session) {
+        delegate.setSession(session);
+    }
+}
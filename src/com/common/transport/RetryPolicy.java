@@ -0,0 +1,107 @@
+package com.common.transport;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * How many times ResilientTransport tries a request, and how long it waits between attempts.
+ * Waits grow exponentially from 'baseDelay' up to 'maxDelay', with full jitter: each wait is a random time between
+ * 0 and the current limit, so clients that failed together do not all retry at the same moment.
+ */
+public final class RetryPolicy {
+    /**
+     * Policy that makes a single attempt.
+     */
+    private static final RetryPolicy NONE = new RetryPolicy(1, Duration.ZERO, Duration.ZERO);
+
+    /**
+     * Total number of attempts, including the first.
+     */
+    private final int maxAttempts;
+    /**
+     * Limit of the wait before the first retry. Doubled for each further retry.
+     */
+    private final Duration baseDelay;
+    /**
+     * Largest limit of any wait.
+     */
+    private final Duration maxDelay;
+
+    /**
+     * @param maxAttempts Total number of attempts, including the first. At least 1.
+     * @param baseDelay Limit of the wait before the first retry.
+     * @param maxDelay Largest limit of any wait.
+     */
+    private RetryPolicy(int maxAttempts, Duration baseDelay, Duration maxDelay) {
+        this.maxAttempts = maxAttempts;
+        this.baseDelay = baseDelay;
+        this.maxDelay = maxDelay;
+    }
+
+    /**
+     * @return A policy that never retries. Used for requests that are not safe to repeat, such as creating
+     *         a resource.
+     */
+    public static RetryPolicy none() {
+        return NONE;
+    }
+
+    /**
+     * Create a retrying RetryPolicy.
+     * @param maxAttempts Total number of attempts, including the first. At least 1.
+     * @param baseDelay Limit of the wait before the first retry. Doubled for each further retry.
+     * @param maxDelay Largest limit of any wait.
+     * @return A new RetryPolicy.
+     * @throws IllegalArgumentException: Thrown if maxAttempts is less than 1 or a delay is negative.
+     */
+    public static RetryPolicy of(int maxAttempts, Duration baseDelay, Duration maxDelay)
+            throws IllegalArgumentException {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("maxAttempts must be at least 1.");
+        }
+        if (baseDelay.isNegative() || maxDelay.isNegative()) {
+            throw new IllegalArgumentException("Retry delays cannot be negative.");
+        }
+        return new RetryPolicy(maxAttempts, baseDelay, maxDelay);
+    }
+
+    /**
+     * @return Total number of attempts, including the first.
+     */
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    /**
+     * @return Limit of the wait before the first retry.
+     */
+    public Duration getBaseDelay() {
+        return baseDelay;
+    }
+
+    /**
+     * @return Largest limit of any wait.
+     */
+    public Duration getMaxDelay() {
+        return maxDelay;
+    }
+
+    /**
+     * Pick the wait before a retry.
+     * @param retry Number of the retry, starting at 1.
+     * @return Milliseconds to wait, between 0 and min(maxDelay, baseDelay * 2^(retry - 1)).
+     */
+    long delayMillis(int retry) {
+        long limit = baseDelay.toMillis() << Math.min(retry - 1, 30);
+        if (limit < 0 || limit > maxDelay.toMillis()) {
+            limit = maxDelay.toMillis();
+        }
+        return limit <= 0 ? 0 : ThreadLocalRandom.current().nextLong(limit + 1);
+    }
+
+    @Override
+    public String toString() {
+        return maxAttempts <= 1 ? "no retries"
+                : maxAttempts + " attempts, " + baseDelay.toMillis() + "-" + maxDelay.toMillis() + " ms backoff";
+    }
+}
@@ -1,7 +1,6 @@
 package com.dataObjects;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
+import com.Utility.codec.Codecs;
 import com.google.gson.annotations.SerializedName;
 
 import java.io.Serializable;
@@ -291,7 +290,6 @@ public class Category extends IGCResource implements Serializable {
      */
     @Override
     public String toString() {
-        Gson gsonPrinter = new GsonBuilder().setPrettyPrinting().create(); //Pretty Printer
-        return gsonPrinter.toJson(this);  //Isn't this great?
+        return Codecs.toPrettyJson(this);  //Isn't this great?
     }
 }
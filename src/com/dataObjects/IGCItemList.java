@@ -1,7 +1,6 @@
 package com.dataObjects;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
+import com.Utility.codec.Codecs;
 
 import java.util.ArrayList;
 
@@ -84,7 +83,6 @@ public class IGCItemList {
      */
     @Override
     public String toString() {
-        Gson gsonPrinter = new GsonBuilder().setPrettyPrinting().create(); //Pretty Printer
-        return gsonPrinter.toJson(this);
+        return Codecs.toPrettyJson(this);
     }
 }
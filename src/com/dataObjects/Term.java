@@ -1,7 +1,6 @@
 package com.dataObjects;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
+import com.Utility.codec.Codecs;
 
 import java.io.Serializable;
 import java.util.ArrayList;
@@ -349,7 +348,6 @@ public class Term extends IGCResource implements Serializable {
      */
     @Override
     public String toString() {
-        Gson gsonPrinter = new GsonBuilder().setPrettyPrinting().create(); //Pretty Printer
-        return gsonPrinter.toJson(this);  //Isn't this great?
+        return Codecs.toPrettyJson(this);  //Isn't this great?
     }
 }
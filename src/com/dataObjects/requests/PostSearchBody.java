@@ -1,7 +1,6 @@
 package com.dataObjects.requests;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
+import com.Utility.codec.Codecs;
 
 import java.util.List;
 
@@ -26,13 +25,18 @@ public class PostSearchBody {
      */
     private PostWhere where;
     /**
-     * Page size of POST search results. TODO Setting to 1000 in constructor for now...
+     * Page size of POST search results. Set to DEFAULT_PAGE_SIZE unless given to the constructor.
      */
     private int pageSize;
 
+    /**
+     * Page size used when none is given.
+     */
+    public static final int DEFAULT_PAGE_SIZE = 1000;
+
 
     /**
-     * Creates a PostSearchBody object.  Currently auto-sets pageSize to 1000.
+     * Creates a PostSearchBody object.  Sets pageSize to DEFAULT_PAGE_SIZE (1000).
      * @param properties List of properties to return in the search response.
      *                   I.E: name, short_description, parent_category._id, etc...
      * @param types List of types of resources to return (term, category, etc...)
@@ -41,12 +45,25 @@ public class PostSearchBody {
      *                 I.E: "and" - must meet all criteria, "or" - must meet one criteria.
      */
     public PostSearchBody(List<String> properties, List<String> types, List<PostCondition> conditions, String operator) {
+        this(properties, types, conditions, operator, DEFAULT_PAGE_SIZE);
+    }
+
+    /**
+     * Creates a PostSearchBody object.
+     * @param properties List of properties to return in the search response.
+     *                   I.E: name, short_description, parent_category._id, etc...
+     * @param types List of types of resources to return (term, category, etc...)
+     * @param conditions A List of PostCondition objects, each defining a search criteria.
+     * @param operator A String defining how the List of search criteria should be considerd.
+     *                 I.E: "and" - must meet all criteria, "or" - must meet one criteria.
+     * @param pageSize Number of results per page. Further pages are found through the response's paging.next.
+     */
+    public PostSearchBody(List<String> properties, List<String> types, List<PostCondition> conditions,
+                          String operator, int pageSize) {
         this.properties = properties;
         this.types = types;
         this.where = new PostWhere(conditions, operator);
-
-        //Just setting pageSize to 1000 for now. Can be adjusted for use of paging when more resources in IGC.
-        this.pageSize = 1000;
+        this.pageSize = pageSize;
     }
 
     ////GETTERS AND SETTERS ////
@@ -88,7 +105,6 @@ public class PostSearchBody {
 
     @Override
     public String toString() {
-        Gson gsonPrinter = new GsonBuilder().setPrettyPrinting().create(); //Pretty Printer
-        return gsonPrinter.toJson(this);
+        return Codecs.toPrettyJson(this);
     }
 }
@@ -0,0 +1,138 @@
+package com.dataObjects.requests;
+
+import java.util.Arrays;
+
+/**
+ * Where the time of one request went, phase by phase (see Response.getTimings()).
+ * Phases are filled in by the layer that sees them: ResilientTransport (queue, backoff), the HttpTransport
+ * (connect, send, first byte) and JsonResponseBuilder (download, parse). A phase the transport cannot observe is
+ * left unmeasured (-1): HttpClient does not expose connection set-up, so with the HttpClientTransport the
+ * connect and send phases are part of 'first byte'.
+ * Phases other than queue and backoff are those of the last attempt if the request was retried.
+ */
+public class RequestTimings {
+
+    /**
+     * Phases of a request, in the order they happen.
+     */
+    public enum Phase {
+        /**
+         * Waiting for a ConcurrencyLimiter permit, over every attempt.
+         */
+        QUEUE("queue"),
+        /**
+         * Opening the connection: DNS, TCP connect and, for HTTPS, the TLS handshake. Close to 0 when a
+         * kept-alive connection is re-used.
+         */
+        CONNECT("connect"),
+        /**
+         * Writing the request body.
+         */
+        SEND("send"),
+        /**
+         * From the request being sent to the response headers: IGC's processing time plus a network round trip.
+         */
+        FIRST_BYTE("first byte"),
+        /**
+         * Waiting on the network for the response body.
+         */
+        DOWNLOAD("download"),
+        /**
+         * Decompressing and decoding the response body, excluding the time spent waiting for it to arrive.
+         */
+        PARSE("parse"),
+        /**
+         * Sleeping between attempts.
+         */
+        BACKOFF("backoff");
+
+        private final String label;
+
+        Phase(String label) {
+            this.label = label;
+        }
+
+        /**
+         * @return Name of the phase, as used in logs.
+         */
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    /**
+     * Nanoseconds spent in each phase, by Phase ordinal. -1 if not measured.
+     */
+    private final long[] nanos = new long[Phase.values().length];
+    private long totalNanos = -1;
+    private int attempts = 1;
+
+    public RequestTimings() {
+        Arrays.fill(nanos, -1);
+    }
+
+    /**
+     * Add time to a phase.
+     * @param phase Phase the time was spent in.
+     * @param elapsedNanos Nanoseconds spent.
+     */
+    public void add(Phase phase, long elapsedNanos) {
+        int index = phase.ordinal();
+        nanos[index] = Math.max(nanos[index], 0) + Math.max(elapsedNanos, 0);
+    }
+
+    /**
+     * @param phase A phase.
+     * @return Nanoseconds spent in the phase, or -1 if it was not measured.
+     */
+    public long getNanos(Phase phase) {
+        return nanos[phase.ordinal()];
+    }
+
+    /**
+     * @return Nanoseconds from the request being made to its Response, every attempt included. -1 if unknown.
+     */
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    public void setTotalNanos(long totalNanos) {
+        this.totalNanos = totalNanos;
+    }
+
+    /**
+     * @return Number of attempts made to get the Response.
+     */
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    /**
+     * @return The breakdown, e.g. 'total 812.4 ms (2 attempts): queue 0.0 ms, first byte 402.1 ms, ...'.
+     *         Unmeasured phases are left out.
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("total ").append(millis(totalNanos));
+        if (attempts > 1) {
+            builder.append(" (").append(attempts).append(" attempts)");
+        }
+        String separator = ": ";
+        for (Phase phase : Phase.values()) {
+            if (nanos[phase.ordinal()] >= 0) {
+                builder.append(separator).append(phase.getLabel()).append(' ')
+                        .append(millis(nanos[phase.ordinal()]));
+                separator = ", ";
+            }
+        }
+        return builder.toString();
+    }
+
+    private static String millis(long nanos) {
+        return nanos < 0 ? "?" : String.format("%.1f ms", nanos / 1e6);
+    }
+}
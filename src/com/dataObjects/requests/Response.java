@@ -1,7 +1,6 @@
 package com.dataObjects.requests;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
+import com.Utility.codec.Codecs;
 
 import java.io.Serializable;
 
@@ -16,8 +15,35 @@ import java.io.Serializable;
 public class Response implements Serializable {
     /**
      * Response message of the HTTP request.
+     * Null until requested if the body was decoded straight from the connection (see getBody()).
      */
     private String message;
+    /**
+     * Body decoded as it was read from the connection, or null if the body was read as a String.
+     */
+    private transient Object body;
+    /**
+     * Number of bytes in the response body (after decompression), or -1 if unknown.
+     */
+    private transient long contentLength;
+    /**
+     * Number of bytes of the response body received on the wire (before decompression), or -1 if unknown.
+     */
+    private transient long wireLength = -1;
+    /**
+     * Number of bytes of the request body sent, 0 if the request had none.
+     */
+    private transient long requestLength;
+    /**
+     * Phase timings of the request, or null if the Response was not built by an HttpTransport.
+     */
+    private transient RequestTimings timings;
+    /**
+     * Validators of the response body ('ETag' and 'Last-Modified' headers), or null if IGC did not send them.
+     * Sent back in a conditional request to ask IGC whether the body changed.
+     */
+    private transient String etag;
+    private transient String lastModified;
     /**
      * ID of any newly created resource.
      */
@@ -35,12 +61,37 @@ public class Response implements Serializable {
         this._id = _id;
         this.responseCode = responseCode;
         this.codeMessage = codeMessage;
+        this.contentLength = message == null ? -1 : message.length();
+    }
+
+    /**
+     * Create a Response whose body was decoded straight from the connection.
+     * The message String is only built if getMessage() is called.
+     * @param body The decoded body.
+     * @param _id ID of any newly created resource.
+     * @param responseCode Response code for HTTP request.
+     * @param codeMessage Reason phrase of the response code.
+     * @param contentLength Number of bytes in the response body, or -1 if unknown.
+     */
+    public Response(Object body, String _id, int responseCode, String codeMessage, long contentLength) {
+        this.body = body;
+        this._id = _id;
+        this.responseCode = responseCode;
+        this.codeMessage = codeMessage;
+        this.contentLength = contentLength;
     }
 
     //// GETTERS AND SETTERS ////
 
 
+    /**
+     * @return The response message. If the body was decoded straight from the connection, the message is built
+     *         from the decoded body on the first call, so it only holds the properties the body's POJO has.
+     */
     public String getMessage() {
+        if (message == null && body != null) {
+            message = Codecs.toJson(body);
+        }
         return message;
     }
 
@@ -72,6 +123,79 @@ public class Response implements Serializable {
         this.codeMessage = codeMessage;
     }
 
+    /**
+     * @return The body decoded as it was read from the connection (Term, IGCItemList, ...), or null if the
+     *         body was read as a String. Only set for successful responses to requests made with a ResponseDecoder.
+     */
+    public Object getBody() {
+        return body;
+    }
+
+    /**
+     * @return Number of bytes in the response body, or -1 if unknown. If the response was compressed, this is the
+     *         size after decompression, see getWireLength().
+     */
+    public long getContentLength() {
+        return contentLength;
+    }
+
+    /**
+     * @return Number of bytes of the response body received on the wire, or -1 if unknown. Smaller than
+     *         getContentLength() when the response was compressed (gzip / deflate).
+     */
+    public long getWireLength() {
+        return wireLength;
+    }
+
+    public void setWireLength(long wireLength) {
+        this.wireLength = wireLength;
+    }
+
+    /**
+     * @return Number of bytes of the request body sent, 0 if the request had none.
+     */
+    public long getRequestLength() {
+        return requestLength;
+    }
+
+    public void setRequestLength(long requestLength) {
+        this.requestLength = requestLength;
+    }
+
+    /**
+     * @return Where the time of the request went (queue, connect, first byte, download, parse, ...), or null if
+     *         the Response was not built by an HttpTransport.
+     */
+    public RequestTimings getTimings() {
+        return timings;
+    }
+
+    public void setTimings(RequestTimings timings) {
+        this.timings = timings;
+    }
+
+    /**
+     * @return Value of the 'ETag' header, or null if there was none.
+     */
+    public String getEtag() {
+        return etag;
+    }
+
+    public void setEtag(String etag) {
+        this.etag = etag;
+    }
+
+    /**
+     * @return Value of the 'Last-Modified' header, or null if there was none.
+     */
+    public String getLastModified() {
+        return lastModified;
+    }
+
+    public void setLastModified(String lastModified) {
+        this.lastModified = lastModified;
+    }
+
     //// END GETTERS AND SETTERS ////
 
     /**
@@ -81,7 +205,6 @@ public class Response implements Serializable {
      */
     @Override
     public String toString() {
-        Gson gsonPrinter = new GsonBuilder().setPrettyPrinting().create(); //Pretty Printer
-        return gsonPrinter.toJson(this);
+        return Codecs.toPrettyJson(this);
     }
 }